@@ -0,0 +1,60 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.benchmarks;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sejda.impl.sambox.MergeTask;
+import org.sejda.model.input.PdfMergeInput;
+import org.sejda.model.outline.OutlinePolicy;
+import org.sejda.model.output.ExistingOutputPolicy;
+import org.sejda.model.output.FileTaskOutput;
+import org.sejda.model.parameter.MergeParameters;
+import org.sejda.model.pdf.form.AcroFormPolicy;
+
+/**
+ * Benchmarks {@link MergeTask} merging two copies of the synthetic input, retaining outlines and merging forms.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MergeBenchmark {
+
+    @Benchmark
+    public void merge(SyntheticInput input) throws Exception {
+        MergeParameters parameters = new MergeParameters();
+        parameters.addInput(new PdfMergeInput(input.source()));
+        parameters.addInput(new PdfMergeInput(input.source()));
+        parameters.setOutlinePolicy(OutlinePolicy.RETAIN);
+        parameters.setAcroFormPolicy(AcroFormPolicy.MERGE);
+        parameters.setOutput(new FileTaskOutput(new File(input.outputDirectory, "merged.pdf")));
+        parameters.setExistingOutputPolicy(ExistingOutputPolicy.OVERWRITE);
+        Tasks.execute(new MergeTask(), parameters);
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.benchmarks;
+
+import static org.sejda.commons.util.IOUtils.closeQuietly;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sejda.impl.sambox.ExtractPagesTask;
+import org.sejda.impl.sambox.component.PagesExtractor;
+import org.sejda.io.SeekableSources;
+import org.sejda.model.exception.TaskException;
+import org.sejda.model.task.TaskExecutionContext;
+import org.sejda.sambox.input.PDFParser;
+import org.sejda.sambox.pdmodel.PDDocument;
+
+/**
+ * Benchmarks {@link PagesExtractor#optimize()} alone. Optimization changes the extracted document so every invocation works on a
+ * freshly parsed input with all its pages retained.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class PagesExtractorOptimizeBenchmark {
+
+    private PDDocument document;
+    private PagesExtractor extractor;
+
+    @Setup(Level.Invocation)
+    public void setUp(SyntheticInput input) throws IOException, TaskException {
+        document = PDFParser.parse(SeekableSources.seekableSourceFrom(input.file));
+        extractor = new PagesExtractor(document);
+        TaskExecutionContext executionContext = new TaskExecutionContext(new ExtractPagesTask(), true);
+        for (int page = 1; page <= document.getNumberOfPages(); page++) {
+            extractor.retain(page, executionContext);
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() {
+        closeQuietly(extractor);
+        closeQuietly(document);
+    }
+
+    @Benchmark
+    public void optimize() {
+        extractor.optimize();
+    }
+}
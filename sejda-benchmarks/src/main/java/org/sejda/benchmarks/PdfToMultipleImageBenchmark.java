@@ -0,0 +1,62 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.sejda.impl.sambox.PdfToMultipleImageTask;
+import org.sejda.model.image.ImageColorType;
+import org.sejda.model.output.ExistingOutputPolicy;
+import org.sejda.model.output.FileOrDirectoryTaskOutput;
+import org.sejda.model.parameter.image.PdfToJpegParameters;
+
+/**
+ * Benchmarks {@link PdfToMultipleImageTask} rendering every page of the synthetic input to a JPEG image.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PdfToMultipleImageBenchmark {
+
+    @Param({ "72", "150" })
+    public int dpi;
+
+    @Benchmark
+    public void toJpeg(SyntheticInput input) throws Exception {
+        PdfToJpegParameters parameters = new PdfToJpegParameters(ImageColorType.COLOR_RGB);
+        parameters.setResolutionInDpi(dpi);
+        parameters.addSource(input.source());
+        parameters.setOutput(FileOrDirectoryTaskOutput.directory(input.outputDirectory));
+        parameters.setExistingOutputPolicy(ExistingOutputPolicy.OVERWRITE);
+        Tasks.execute(new PdfToMultipleImageTask<>(), parameters);
+    }
+}
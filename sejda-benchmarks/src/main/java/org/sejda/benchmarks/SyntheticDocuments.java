@@ -0,0 +1,122 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.sejda.sambox.pdmodel.PDDocument;
+import org.sejda.sambox.pdmodel.PDPage;
+import org.sejda.sambox.pdmodel.PDPageContentStream;
+import org.sejda.sambox.pdmodel.PDResources;
+import org.sejda.sambox.pdmodel.common.PDRectangle;
+import org.sejda.sambox.pdmodel.font.PDType1Font;
+import org.sejda.sambox.pdmodel.interactive.annotation.PDAnnotation;
+import org.sejda.sambox.pdmodel.interactive.annotation.PDAnnotationWidget;
+import org.sejda.sambox.pdmodel.interactive.documentnavigation.destination.PDPageFitDestination;
+import org.sejda.sambox.pdmodel.interactive.documentnavigation.outline.PDDocumentOutline;
+import org.sejda.sambox.pdmodel.interactive.documentnavigation.outline.PDOutlineItem;
+import org.sejda.sambox.pdmodel.interactive.form.PDAcroForm;
+import org.sejda.sambox.pdmodel.interactive.form.PDField;
+import org.sejda.sambox.pdmodel.interactive.form.PDTextField;
+
+/**
+ * Generates synthetic PDF documents used as input for the benchmarks, so that results don't depend on the documents available on the
+ * machine running them.
+ */
+final class SyntheticDocuments {
+
+    private SyntheticDocuments() {
+        // hide
+    }
+
+    /**
+     * Creates a document and writes it to a temporary file
+     * 
+     * @param pages
+     *            number of pages
+     * @param sharedResources
+     *            if true all the pages share the same resource dictionary, otherwise every page has its own
+     * @param forms
+     *            if true every page has a text field
+     * @param outlines
+     *            if true the document has an outline item for every page
+     * @return the generated file, deleted on exit
+     * @throws IOException
+     */
+    static File create(int pages, boolean sharedResources, boolean forms, boolean outlines) throws IOException {
+        File file = File.createTempFile("sejda-benchmark", ".pdf");
+        file.deleteOnExit();
+        try (PDDocument document = new PDDocument()) {
+            PDResources resources = new PDResources();
+            PDAcroForm acroForm = new PDAcroForm(document);
+            List<PDField> fields = new ArrayList<>();
+            PDDocumentOutline outline = new PDDocumentOutline();
+            for (int i = 1; i <= pages; i++) {
+                PDPage page = new PDPage(PDRectangle.A4);
+                if (sharedResources) {
+                    page.setResources(resources);
+                } else {
+                    page.setResources(new PDResources());
+                }
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.beginText();
+                    content.setFont(PDType1Font.HELVETICA, 12);
+                    content.newLineAtOffset(50, 750);
+                    for (int line = 0; line < 40; line++) {
+                        content.showText(String.format("Page %d line %d of a synthetic benchmark document", i, line));
+                        content.newLineAtOffset(0, -16);
+                    }
+                    content.endText();
+                }
+                if (forms) {
+                    PDTextField field = new PDTextField(acroForm);
+                    field.setPartialName("field" + i);
+                    PDAnnotationWidget widget = field.getWidgets().get(0);
+                    widget.setRectangle(new PDRectangle(50, 50, 200, 20));
+                    widget.setPage(page);
+                    List<PDAnnotation> annotations = new ArrayList<>();
+                    annotations.add(widget);
+                    page.setAnnotations(annotations);
+                    fields.add(field);
+                }
+                if (outlines) {
+                    PDPageFitDestination destination = new PDPageFitDestination();
+                    destination.setPage(page);
+                    PDOutlineItem item = new PDOutlineItem();
+                    item.setTitle("Page " + i);
+                    item.setDestination(destination);
+                    outline.addLast(item);
+                }
+            }
+            if (forms) {
+                acroForm.addFields(fields);
+                document.getDocumentCatalog().setAcroForm(acroForm);
+            }
+            if (outlines) {
+                document.getDocumentCatalog().setDocumentOutline(outline);
+            }
+            document.writeTo(file);
+        }
+        return file;
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.sejda.model.input.PdfFileSource;
+
+/**
+ * Benchmark state holding a synthetic input document and an output directory. The shape of the document is parameterized so every
+ * benchmark can be run over the combinations of page count, shared resources, forms and outlines, narrow them down with the JMH
+ * <code>-p</code> option (Ex. <code>-p pages=500 -p forms=true</code>).
+ */
+@State(Scope.Benchmark)
+public class SyntheticInput {
+
+    @Param({ "10", "200" })
+    public int pages;
+    @Param({ "true", "false" })
+    public boolean sharedResources;
+    @Param({ "false", "true" })
+    public boolean forms;
+    @Param({ "false", "true" })
+    public boolean outlines;
+
+    File file;
+    File outputDirectory;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = SyntheticDocuments.create(pages, sharedResources, forms, outlines);
+        outputDirectory = Files.createTempDirectory("sejda-benchmark").toFile();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        FileUtils.deleteQuietly(file);
+        FileUtils.deleteQuietly(outputDirectory);
+    }
+
+    /**
+     * @return a new source for the input document
+     */
+    PdfFileSource source() {
+        return PdfFileSource.newInstanceNoPassword(file);
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.benchmarks;
+
+import org.sejda.model.exception.TaskException;
+import org.sejda.model.parameter.base.TaskParameters;
+import org.sejda.model.task.Task;
+import org.sejda.model.task.TaskExecutionContext;
+import org.sejda.model.task.ThreadLocalTaskExecutionContext;
+
+/**
+ * Executes tasks directly, without going through the {@link org.sejda.core.service.TaskExecutionService}, so that validation and
+ * task lookup don't add up to the measurements.
+ */
+final class Tasks {
+
+    private Tasks() {
+        // hide
+    }
+
+    static <T extends TaskParameters> void execute(Task<T> task, T parameters) throws TaskException {
+        TaskExecutionContext executionContext = new TaskExecutionContext(task, parameters.isLenient());
+        executionContext.taskStart();
+        ThreadLocalTaskExecutionContext.bind(executionContext);
+        try {
+            task.before(parameters, executionContext);
+            task.execute(parameters);
+        } finally {
+            ThreadLocalTaskExecutionContext.unbind();
+            task.after();
+            executionContext.releaseTemporaryResources();
+            executionContext.taskEnded();
+        }
+    }
+}
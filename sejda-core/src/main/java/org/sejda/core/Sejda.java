@@ -22,7 +22,9 @@ package org.sejda.core;
 
 import java.io.IOException;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
 
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -40,6 +42,10 @@ public final class Sejda {
     public static final String USER_CONFIG_FILE_PROPERTY_NAME = "sejda.config.file";
     public static final String PERFORM_SCHEMA_VALIDATION_PROPERTY_NAME = "sejda.perform.schema.validation";
     public static final String PERFORM_MEMORY_OPTIMIZATIONS_PROPERTY_NAME = "sejda.perform.memory.optimizations";
+    public static final String NOTIFICATION_QUEUE_CAPACITY_PROPERTY_NAME = "sejda.notification.queue.capacity";
+    public static final String NOTIFICATION_OVERFLOW_POLICY_PROPERTY_NAME = "sejda.notification.overflow.policy";
+    public static final String NOTIFICATION_PROGRESS_MAX_RATE_PROPERTY_NAME = "sejda.notification.progress.max.rate";
+    public static final String TMP_JANITOR_MAX_AGE_PROPERTY_NAME = "sejda.tmp.janitor.max.age.hours";
 
     private Sejda() {
         // on purpose
@@ -48,6 +54,34 @@ public final class Sejda {
     public static final String VERSION = new SejdaVersionLoader().getSejdaVersion();
     public static String CREATOR = "Sejda " + VERSION + " (www.sejda.org)";
 
+    /**
+     * Performs the lazy initializations that would otherwise be paid by the first executed task: configuration loading, validator
+     * bootstrap, fonts providers lookup and ImageIO plugins registration. Failing stages are logged and reported but don't prevent the
+     * following ones.
+     * 
+     * @return a report with the time each stage took
+     */
+    public static WarmUpReport warmUp() {
+        return WarmUp.perform();
+    }
+
+    /**
+     * Same as {@link #warmUp()} but performed on a background daemon thread
+     * 
+     * @return a future completing with the warm up report
+     */
+    public static CompletableFuture<WarmUpReport> warmUpInBackground() {
+        CompletableFuture<WarmUpReport> future = new CompletableFuture<>();
+        new BasicThreadFactory.Builder().namingPattern("sejda-warm-up-%d").daemon(true).build().newThread(() -> {
+            try {
+                future.complete(warmUp());
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        }).start();
+        return future;
+    }
+
     /**
      * Loader for the sejda properties.
      * 
@@ -0,0 +1,101 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core;
+
+import java.util.ServiceLoader;
+import java.util.Set;
+
+import javax.imageio.ImageIO;
+import javax.validation.Validator;
+
+import org.apache.commons.lang3.time.StopWatch;
+import org.sejda.core.context.DefaultSejdaContext;
+import org.sejda.core.validation.DefaultValidationContext;
+import org.sejda.model.parameter.base.TaskParameters;
+import org.sejda.model.pdf.font.Type0FontsProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Performs the lazy initializations that would otherwise be paid by the first executed task.
+ */
+final class WarmUp {
+
+    private static final Logger LOG = LoggerFactory.getLogger(WarmUp.class);
+    /**
+     * Fonts utility of the SAMBox implementation, it scans the {@link Type0FontsProvider} when it's initialized
+     */
+    static final String FONT_UTILS_CLASS = "org.sejda.impl.sambox.util.FontUtils";
+
+    private WarmUp() {
+        // hide
+    }
+
+    static WarmUpReport perform() {
+        WarmUpReport report = new WarmUpReport();
+        DefaultSejdaContext context = new DefaultSejdaContext();
+        stage(report, "configuration", context::preloadTasks);
+        stage(report, "validation", () -> {
+            Validator validator = DefaultValidationContext.getContext().getValidator();
+            Set<Class<? extends TaskParameters>> parameters = context.getConfiguredParameters();
+            for (Class<? extends TaskParameters> current : parameters) {
+                validator.getConstraintsForClass(current);
+            }
+        });
+        stage(report, "fonts", WarmUp::loadFonts);
+        stage(report, "imageio", () -> {
+            ImageIO.getReaderFormatNames();
+            ImageIO.getWriterFormatNames();
+        });
+        LOG.info("Warm up completed: {}", report);
+        return report;
+    }
+
+    private static void loadFonts() {
+        try {
+            Class.forName(FONT_UTILS_CLASS, true, WarmUp.class.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            LOG.debug("{} not available, scanning fonts providers", FONT_UTILS_CLASS);
+            for (Type0FontsProvider provider : ServiceLoader.load(Type0FontsProvider.class)) {
+                provider.getFonts();
+            }
+        }
+    }
+
+    private static void stage(WarmUpReport report, String name, Runnable stage) {
+        StopWatch stopWatch = StopWatch.createStarted();
+        try {
+            stage.run();
+            stopWatch.stop();
+            LOG.debug("Warm up stage '{}' completed in {}ms", name, stopWatch.getTime());
+            report.stageCompleted(name, stopWatch.getTime());
+        } catch (RuntimeException e) {
+            stageFailed(report, name, stopWatch, e);
+        } catch (LinkageError e) {
+            // a static initializer failed
+            stageFailed(report, name, stopWatch, new RuntimeException(e));
+        }
+    }
+
+    private static void stageFailed(WarmUpReport report, String name, StopWatch stopWatch, Exception e) {
+        stopWatch.stop();
+        LOG.warn(String.format("Warm up stage '%s' failed", name), e);
+        report.stageFailed(name, stopWatch.getTime(), e);
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core;
+
+import static java.util.Collections.unmodifiableMap;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+/**
+ * Timings of the stages performed by {@link Sejda#warmUp()}
+ */
+public final class WarmUpReport {
+
+    private final Map<String, Long> stages = new LinkedHashMap<>();
+    private final Map<String, Exception> failures = new LinkedHashMap<>();
+
+    void stageCompleted(String stage, long elapsedTime) {
+        stages.put(stage, elapsedTime);
+    }
+
+    void stageFailed(String stage, long elapsedTime, Exception e) {
+        stages.put(stage, elapsedTime);
+        failures.put(stage, e);
+    }
+
+    /**
+     * @return the number of millis each stage took, in execution order
+     */
+    public Map<String, Long> getStages() {
+        return unmodifiableMap(stages);
+    }
+
+    /**
+     * @return the stages that failed and the cause of the failure
+     */
+    public Map<String, Exception> getFailures() {
+        return unmodifiableMap(failures);
+    }
+
+    /**
+     * @return true if all the stages completed successfully
+     */
+    public boolean isSuccessful() {
+        return failures.isEmpty();
+    }
+
+    /**
+     * @return the number of millis the whole warm up took
+     */
+    public long getElapsedTime() {
+        return stages.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).append("stages", stages)
+                .append("failed", failures.keySet()).append("elapsedTime", getElapsedTime()).toString();
+    }
+}
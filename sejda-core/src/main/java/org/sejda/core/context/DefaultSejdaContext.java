@@ -22,12 +22,17 @@ package org.sejda.core.context;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.sejda.core.notification.strategy.NotificationStrategy;
 import org.sejda.model.exception.TaskException;
 import org.sejda.model.exception.TaskNotFoundException;
 import org.sejda.model.parameter.base.TaskParameters;
 import org.sejda.model.task.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Default implementation of the {@link SejdaContext}. It loads Sejda configuration from the xml configuration file specified by the system property <b>sejda.config.file</b> or
@@ -40,7 +45,11 @@ import org.sejda.model.task.Task;
  */
 public class DefaultSejdaContext implements SejdaContext {
 
+    private static final Logger LOG = LoggerFactory.getLogger(DefaultSejdaContext.class);
+
     private static final String ERROR_INSTANTIATING_THE_TASK = "Error instantiating the task";
+    @SuppressWarnings("rawtypes")
+    private static final ConcurrentMap<Class<? extends Task>, Constructor<? extends Task>> CONSTRUCTORS = new ConcurrentHashMap<>();
 
     @Override
     public final Class<? extends NotificationStrategy> getNotificationStrategy() {
@@ -56,6 +65,28 @@ public class DefaultSejdaContext implements SejdaContext {
         return GlobalConfiguration.getInstance().isIgnoreXmlConfiguration();
     }
 
+    /**
+     * @return the parameters classes of the configured tasks
+     */
+    public Set<Class<? extends TaskParameters>> getConfiguredParameters() {
+        return GlobalConfiguration.getInstance().getTasksRegistry().getTasks().keySet();
+    }
+
+    /**
+     * Looks up and caches the constructors of all the configured tasks so that the first execution of each task doesn't pay for it.
+     */
+    @SuppressWarnings("rawtypes")
+    public void preloadTasks() {
+        for (Class<? extends Task> taskClass : GlobalConfiguration.getInstance().getTasksRegistry().getTasks()
+                .values()) {
+            try {
+                constructor(taskClass);
+            } catch (NoSuchMethodException | SecurityException e) {
+                LOG.warn("The task {} doesn't define a public no-args contructor.", taskClass);
+            }
+        }
+    }
+
     @Override
     @SuppressWarnings({ "rawtypes", "unchecked" })
     public Task<? extends TaskParameters> getTask(TaskParameters parameters) throws TaskException {
@@ -66,8 +97,7 @@ public class DefaultSejdaContext implements SejdaContext {
                     String.format("Unable to find a Task class able to execute %s", parametersClass));
         }
         try {
-            Constructor<? extends Task> constructor = taskClass.getConstructor();
-            return constructor.newInstance();
+            return constructor(taskClass).newInstance();
         } catch (InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException
                 | SecurityException e) {
             throw new TaskException(ERROR_INSTANTIATING_THE_TASK, e);
@@ -76,4 +106,20 @@ public class DefaultSejdaContext implements SejdaContext {
                     e);
         }
     }
+
+    /**
+     * @param taskClass
+     * @return the public no-args constructor of the given task class, looked up once and then cached
+     * @throws NoSuchMethodException
+     */
+    @SuppressWarnings("rawtypes")
+    private static Constructor<? extends Task> constructor(Class<? extends Task> taskClass)
+            throws NoSuchMethodException {
+        Constructor<? extends Task> constructor = CONSTRUCTORS.get(taskClass);
+        if (constructor == null) {
+            constructor = taskClass.getConstructor();
+            CONSTRUCTORS.putIfAbsent(taskClass, constructor);
+        }
+        return constructor;
+    }
 }
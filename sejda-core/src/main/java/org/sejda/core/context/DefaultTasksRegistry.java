@@ -20,10 +20,15 @@
  */
 package org.sejda.core.context;
 
+import static java.util.Optional.ofNullable;
+
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.sejda.model.parameter.base.TaskParameters;
 import org.sejda.model.task.Task;
@@ -31,7 +36,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Default implementation holding the tasks information providing accessory methods.
+ * Default implementation holding the tasks information providing accessory methods. Lookups are cached, including the ones resolved to an
+ * assignable parameters class and the ones that found no match, so the registry is scanned only once for every parameters class.
  * 
  * @author Andrea Vacondio
  * 
@@ -42,20 +48,36 @@ class DefaultTasksRegistry implements TasksRegistry {
     private static final Logger LOG = LoggerFactory.getLogger(DefaultTasksRegistry.class);
 
     private Map<Class<? extends TaskParameters>, Class<? extends Task>> tasksMap;
+    private Map<Class<? extends TaskParameters>, Optional<Class<? extends Task>>> resolved = new ConcurrentHashMap<>();
+    // resolutions run under the read lock so that a task added while resolving cannot leave a stale lookup cached
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
 
     DefaultTasksRegistry() {
-        this.tasksMap = new HashMap<Class<? extends TaskParameters>, Class<? extends Task>>();
+        this.tasksMap = new ConcurrentHashMap<>();
     }
 
     @Override
     public Class<? extends Task> getTask(Class<? extends TaskParameters> parametersClass) {
+        Optional<Class<? extends Task>> task = resolved.get(parametersClass);
+        if (task == null) {
+            lock.readLock().lock();
+            try {
+                task = resolved.computeIfAbsent(parametersClass, this::resolve);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+        return task.orElse(null);
+    }
+
+    private Optional<Class<? extends Task>> resolve(Class<? extends TaskParameters> parametersClass) {
         Class<? extends Task> retVal = tasksMap.get(parametersClass);
         if (retVal == null) {
             LOG.info("Unable to find a match for the input parameter class {}, searching for an assignable one",
                     parametersClass);
             retVal = findNearestTask(parametersClass);
         }
-        return retVal;
+        return ofNullable(retVal);
     }
 
     /**
@@ -74,8 +96,13 @@ class DefaultTasksRegistry implements TasksRegistry {
 
     @Override
     public void addTask(Class<? extends TaskParameters> parameterClass, Class<? extends Task> taskClass) {
-        synchronized (tasksMap) {
+        lock.writeLock().lock();
+        try {
             tasksMap.put(parameterClass, taskClass);
+            // a new task can change how previously looked up classes resolve
+            resolved.clear();
+        } finally {
+            lock.writeLock().unlock();
         }
     }
 
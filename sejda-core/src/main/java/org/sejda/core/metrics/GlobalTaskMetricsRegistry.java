@@ -0,0 +1,106 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.metrics;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.sejda.model.task.NotifiableTaskMetadata;
+import org.sejda.model.task.TaskMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Global {@link TaskMetricsRegistry} dispatching the metrics of every completed task to the registered registries. Registries found
+ * using the {@link ServiceLoader} mechanism are registered when this registry is first accessed.
+ */
+public final class GlobalTaskMetricsRegistry implements TaskMetricsRegistry {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GlobalTaskMetricsRegistry.class);
+
+    private final List<TaskMetricsRegistry> registries = new CopyOnWriteArrayList<>();
+
+    private GlobalTaskMetricsRegistry() {
+        try {
+            for (TaskMetricsRegistry registry : ServiceLoader.load(TaskMetricsRegistry.class)) {
+                LOG.debug("Registering metrics registry {}", registry);
+                registries.add(registry);
+            }
+        } catch (ServiceConfigurationError e) {
+            LOG.warn("Unable to load metrics registries", e);
+        }
+    }
+
+    /**
+     * @return the global instance
+     */
+    public static GlobalTaskMetricsRegistry getInstance() {
+        return GlobalTaskMetricsRegistryHolder.INSTANCE;
+    }
+
+    /**
+     * Adds the given registry
+     * 
+     * @param registry
+     */
+    public void add(TaskMetricsRegistry registry) {
+        registries.add(requireNonNull(registry, "Registry cannot be null"));
+    }
+
+    /**
+     * Removes the given registry
+     * 
+     * @param registry
+     * @return true if the registry was registered
+     */
+    public boolean remove(TaskMetricsRegistry registry) {
+        return registries.remove(registry);
+    }
+
+    /**
+     * Records the metrics to every registered registry. A failing registry doesn't prevent the others from being called and doesn't fail
+     * the task.
+     */
+    @Override
+    public void record(NotifiableTaskMetadata taskMetadata, TaskMetrics metrics) {
+        for (TaskMetricsRegistry registry : registries) {
+            try {
+                registry.record(taskMetadata, metrics);
+            } catch (RuntimeException e) {
+                LOG.warn("Unable to record task metrics to " + registry, e);
+            }
+        }
+    }
+
+    /**
+     * Lazy initialization holder
+     */
+    private static final class GlobalTaskMetricsRegistryHolder {
+
+        private GlobalTaskMetricsRegistryHolder() {
+            // hide constructor
+        }
+
+        static final GlobalTaskMetricsRegistry INSTANCE = new GlobalTaskMetricsRegistry();
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.metrics;
+
+import org.sejda.model.task.NotifiableTaskMetadata;
+import org.sejda.model.task.TaskMetrics;
+
+/**
+ * A registry where the metrics of completed tasks are recorded, implementations can aggregate them or export them to a monitoring
+ * system. Implementations can be registered on the {@link GlobalTaskMetricsRegistry} programmatically or using the {@link java.util.ServiceLoader}
+ * mechanism.
+ */
+@FunctionalInterface
+public interface TaskMetricsRegistry {
+
+    /**
+     * Records the metrics of a completed task. Implementations are called on the thread executing the task and they should return quickly.
+     * 
+     * @param taskMetadata
+     *            metadata of the completed task
+     * @param metrics
+     *            metrics collected during the task execution
+     */
+    void record(NotifiableTaskMetadata taskMetadata, TaskMetrics metrics);
+}
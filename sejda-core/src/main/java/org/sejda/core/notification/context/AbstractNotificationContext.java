@@ -29,7 +29,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Abstract notification context implementing common context functionalities.
+ * Abstract notification context implementing common context functionalities. Listeners are notified without holding any lock, so a slow
+ * listener doesn't stall tasks notifying events concurrently, and listeners can be added and removed while events are being notified.
  * 
  * @author Andrea Vacondio
  */
@@ -47,44 +48,37 @@ abstract class AbstractNotificationContext implements NotificationContext {
 
     @Override
     public void notifyListeners(AbstractNotificationEvent event) {
-        synchronized (holder) {
-            if (holder.size() > 0) {
-                for (EventListener<? extends AbstractNotificationEvent> listener : holder.get(event)) {
-                    strategy.notifyListener(listener, event);
-                }
-            }
+        for (EventListener<? extends AbstractNotificationEvent> listener : holder.get(event)) {
+            strategy.notifyListener(listener, event);
         }
     }
 
     @Override
     public <T extends AbstractNotificationEvent> void addListener(EventListener<T> listener) {
-        synchronized (holder) {
-            LOG.trace("Adding event listener: {}", listener);
-            holder.add(listener);
-        }
+        LOG.trace("Adding event listener: {}", listener);
+        holder.add(listener);
     }
 
     @Override
     public <T extends AbstractNotificationEvent> void addListener(Class<T> eventClass, EventListener<T> listener) {
-        synchronized (holder) {
-            LOG.trace("Adding event listener {} on event {}", listener, eventClass);
-            holder.add(eventClass, listener);
-        }
+        LOG.trace("Adding event listener {} on event {}", listener, eventClass);
+        holder.add(eventClass, listener);
     }
 
     @Override
     public <T extends AbstractNotificationEvent> boolean removeListener(EventListener<T> listener) {
-        synchronized (holder) {
-            LOG.trace("Removing event listener: {}", listener);
-            return holder.remove(listener);
-        }
+        LOG.trace("Removing event listener: {}", listener);
+        return holder.remove(listener);
     }
 
     @Override
     public void clearListeners() {
-        synchronized (holder) {
-            holder.clear();
-        }
+        holder.clear();
+    }
+
+    @Override
+    public boolean hasListeners(Class<? extends AbstractNotificationEvent> eventClass) {
+        return holder.hasListeners(eventClass);
     }
 
     @Override
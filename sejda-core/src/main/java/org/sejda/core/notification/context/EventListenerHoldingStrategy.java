@@ -26,7 +26,8 @@ import org.sejda.model.notification.EventListener;
 import org.sejda.model.notification.event.AbstractNotificationEvent;
 
 /**
- * Strategy used to hold the list of registered listeners.
+ * Strategy used to hold the list of registered listeners. Implementations must be thread safe since they are accessed without external
+ * synchronization.
  * 
  * @author Andrea Vacondio
  * 
@@ -76,6 +77,12 @@ interface EventListenerHoldingStrategy {
      */
     List<EventListener<? extends AbstractNotificationEvent>> get(AbstractNotificationEvent event);
 
+    /**
+     * @param eventClass
+     * @return true if there is at least one listener held for the given event class
+     */
+    boolean hasListeners(Class<? extends AbstractNotificationEvent> eventClass);
+
     /**
      * @return number of held listeners.
      */
@@ -73,6 +73,12 @@ public interface NotificationContext {
      */
     void notifyListeners(AbstractNotificationEvent event);
 
+    /**
+     * @param eventClass
+     * @return true if at least one listener is registered for the given event class
+     */
+    boolean hasListeners(Class<? extends AbstractNotificationEvent> eventClass);
+
     /**
      * @return the number of the registered listeners
      */
@@ -20,17 +20,24 @@
  */
 package org.sejda.core.notification.dsl;
 
+import static java.util.Optional.ofNullable;
+
 import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
 
+import org.sejda.core.Sejda;
 import org.sejda.core.notification.context.GlobalNotificationContext;
 import org.sejda.core.notification.context.ThreadLocalNotificationContext;
 import org.sejda.model.notification.event.AbstractNotificationEvent;
 import org.sejda.model.notification.event.PercentageOfWorkDoneChangedEvent;
+import org.sejda.model.notification.event.TaskExecutionCancelledEvent;
 import org.sejda.model.notification.event.TaskExecutionCompletedEvent;
 import org.sejda.model.notification.event.TaskExecutionFailedEvent;
 import org.sejda.model.notification.event.TaskExecutionStartedEvent;
 import org.sejda.model.notification.event.TaskExecutionWarningEvent;
 import org.sejda.model.task.NotifiableTaskMetadata;
+import org.sejda.model.task.ProgressThrottle;
+import org.sejda.model.task.TaskMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -45,8 +52,13 @@ import org.slf4j.LoggerFactory;
 public final class ApplicationEventsNotifier implements Notifier, OngoingNotification {
 
     private static final Logger LOG = LoggerFactory.getLogger(ApplicationEventsNotifier.class);
+    /**
+     * Min interval between two progress notifications of the same task, from the configured max number of progress events per second
+     */
+    private static final long PROGRESS_MIN_INTERVAL_NANOS = progressMinInterval();
 
-    private BigDecimal percentage = BigDecimal.ZERO;
+    private BigDecimal percentage;
+    private int steps;
     private NotifiableTaskMetadata taskMetadata;
 
     private ApplicationEventsNotifier(NotifiableTaskMetadata taskMetadata) {
@@ -75,11 +87,21 @@ public final class ApplicationEventsNotifier implements Notifier, OngoingNotific
         notifyListeners(new TaskExecutionFailedEvent(e, taskMetadata));
     }
 
+    @Override
+    public void taskCancelled(boolean timedOut) {
+        notifyListeners(new TaskExecutionCancelledEvent(timedOut, taskMetadata));
+    }
+
     @Override
     public void taskCompleted(long executionTime) {
         notifyListeners(new TaskExecutionCompletedEvent(executionTime, taskMetadata));
     }
 
+    @Override
+    public void taskCompleted(long executionTime, TaskMetrics metrics) {
+        notifyListeners(new TaskExecutionCompletedEvent(executionTime, metrics, taskMetadata));
+    }
+
     @Override
     public void taskStarted() {
         notifyListeners(new TaskExecutionStartedEvent(taskMetadata));
@@ -88,24 +110,29 @@ public final class ApplicationEventsNotifier implements Notifier, OngoingNotific
     @Override
     public void taskWarning(String warning) {
         LOG.warn(warning);
+        taskMetadata.addTaskWarning(warning);
         notifyListeners(new TaskExecutionWarningEvent(warning, taskMetadata));
     }
 
     @Override
     public void taskWarning(String warning, Exception e) {
         LOG.warn(warning, e);
+        taskMetadata.addTaskWarning(warning);
         notifyListeners(new TaskExecutionWarningEvent(warning, taskMetadata));
     }
 
     @Override
     public void progressUndetermined() {
-        notifyListeners(
-                new PercentageOfWorkDoneChangedEvent(PercentageOfWorkDoneChangedEvent.UNDETERMINED, taskMetadata));
+        if (hasProgressListeners()) {
+            notifyListeners(
+                    new PercentageOfWorkDoneChangedEvent(PercentageOfWorkDoneChangedEvent.UNDETERMINED, taskMetadata));
+        }
     }
 
     @Override
     public OngoingNotification stepsCompleted(int completed) {
-        this.percentage = new BigDecimal(completed);
+        this.steps = completed;
+        this.percentage = null;
         return this;
     }
 
@@ -117,15 +144,38 @@ public final class ApplicationEventsNotifier implements Notifier, OngoingNotific
 
     @Override
     public void outOf(int total) {
-        outOf(new BigDecimal(total));
+        if (hasProgressListeners()) {
+            outOf(new BigDecimal(total));
+        }
     }
 
+    /**
+     * Notifies the progress unless there are no listeners for it or the task {@link ProgressThrottle} coalesces it with the previous ones,
+     * in which case no event is created.
+     */
     @Override
     public void outOf(BigDecimal total) {
-        notifyListeners(new PercentageOfWorkDoneChangedEvent(percentage
-                .multiply(PercentageOfWorkDoneChangedEvent.MAX_PERGENTAGE).divide(total, BigDecimal.ROUND_HALF_DOWN),
-                taskMetadata));
+        if (hasProgressListeners()) {
+            BigDecimal completed = ofNullable(percentage).orElseGet(() -> new BigDecimal(steps));
+            BigDecimal value = completed.multiply(PercentageOfWorkDoneChangedEvent.MAX_PERGENTAGE).divide(total,
+                    BigDecimal.ROUND_HALF_DOWN);
+            if (taskMetadata.progressThrottle().tryAcquire(value, PROGRESS_MIN_INTERVAL_NANOS)) {
+                notifyListeners(new PercentageOfWorkDoneChangedEvent(value, taskMetadata));
+            }
+        }
+    }
+
+    private static boolean hasProgressListeners() {
+        return GlobalNotificationContext.getContext().hasListeners(PercentageOfWorkDoneChangedEvent.class)
+                || ThreadLocalNotificationContext.getContext().hasListeners(PercentageOfWorkDoneChangedEvent.class);
+    }
 
+    private static long progressMinInterval() {
+        int maxRate = Integer.getInteger(Sejda.NOTIFICATION_PROGRESS_MAX_RATE_PROPERTY_NAME, 10);
+        if (maxRate <= 0) {
+            return 0;
+        }
+        return TimeUnit.SECONDS.toNanos(1) / maxRate;
     }
 
     /**
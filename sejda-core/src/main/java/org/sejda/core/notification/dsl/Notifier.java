@@ -22,6 +22,8 @@ package org.sejda.core.notification.dsl;
 
 import java.math.BigDecimal;
 
+import org.sejda.model.task.TaskMetrics;
+
 /**
  * DSL interface to expose notification methods.
  * 
@@ -38,6 +40,14 @@ public interface Notifier {
      */
     void taskFailed(Exception e);
 
+    /**
+     * Notifies about a task that has been cancelled
+     * 
+     * @param timedOut
+     *            true if the task has been stopped because its deadline expired
+     */
+    void taskCancelled(boolean timedOut);
+
     /**
      * Notifies about a completed task
      * 
@@ -46,6 +56,16 @@ public interface Notifier {
      */
     void taskCompleted(long executionTime);
 
+    /**
+     * Notifies about a completed task
+     * 
+     * @param executionTime
+     *            number of millis for the task to complete
+     * @param metrics
+     *            metrics collected during the execution
+     */
+    void taskCompleted(long executionTime, TaskMetrics metrics);
+
     /**
      * Notifies about a started task
      */
@@ -19,72 +19,43 @@
  */
 package org.sejda.core.notification.strategy;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import static java.util.Objects.requireNonNull;
 
 import org.sejda.model.notification.EventListener;
 import org.sejda.model.notification.event.AbstractNotificationEvent;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 /**
- * Strategy to notify events asynchronously using a per thread single thread executor.
+ * Strategy to notify events asynchronously using a {@link NotificationDispatcher}. Events notified for the same task are always dispatched
+ * by the same thread so listeners receive them in the order they have been notified, no matter how many threads execute tasks.
  * 
  * @author Andrea Vacondio
  * 
  */
 public final class AsyncNotificationStrategy implements NotificationStrategy {
 
-    private static final Logger LOG = LoggerFactory.getLogger(AsyncNotificationStrategy.class);
+    private final NotificationDispatcher dispatcher;
 
     /**
-     * ThreadLocal returning a {@link ExecutorService} (the same instance for the same thread).
+     * Creates a strategy using the shared {@link NotificationDispatcher}
      */
-    private static final ThreadLocal<ExecutorService> THREAD_LOCAL = new ThreadLocal<ExecutorService>() {
-        @Override
-        protected ExecutorService initialValue() {
-            return Executors.newSingleThreadExecutor();
-        }
-    };
-
-    @Override
-    @SuppressWarnings("rawtypes")
-    public void notifyListener(final EventListener listener, final AbstractNotificationEvent event) {
-        if (listener != null) {
-            THREAD_LOCAL.get().execute(new NotifyRunnable(listener, event));
-        }
+    public AsyncNotificationStrategy() {
+        this(NotificationDispatcher.getInstance());
     }
 
     /**
-     * Runnable that can notify a listener of a given event.
-     * 
-     * @author Andrea Vacondio
+     * Creates a strategy using the given dispatcher
      * 
+     * @param dispatcher
      */
-    @SuppressWarnings("rawtypes")
-    private static final class NotifyRunnable implements Runnable {
-
-        private final EventListener listener;
-        private final AbstractNotificationEvent event;
-
-        /**
-         * @param listener
-         * @param event
-         */
-        private NotifyRunnable(EventListener listener, AbstractNotificationEvent event) {
-            this.listener = listener;
-            this.event = event;
-        }
+    public AsyncNotificationStrategy(NotificationDispatcher dispatcher) {
+        this.dispatcher = requireNonNull(dispatcher, "Dispatcher cannot be null");
+    }
 
-        @Override
-        @SuppressWarnings("unchecked")
-        public void run() {
-            try {
-                listener.onEvent(event);
-            } catch (RuntimeException e) {
-                LOG.error(String.format("An error occurred notifying event %s", event), e);
-                throw e;
-            }
+    @Override
+    @SuppressWarnings("rawtypes")
+    public void notifyListener(final EventListener listener, final AbstractNotificationEvent event) {
+        if (listener != null) {
+            dispatcher.dispatch(listener, event);
         }
     }
 }
@@ -0,0 +1,324 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.notification.strategy;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.Optional.ofNullable;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.sejda.core.Sejda;
+import org.sejda.model.notification.EventListener;
+import org.sejda.model.notification.event.AbstractNotificationEvent;
+import org.sejda.model.notification.event.PercentageOfWorkDoneChangedEvent;
+import org.sejda.model.task.NotifiableTaskMetadata;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Dispatches events to listeners on a fixed set of daemon threads (lanes), each one consuming a bounded queue. Events notified for the
+ * same task are always dispatched by the same lane so listeners receive them in the order they have been notified. When a lane queue is
+ * full the configured {@link OverflowPolicy} is applied, except for events notified by listeners running on a lane, which are queued anyway,
+ * exceeding the capacity, since waiting for room could deadlock the lanes. Once the dispatcher is closed events are dispatched on the notifying
+ * thread.
+ * <p>
+ * The shared instance is configured using the {@value Sejda#NOTIFICATION_QUEUE_CAPACITY_PROPERTY_NAME} and
+ * {@value Sejda#NOTIFICATION_OVERFLOW_POLICY_PROPERTY_NAME} system properties.
+ * </p>
+ */
+public final class NotificationDispatcher implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * What to do with an event when the queue it should be added to is full
+     */
+    public enum OverflowPolicy {
+        /**
+         * The notifying thread waits for room in the queue
+         */
+        BLOCK,
+        /**
+         * Progress events are discarded, other events are queued anyway, exceeding the capacity, so that task completion, failure and
+         * warnings always reach listeners
+         */
+        DROP,
+        /**
+         * A pending progress event of the same task for the same listener is discarded to make room for the new one, other events wait for
+         * room in the queue
+         */
+        COALESCE;
+    }
+
+    private final Lane[] lanes;
+    private final OverflowPolicy overflowPolicy;
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean closed;
+
+    /**
+     * @param lanes
+     *            number of threads dispatching events
+     * @param capacity
+     *            max number of pending events for each lane
+     * @param overflowPolicy
+     *            what to do when a lane queue is full
+     */
+    public NotificationDispatcher(int lanes, int capacity, OverflowPolicy overflowPolicy) {
+        if (lanes < 1 || capacity < 1) {
+            throw new IllegalArgumentException("Lanes and capacity must be positive numbers");
+        }
+        this.overflowPolicy = requireNonNull(overflowPolicy, "Overflow policy cannot be null");
+        BasicThreadFactory factory = new BasicThreadFactory.Builder().namingPattern("sejda-notification-%d")
+                .daemon(true).build();
+        this.lanes = new Lane[lanes];
+        for (int i = 0; i < lanes; i++) {
+            this.lanes[i] = new Lane(capacity);
+            this.lanes[i].thread = factory.newThread(this.lanes[i]);
+            this.lanes[i].thread.start();
+        }
+    }
+
+    /**
+     * @return the shared instance
+     */
+    public static NotificationDispatcher getInstance() {
+        return NotificationDispatcherHolder.INSTANCE;
+    }
+
+    /**
+     * Queues the event to be dispatched to the given listener
+     * 
+     * @param listener
+     * @param event
+     */
+    @SuppressWarnings("rawtypes")
+    public void dispatch(EventListener listener, AbstractNotificationEvent event) {
+        laneFor(event).offer(new Dispatch(listener, event));
+    }
+
+    /**
+     * @return the number of events discarded because the queue was full
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * @return true if the current thread is one of the lanes threads
+     */
+    private boolean isLaneThread() {
+        Thread current = Thread.currentThread();
+        for (Lane lane : lanes) {
+            if (lane.thread == current) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Lane laneFor(AbstractNotificationEvent event) {
+        int hash = ofNullable(event.getNotifiableTaskMetadata()).map(NotifiableTaskMetadata::getTaskIdentifier)
+                .map(UUID::hashCode).orElse(0);
+        return lanes[Math.floorMod(hash, lanes.length)];
+    }
+
+    /**
+     * Stops the dispatching threads, pending events are discarded and threads waiting for room in a queue dispatch their event themselves
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (Lane lane : lanes) {
+            lane.close();
+        }
+    }
+
+    /**
+     * A thread dispatching the events of a bounded queue
+     */
+    private final class Lane implements Runnable {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition notEmpty = lock.newCondition();
+        private final Condition notFull = lock.newCondition();
+        private final ArrayDeque<Dispatch> queue;
+        private final int capacity;
+        private Thread thread;
+
+        Lane(int capacity) {
+            this.capacity = capacity;
+            this.queue = new ArrayDeque<>(Math.min(capacity, DEFAULT_CAPACITY));
+        }
+
+        void offer(Dispatch dispatch) {
+            lock.lock();
+            try {
+                // a listener notifying events from a lane thread could wait for its own lane or for a lane waiting for it
+                while (!closed && queue.size() >= capacity && !isLaneThread()) {
+                    if (overflowPolicy == OverflowPolicy.DROP) {
+                        if (!dispatch.isProgress()) {
+                            break;
+                        }
+                        dropped.incrementAndGet();
+                        LOG.debug("Notification queue full, dropping {}", dispatch.event);
+                        return;
+                    }
+                    if (overflowPolicy == OverflowPolicy.COALESCE && coalesce(dispatch)) {
+                        break;
+                    }
+                    notFull.awaitUninterruptibly();
+                }
+                if (!closed) {
+                    queue.addLast(dispatch);
+                    notEmpty.signal();
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+            LOG.debug("Notification dispatcher closed, dispatching {} on the notifying thread", dispatch.event);
+            dispatch.run();
+        }
+
+        void close() {
+            lock.lock();
+            try {
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            thread.interrupt();
+        }
+
+        /**
+         * Removes a pending progress event superseded by the given one
+         * 
+         * @return true if an event has been removed
+         */
+        private boolean coalesce(Dispatch dispatch) {
+            if (dispatch.isProgress()) {
+                Iterator<Dispatch> pending = queue.iterator();
+                while (pending.hasNext()) {
+                    Dispatch current = pending.next();
+                    if (current.supersededBy(dispatch)) {
+                        pending.remove();
+                        dropped.incrementAndGet();
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private Dispatch take() throws InterruptedException {
+            lock.lockInterruptibly();
+            try {
+                while (queue.isEmpty()) {
+                    notEmpty.await();
+                }
+                Dispatch dispatch = queue.pollFirst();
+                notFull.signal();
+                return dispatch;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    take().run();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * An event to dispatch to a listener
+     */
+    @SuppressWarnings("rawtypes")
+    private static final class Dispatch {
+
+        private final EventListener listener;
+        private final AbstractNotificationEvent event;
+
+        Dispatch(EventListener listener, AbstractNotificationEvent event) {
+            this.listener = listener;
+            this.event = event;
+        }
+
+        boolean isProgress() {
+            return event instanceof PercentageOfWorkDoneChangedEvent;
+        }
+
+        boolean supersededBy(Dispatch other) {
+            return listener == other.listener && event.getClass() == other.event.getClass()
+                    && Objects.equals(event.getNotifiableTaskMetadata(), other.event.getNotifiableTaskMetadata());
+        }
+
+        @SuppressWarnings("unchecked")
+        void run() {
+            try {
+                listener.onEvent(event);
+            } catch (Throwable e) {
+                // the lane must survive any listener failure or notifiers waiting for room in its queue would wait forever
+                LOG.error(String.format("An error occurred notifying event %s", event), e);
+            }
+        }
+    }
+
+    /**
+     * Lazy initialization holder for the shared instance
+     */
+    private static final class NotificationDispatcherHolder {
+
+        private NotificationDispatcherHolder() {
+            // hide constructor
+        }
+
+        static final NotificationDispatcher INSTANCE = new NotificationDispatcher(
+                Runtime.getRuntime().availableProcessors(),
+                Integer.getInteger(Sejda.NOTIFICATION_QUEUE_CAPACITY_PROPERTY_NAME, DEFAULT_CAPACITY),
+                overflowPolicy());
+
+        private static OverflowPolicy overflowPolicy() {
+            String configured = System.getProperty(Sejda.NOTIFICATION_OVERFLOW_POLICY_PROPERTY_NAME,
+                    OverflowPolicy.BLOCK.name());
+            try {
+                return OverflowPolicy.valueOf(configured.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                LOG.warn("Invalid notification overflow policy {}, using {}", configured, OverflowPolicy.BLOCK);
+                return OverflowPolicy.BLOCK;
+            }
+        }
+    }
+}
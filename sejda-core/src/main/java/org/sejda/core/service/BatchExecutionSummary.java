@@ -0,0 +1,83 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.service;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+/**
+ * Aggregate results of a batch of tasks executed by the {@link ConcurrentTaskExecutionService}
+ */
+public final class BatchExecutionSummary {
+
+    private final int tasks;
+    private final int failed;
+    private final long elapsedTime;
+
+    BatchExecutionSummary(int tasks, int failed, long elapsedTime) {
+        this.tasks = tasks;
+        this.failed = failed;
+        this.elapsedTime = elapsedTime;
+    }
+
+    /**
+     * @return the number of tasks in the batch
+     */
+    public int getTasks() {
+        return tasks;
+    }
+
+    /**
+     * @return the number of tasks that completed successfully
+     */
+    public int getCompleted() {
+        return tasks - failed;
+    }
+
+    /**
+     * @return the number of tasks that failed
+     */
+    public int getFailed() {
+        return failed;
+    }
+
+    /**
+     * @return the number of millis for the whole batch to complete
+     */
+    public long getElapsedTime() {
+        return elapsedTime;
+    }
+
+    /**
+     * @return the number of tasks executed per second
+     */
+    public double getThroughput() {
+        if (elapsedTime <= 0) {
+            return tasks;
+        }
+        return tasks * 1000d / elapsedTime;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).append("tasks", tasks)
+                .append("failed", failed).append("elapsedTime", elapsedTime).append("throughput", getThroughput())
+                .toString();
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.service;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+
+import java.io.Closeable;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.commons.lang3.time.StopWatch;
+import org.sejda.core.notification.context.ThreadLocalNotificationContext;
+import org.sejda.model.parameter.base.TaskParameters;
+import org.sejda.model.task.CancellationToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link TaskExecutionService} that can execute tasks asynchronously or batches of tasks concurrently on a bounded pool of threads. Every task is executed with its own
+ * {@link org.sejda.model.task.TaskExecutionContext} and the {@link ThreadLocalNotificationContext} of the executing thread is cleared once the task is done, so that listeners
+ * don't leak from one task to the next one executed by the same thread. Listeners registered on the
+ * {@link org.sejda.core.notification.context.GlobalNotificationContext} are notified about events of every task, which can be told apart by their task identifier.
+ * <p>
+ * Optionally a {@link MemoryAdmissionController} can be used to hold back tasks whose estimated memory footprint doesn't fit in the
+ * memory left by the running ones. Tasks cancelled while waiting for admission give up their place in the queue and are notified as cancelled.
+ * </p>
+ */
+public final class ConcurrentTaskExecutionService implements TaskExecutionService, Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConcurrentTaskExecutionService.class);
+
+    private final DefaultTaskExecutionService service = new DefaultTaskExecutionService();
+    private final ExecutorService executor;
+    private final MemoryAdmissionController admissionController;
+
+    /**
+     * Creates a service executing tasks on a pool of the given size
+     *
+     * @param poolSize
+     *            max number of tasks executed concurrently
+     */
+    public ConcurrentTaskExecutionService(int poolSize) {
+        this(poolSize, null);
+    }
+
+    /**
+     * Creates a service executing tasks on a pool of the given size, admitting a task only when the given controller has enough memory
+     * for it.
+     *
+     * @param poolSize
+     *            max number of tasks executed concurrently
+     * @param admissionController
+     *            the memory admission controller or null if tasks should be admitted as soon as a thread is available
+     */
+    public ConcurrentTaskExecutionService(int poolSize, MemoryAdmissionController admissionController) {
+        if (poolSize < 1) {
+            throw new IllegalArgumentException("Pool size must be a positive number");
+        }
+        this.executor = Executors.newFixedThreadPool(poolSize,
+                new BasicThreadFactory.Builder().namingPattern("sejda-task-%d").daemon(true).build());
+        this.admissionController = admissionController;
+    }
+
+    /**
+     * Creates a service executing tasks on the given executor. The executor is shutdown when this service is closed.
+     *
+     * @param executor
+     */
+    public ConcurrentTaskExecutionService(ExecutorService executor) {
+        this(executor, null);
+    }
+
+    /**
+     * Creates a service executing tasks on the given executor, admitting a task only when the given controller has enough memory for it.
+     * The executor is shutdown when this service is closed.
+     *
+     * @param executor
+     * @param admissionController
+     *            the memory admission controller or null if tasks should be admitted as soon as they are picked up by the executor
+     */
+    public ConcurrentTaskExecutionService(ExecutorService executor, MemoryAdmissionController admissionController) {
+        this.executor = requireNonNull(executor, "Executor cannot be null");
+        this.admissionController = admissionController;
+    }
+
+    /**
+     * Creates a service executing every task on its own virtual thread. Virtual threads are cheap to create and block, so this is well suited to I/O bound tasks and there is no
+     * pool to size. Virtual threads require a JVM supporting them (Java 21+), on older JVMs every task is executed on its own daemon platform thread.
+     *
+     * @return a new service instance
+     */
+    public static ConcurrentTaskExecutionService newThreadPerTaskInstance() {
+        return new ConcurrentTaskExecutionService(newThreadPerTaskExecutor());
+    }
+
+    static ExecutorService newThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOG.info("Virtual threads are not available, tasks will be executed on platform threads");
+            return Executors.newCachedThreadPool(
+                    new BasicThreadFactory.Builder().namingPattern("sejda-task-%d").daemon(true).build());
+        }
+    }
+
+    /**
+     * Executes the task on the caller thread
+     */
+    @Override
+    public void execute(TaskParameters parameters) {
+        service.execute(parameters);
+    }
+
+    /**
+     * Asynchronously executes the task for the given parameters. Cancelling the returned future stops the task at its next cancellation
+     * check.
+     *
+     * @param parameters
+     * @return a future completing with the result of the execution once the task is done, or completing exceptionally with the cause of the failure if the task fails.
+     */
+    public CompletableFuture<TaskExecutionResult> submit(TaskParameters parameters) {
+        return submit(parameters, new CancellationToken());
+    }
+
+    /**
+     * Asynchronously executes the task for the given parameters, stopping it if it doesn't complete within the given timeout. The timeout
+     * includes the time the task spends waiting for a thread to become available.
+     *
+     * @param parameters
+     * @param timeout
+     * @param unit
+     * @return a future completing with the result of the execution once the task is done, or completing exceptionally with the cause of the failure if the task fails or
+     *         times out.
+     * @see #submit(TaskParameters)
+     */
+    public CompletableFuture<TaskExecutionResult> submit(TaskParameters parameters, long timeout, TimeUnit unit) {
+        return submit(parameters, CancellationToken.withTimeout(timeout, unit));
+    }
+
+    /**
+     * Asynchronously executes the task for the given parameters, the task is stopped when the given token is cancelled or when the returned
+     * future is cancelled.
+     *
+     * @param parameters
+     * @param cancellationToken
+     * @return a future completing with the result of the execution once the task is done, or completing exceptionally with the cause of the failure if the task fails or
+     *         is cancelled.
+     */
+    public CompletableFuture<TaskExecutionResult> submit(TaskParameters parameters,
+            CancellationToken cancellationToken) {
+        requireNonNull(parameters, "Parameters cannot be null");
+        requireNonNull(cancellationToken, "Cancellation token cannot be null");
+        CompletableFuture<TaskExecutionResult> future = CompletableFuture.supplyAsync(() -> {
+            TaskExecutionResult result = executeIsolated(parameters, cancellationToken);
+            if (result.isFailed()) {
+                throw new CompletionException(result.getFailingCause());
+            }
+            return result;
+        }, executor);
+        future.whenComplete((r, e) -> {
+            if (future.isCancelled()) {
+                cancellationToken.cancel();
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Executes the tasks for the given parameters concurrently and waits for all of them to complete.
+     *
+     * @param parameters
+     * @return a summary of the batch execution
+     */
+    public BatchExecutionSummary executeAll(Collection<? extends TaskParameters> parameters) {
+        requireNonNull(parameters, "Parameters cannot be null");
+        LOG.debug("Executing a batch of {} tasks", parameters.size());
+        StopWatch stopWatch = StopWatch.createStarted();
+        List<CompletableFuture<TaskExecutionResult>> results = parameters.stream().map(this::submit)
+                .collect(toList());
+        int failed = 0;
+        for (CompletableFuture<TaskExecutionResult> result : results) {
+            if (!waitFor(result)) {
+                failed++;
+            }
+        }
+        stopWatch.stop();
+        BatchExecutionSummary summary = new BatchExecutionSummary(results.size(), failed, stopWatch.getTime());
+        LOG.info("Batch executed: {}", summary);
+        return summary;
+    }
+
+    private TaskExecutionResult executeIsolated(TaskParameters parameters, CancellationToken cancellationToken) {
+        try {
+            return service.executeTask(parameters, cancellationToken, admissionController);
+        } finally {
+            ThreadLocalNotificationContext.getContext().clearListeners();
+        }
+    }
+
+    private static boolean waitFor(Future<TaskExecutionResult> result) {
+        try {
+            result.get();
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.cancel(true);
+        } catch (ExecutionException e) {
+            LOG.debug("Task execution failed", e.getCause());
+        }
+        return false;
+    }
+
+    /**
+     * Shuts down the underlying executor waiting for running tasks to complete
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                LOG.warn("Timeout waiting for running tasks to complete");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -20,6 +20,8 @@
  */
 package org.sejda.core.service;
 
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 import static java.util.Optional.ofNullable;
 import static org.sejda.core.notification.dsl.ApplicationEventsNotifier.notifyEvent;
 
@@ -31,12 +33,17 @@ import javax.validation.ConstraintViolation;
 
 import org.sejda.core.context.DefaultSejdaContext;
 import org.sejda.core.context.SejdaContext;
+import org.sejda.core.metrics.GlobalTaskMetricsRegistry;
+import org.sejda.core.support.io.TemporaryFilesJanitor;
 import org.sejda.core.validation.DefaultValidationContext;
 import org.sejda.model.exception.InvalidTaskParametersException;
+import org.sejda.model.exception.TaskCancelledException;
 import org.sejda.model.exception.TaskException;
 import org.sejda.model.parameter.base.TaskParameters;
+import org.sejda.model.task.CancellationToken;
 import org.sejda.model.task.NotifiableTaskMetadata;
 import org.sejda.model.task.TaskExecutionContext;
+import org.sejda.model.task.ThreadLocalTaskExecutionContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -52,38 +59,117 @@ public final class DefaultTaskExecutionService implements TaskExecutionService {
 
     private final SejdaContext context = new DefaultSejdaContext();
 
+    /**
+     * Creates the service, the first service created in the lifetime of the virtual machine starts a {@link TemporaryFilesJanitor} cleaning
+     * orphaned temporary files.
+     */
+    public DefaultTaskExecutionService() {
+        TemporaryFilesJanitor.cleanOnce();
+    }
+
     @Override
     public void execute(TaskParameters parameters) {
+        executeTask(parameters, new CancellationToken());
+    }
+
+    /**
+     * Executes the task for the given parameters. The task can be stopped cooperatively cancelling the given token or when the token
+     * deadline expires, in which case a {@link org.sejda.model.notification.event.TaskExecutionCancelledEvent} is notified.
+     * 
+     * @param parameters
+     * @param cancellationToken
+     */
+    public void execute(TaskParameters parameters, CancellationToken cancellationToken) {
+        executeTask(parameters, cancellationToken);
+    }
+
+    /**
+     * Executes the task for the given parameters, same as {@link #execute(TaskParameters, CancellationToken)} but reports the outcome to
+     * the caller.
+     * 
+     * @param parameters
+     * @param cancellationToken
+     * @return the result of the execution
+     */
+    TaskExecutionResult executeTask(TaskParameters parameters, CancellationToken cancellationToken) {
+        return executeTask(parameters, cancellationToken, null);
+    }
+
+    /**
+     * Executes the task for the given parameters once the given controller admits it. A task cancelled while waiting for admission is
+     * notified as cancelled, like a task cancelled while running.
+     * 
+     * @param parameters
+     * @param cancellationToken
+     * @param admissionController
+     *            the memory admission controller or null if the task should be executed right away
+     * @return the result of the execution
+     */
+    TaskExecutionResult executeTask(TaskParameters parameters, CancellationToken cancellationToken,
+            MemoryAdmissionController admissionController) {
         TaskExecutionContext executionContext = null;
+        long reserved = 0;
         LOG.trace("Starting execution for {}", parameters);
         try {
             validateIfRequired(parameters);
-            executionContext = new TaskExecutionContext(context.getTask(parameters), parameters.isLenient());
+            executionContext = new TaskExecutionContext(context.getTask(parameters), parameters.isLenient(),
+                    cancellationToken);
+            executionContext.budget(parameters.getBudget());
+            reserved = admit(parameters, cancellationToken, admissionController);
             LOG.info("Starting task ({}) execution.", executionContext.task());
             preExecution(executionContext);
             actualExecution(parameters, executionContext);
             postExecution(executionContext);
+            return new TaskExecutionResult(executionContext.notifiableTaskMetadata(), executionContext.executionTime(),
+                    executionContext.metrics(), null);
         } catch (InvalidTaskParametersException i) {
             LOG.error("Task execution failed due to invalid parameters: " + String.join(". ", i.getReasons()), i);
-            executionFailed(i, executionContext);
+            return executionFailed(i, executionContext);
+        } catch (TaskCancelledException e) {
+            LOG.warn("Task ({}) execution stopped: {}",
+                    ofNullable(executionContext).map(c -> c.task().toString()).orElse(""), e.getMessage());
+            return executionCancelled(e, executionContext);
         } catch (TaskException e) {
             LOG.error(String.format("Task (%s) execution failed.",
                     ofNullable(executionContext).map(c -> c.task().toString()).orElse("")), e);
-            executionFailed(e, executionContext);
+            return executionFailed(e, executionContext);
         } catch (RuntimeException e) {
             executionFailed(e, executionContext);
             throw e;
+        } finally {
+            if (nonNull(admissionController)) {
+                admissionController.release(reserved);
+            }
         }
     }
 
-    private void executionFailed(Exception e, TaskExecutionContext executionContext) {
-        if (executionContext == null) {
-            notifyEvent(NotifiableTaskMetadata.NULL).taskFailed(e);
-        } else {
-            notifyEvent(executionContext.notifiableTaskMetadata()).taskFailed(e);
+    private static long admit(TaskParameters parameters, CancellationToken cancellationToken,
+            MemoryAdmissionController admissionController) throws TaskCancelledException {
+        if (isNull(admissionController)) {
+            return 0;
+        }
+        try {
+            return admissionController.admit(parameters, cancellationToken);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TaskCancelledException("Interrupted while waiting for admission", false);
         }
     }
 
+    private TaskExecutionResult executionFailed(Exception e, TaskExecutionContext executionContext) {
+        NotifiableTaskMetadata taskMetadata = ofNullable(executionContext)
+                .map(TaskExecutionContext::notifiableTaskMetadata).orElse(NotifiableTaskMetadata.NULL);
+        notifyEvent(taskMetadata).taskFailed(e);
+        return new TaskExecutionResult(taskMetadata, -1, e);
+    }
+
+    private TaskExecutionResult executionCancelled(TaskCancelledException e, TaskExecutionContext executionContext) {
+        NotifiableTaskMetadata taskMetadata = ofNullable(executionContext)
+                .map(TaskExecutionContext::notifiableTaskMetadata).orElse(NotifiableTaskMetadata.NULL);
+        notifyEvent(taskMetadata).taskCancelled(e.isTimedOut());
+        return new TaskExecutionResult(taskMetadata, -1, e);
+    }
+
     private void validateIfRequired(TaskParameters parameters) throws InvalidTaskParametersException {
         if (context.isValidation()) {
             LOG.debug("Validating parameters.");
@@ -123,7 +209,9 @@ public final class DefaultTaskExecutionService implements TaskExecutionService {
      */
     private void postExecution(TaskExecutionContext context) {
         context.taskEnded();
-        notifyEvent(context.notifiableTaskMetadata()).taskCompleted(context.executionTime());
+        LOG.debug("Task metrics: {}", context.metrics());
+        GlobalTaskMetricsRegistry.getInstance().record(context.notifiableTaskMetadata(), context.metrics());
+        notifyEvent(context.notifiableTaskMetadata()).taskCompleted(context.executionTime(), context.metrics());
     }
 
     /**
@@ -136,15 +224,20 @@ public final class DefaultTaskExecutionService implements TaskExecutionService {
     @SuppressWarnings("unchecked")
     private void actualExecution(TaskParameters parameters, TaskExecutionContext executionContext)
             throws TaskException {
+        ThreadLocalTaskExecutionContext.bind(executionContext);
         try {
             executionContext.task().before(parameters, executionContext);
+            executionContext.assertNotCancelled();
             executionContext.task().execute(parameters);
+            executionContext.assertTemporaryBuffersWithinBudget();
         } finally {
+            ThreadLocalTaskExecutionContext.unbind();
             try {
                 executionContext.task().after();
             } catch (RuntimeException e) {
                 LOG.warn("An unexpected error occurred during the execution of the 'after' phase.", e);
             }
+            executionContext.releaseTemporaryResources();
         }
     }
 }
@@ -0,0 +1,109 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.service;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.sejda.model.input.ImageMergeInput;
+import org.sejda.model.input.MergeInput;
+import org.sejda.model.input.PdfMergeInput;
+import org.sejda.model.input.TaskSource;
+import org.sejda.model.parameter.BaseMergeParameters;
+import org.sejda.model.parameter.base.MultiplePdfSourceTaskParameters;
+import org.sejda.model.parameter.base.MultipleSourceTaskParameter;
+import org.sejda.model.parameter.base.SinglePdfSourceTaskParameters;
+import org.sejda.model.parameter.base.TaskParameters;
+import org.sejda.model.parameter.image.PdfToImageParameters;
+
+/**
+ * Estimates the task footprint based on the size of its inputs and the type of task. Page counts are not known until a document is
+ * parsed, so the input size is used as a proxy for the amount of content the task is going to hold in memory.
+ * <ul>
+ * <li>Every task has a fixed overhead.</li>
+ * <li>Parsed documents take a multiple of their size on disk, merges hold all the inputs open until the output is saved so their sizes
+ * add up.</li>
+ * <li>Conversions to image additionally hold a rendered page whose size depends on the resolution.</li>
+ * </ul>
+ * Sources whose size is not known upfront (streams, URLs) are assumed to have a default size.
+ */
+public class DefaultTaskFootprintEstimator implements TaskFootprintEstimator {
+
+    static final long TASK_OVERHEAD = 16 * 1024 * 1024;
+    static final long UNKNOWN_SOURCE_SIZE = 10 * 1024 * 1024;
+    static final int PARSED_DOCUMENT_FACTOR = 3;
+    /**
+     * Letter size page in inches
+     */
+    private static final double PAGE_WIDTH = 8.5;
+    private static final double PAGE_HEIGHT = 11;
+    /**
+     * ARGB
+     */
+    private static final int BYTES_PER_PIXEL = 4;
+
+    @Override
+    public long estimate(TaskParameters parameters) {
+        long estimate = TASK_OVERHEAD + sourcesSize(parameters) * PARSED_DOCUMENT_FACTOR;
+        if (parameters instanceof PdfToImageParameters) {
+            int dpi = ((PdfToImageParameters) parameters).getResolutionInDpi();
+            estimate += (long) (PAGE_WIDTH * dpi * PAGE_HEIGHT * dpi * BYTES_PER_PIXEL);
+        }
+        return estimate;
+    }
+
+    private static long sourcesSize(TaskParameters parameters) {
+        long size = 0;
+        for (TaskSource<?> source : sources(parameters)) {
+            size += sizeOf(source);
+        }
+        return size;
+    }
+
+    private static List<TaskSource<?>> sources(TaskParameters parameters) {
+        List<TaskSource<?>> sources = new ArrayList<>();
+        if (parameters instanceof SinglePdfSourceTaskParameters) {
+            sources.add(((SinglePdfSourceTaskParameters) parameters).getSource());
+        }
+        if (parameters instanceof MultiplePdfSourceTaskParameters) {
+            sources.addAll(((MultiplePdfSourceTaskParameters) parameters).getSourceList());
+        }
+        if (parameters instanceof MultipleSourceTaskParameter) {
+            sources.addAll(((MultipleSourceTaskParameter) parameters).getSourceList());
+        }
+        if (parameters instanceof BaseMergeParameters) {
+            for (MergeInput input : ((BaseMergeParameters<?>) parameters).getInputList()) {
+                if (input instanceof PdfMergeInput) {
+                    sources.add(((PdfMergeInput) input).getSource());
+                } else if (input instanceof ImageMergeInput) {
+                    sources.add(((ImageMergeInput) input).getSource());
+                }
+            }
+        }
+        return sources;
+    }
+
+    private static long sizeOf(TaskSource<?> source) {
+        if (source != null && source.getSource() instanceof File) {
+            return ((File) source.getSource()).length();
+        }
+        return UNKNOWN_SOURCE_SIZE;
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.service;
+
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.sejda.model.exception.TaskCancelledException;
+import org.sejda.model.parameter.base.TaskParameters;
+import org.sejda.model.task.CancellationToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Admits tasks for execution only when their estimated memory footprint fits in a memory budget, tasks that don't fit are queued until
+ * enough memory is released by the running ones. Tasks are admitted in arrival order so a large task is not starved by a stream of small
+ * ones. A task estimated to need more than the whole budget is admitted once it can run alone. A task waiting with a {@link CancellationToken}
+ * gives up its place in the queue as soon as the token is cancelled or times out.
+ */
+public final class MemoryAdmissionController {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MemoryAdmissionController.class);
+    /**
+     * Default fraction of the max heap used as budget, same threshold used by the memory optimizations
+     */
+    static final double DEFAULT_HEAP_FRACTION = 0.6;
+    /**
+     * How often a waiting task checks its cancellation token
+     */
+    private static final long CANCELLATION_CHECK_MILLIS = 100;
+
+    private final long budget;
+    private final TaskFootprintEstimator estimator;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private final Deque<Object> waiting = new ArrayDeque<>();
+    private long inUse = 0;
+
+    /**
+     * Creates a controller with a budget of 60% of the max heap and the {@link DefaultTaskFootprintEstimator}
+     */
+    public MemoryAdmissionController() {
+        this((long) (Runtime.getRuntime().maxMemory() * DEFAULT_HEAP_FRACTION), new DefaultTaskFootprintEstimator());
+    }
+
+    /**
+     * @param budget
+     *            number of bytes that can be used by tasks running concurrently
+     * @param estimator
+     *            estimator for the tasks footprint
+     */
+    public MemoryAdmissionController(long budget, TaskFootprintEstimator estimator) {
+        if (budget < 1) {
+            throw new IllegalArgumentException("Memory budget must be a positive number");
+        }
+        this.budget = budget;
+        this.estimator = requireNonNull(estimator, "Estimator cannot be null");
+    }
+
+    /**
+     * Waits until the task for the given parameters can be admitted
+     * 
+     * @param parameters
+     * @return the number of bytes reserved for the task, to be given back with {@link #release(long)} once the task is done
+     * @throws InterruptedException
+     */
+    public long admit(TaskParameters parameters) throws InterruptedException {
+        return acquire(estimator.estimate(parameters));
+    }
+
+    /**
+     * Waits until the task for the given parameters can be admitted or the given token is cancelled
+     * 
+     * @param parameters
+     * @param cancellationToken
+     * @return the number of bytes reserved for the task, to be given back with {@link #release(long)} once the task is done
+     * @throws InterruptedException
+     * @throws TaskCancelledException
+     *             if the token is cancelled or times out before the task is admitted
+     */
+    public long admit(TaskParameters parameters, CancellationToken cancellationToken)
+            throws InterruptedException, TaskCancelledException {
+        return acquire(estimator.estimate(parameters), cancellationToken);
+    }
+
+    /**
+     * Waits until the given number of bytes are available and reserves them
+     * 
+     * @param bytes
+     * @return the number of bytes actually reserved, to be given back with {@link #release(long)}
+     * @throws InterruptedException
+     */
+    public long acquire(long bytes) throws InterruptedException {
+        return reserve(bytes, null);
+    }
+
+    /**
+     * Waits until the given number of bytes are available and reserves them, giving up if the given token is cancelled or times out first
+     * 
+     * @param bytes
+     * @param cancellationToken
+     * @return the number of bytes actually reserved, to be given back with {@link #release(long)}
+     * @throws InterruptedException
+     * @throws TaskCancelledException
+     *             if the token is cancelled or times out before the bytes are reserved
+     */
+    public long acquire(long bytes, CancellationToken cancellationToken)
+            throws InterruptedException, TaskCancelledException {
+        requireNonNull(cancellationToken, "Cancellation token cannot be null");
+        long reserved = reserve(bytes, cancellationToken);
+        if (reserved < 0) {
+            if (cancellationToken.isCancelled()) {
+                throw new TaskCancelledException("Task has been cancelled while waiting for admission", false);
+            }
+            throw new TaskCancelledException("Task deadline expired while waiting for admission", true);
+        }
+        return reserved;
+    }
+
+    /**
+     * @return the reserved bytes or -1 if the token has been cancelled or timed out while waiting
+     */
+    private long reserve(long bytes, CancellationToken cancellationToken) throws InterruptedException {
+        long required = Math.min(Math.max(bytes, 0), budget);
+        Object ticket = new Object();
+        lock.lockInterruptibly();
+        try {
+            waiting.addLast(ticket);
+            try {
+                while (waiting.peekFirst() != ticket || inUse + required > budget) {
+                    if (nonNull(cancellationToken)) {
+                        if (cancellationToken.isCancelled() || cancellationToken.isTimedOut()) {
+                            LOG.debug("Task cancelled while waiting for {} bytes of memory", required);
+                            return -1;
+                        }
+                        LOG.debug("Waiting for {} bytes of memory, {} out of {} in use", required, inUse, budget);
+                        released.await(CANCELLATION_CHECK_MILLIS, MILLISECONDS);
+                    } else {
+                        LOG.debug("Waiting for {} bytes of memory, {} out of {} in use", required, inUse, budget);
+                        released.await();
+                    }
+                }
+            } finally {
+                waiting.remove(ticket);
+                // whoever is next in line can check if there is room
+                released.signalAll();
+            }
+            inUse += required;
+            return required;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gives back bytes previously reserved
+     * 
+     * @param bytes
+     */
+    public void release(long bytes) {
+        lock.lock();
+        try {
+            inUse = Math.max(0, inUse - bytes);
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of bytes currently available
+     */
+    public long getAvailable() {
+        lock.lock();
+        try {
+            return budget - inUse;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of tasks waiting to be admitted
+     */
+    public int getQueued() {
+        lock.lock();
+        try {
+            return waiting.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getBudget() {
+        return budget;
+    }
+}
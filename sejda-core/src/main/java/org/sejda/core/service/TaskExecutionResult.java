@@ -0,0 +1,109 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.service;
+
+import static java.util.Objects.nonNull;
+
+import java.io.File;
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+import org.sejda.model.task.NotifiableTaskMetadata;
+import org.sejda.model.task.TaskMetrics;
+
+/**
+ * Outcome of a task execution
+ */
+public final class TaskExecutionResult {
+
+    private final NotifiableTaskMetadata taskMetadata;
+    private final long executionTime;
+    private final TaskMetrics metrics;
+    private final Exception failingCause;
+
+    TaskExecutionResult(NotifiableTaskMetadata taskMetadata, long executionTime, Exception failingCause) {
+        this(taskMetadata, executionTime, null, failingCause);
+    }
+
+    TaskExecutionResult(NotifiableTaskMetadata taskMetadata, long executionTime, TaskMetrics metrics,
+            Exception failingCause) {
+        this.taskMetadata = taskMetadata;
+        this.executionTime = executionTime;
+        this.metrics = metrics;
+        this.failingCause = failingCause;
+    }
+
+    /**
+     * @return the identifier of the executed task or null if the task couldn't be instantiated
+     */
+    public UUID getTaskIdentifier() {
+        return taskMetadata.getTaskIdentifier();
+    }
+
+    /**
+     * @return the list of files generated by the task
+     */
+    public List<File> getOutputs() {
+        return taskMetadata.taskOutput();
+    }
+
+    /**
+     * @return the list of warnings notified during the task execution
+     */
+    public List<String> getWarnings() {
+        return taskMetadata.taskWarnings();
+    }
+
+    /**
+     * @return the number of millis for the task to complete or -1 if the task didn't complete.
+     */
+    public long getExecutionTime() {
+        return executionTime;
+    }
+
+    /**
+     * @return the metrics collected during the execution or null if the task didn't complete.
+     */
+    public TaskMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * @return the exception that caused the task to fail or null if the task completed successfully.
+     */
+    public Exception getFailingCause() {
+        return failingCause;
+    }
+
+    /**
+     * @return true if the task failed
+     */
+    public boolean isFailed() {
+        return nonNull(failingCause);
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).append("taskMetadata", taskMetadata)
+                .append("executionTime", executionTime).append("outputs", getOutputs().size())
+                .append("warnings", getWarnings().size()).append("failed", isFailed()).toString();
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.service;
+
+import org.sejda.model.parameter.base.TaskParameters;
+
+/**
+ * Estimates the amount of heap memory a task is going to need to execute.
+ */
+public interface TaskFootprintEstimator {
+
+    /**
+     * @param parameters
+     * @return the estimated number of bytes of heap the task for the given parameters is going to need
+     */
+    long estimate(TaskParameters parameters);
+}
@@ -26,12 +26,12 @@ import static org.apache.commons.io.FilenameUtils.getBaseName;
 import static org.apache.commons.io.FilenameUtils.getExtension;
 import static org.apache.commons.lang3.ObjectUtils.defaultIfNull;
 
-import java.io.File;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
 import org.sejda.core.support.io.model.PopulatedFileOutput;
+import org.sejda.model.exception.TaskBudgetExceededException;
 import org.sejda.model.output.DirectoryTaskOutput;
 import org.sejda.model.output.ExistingOutputPolicy;
 import org.sejda.model.output.FileOrDirectoryTaskOutput;
@@ -46,7 +46,7 @@ import org.sejda.model.task.TaskExecutionContext;
  */
 class DefaultMultipleOutputWriter implements MultipleOutputWriter {
 
-    private Map<String, File> multipleFiles = new HashMap<>();
+    private Map<String, PopulatedFileOutput> multipleFiles = new HashMap<>();
     private final ExistingOutputPolicy existingOutputPolicy;
     private final TaskExecutionContext executionContext;
 
@@ -62,18 +62,20 @@ class DefaultMultipleOutputWriter implements MultipleOutputWriter {
 
     @Override
     public void dispatch(DirectoryTaskOutput output) throws IOException {
-        OutputWriterHelper.moveToDirectory(multipleFiles, output.getDestination(), existingOutputPolicy,
-                executionContext);
+        OutputWriterHelper.assertOutputsWithinBudget(multipleFiles.size(), executionContext);
+        OutputWriterHelper.moveOutputsToDirectory(multipleFiles, multipleFiles.size(), output.getDestination(),
+                existingOutputPolicy, executionContext);
     }
 
     @Override
     public void dispatch(FileOrDirectoryTaskOutput output) throws IOException {
+        OutputWriterHelper.assertOutputsWithinBudget(multipleFiles.size(), executionContext);
         if (multipleFiles.size() > 1 || output.getDestination().isDirectory()) {
-            OutputWriterHelper.moveToDirectory(multipleFiles, output.getDestination(), existingOutputPolicy,
-                    executionContext);
+            OutputWriterHelper.moveOutputsToDirectory(multipleFiles, multipleFiles.size(), output.getDestination(),
+                    existingOutputPolicy, executionContext);
         } else {
-            OutputWriterHelper.moveToFile(multipleFiles, output.getDestination(), existingOutputPolicy,
-                    executionContext);
+            OutputWriterHelper.moveToFile(OutputWriterHelper.toFiles(multipleFiles), output.getDestination(),
+                    existingOutputPolicy, executionContext);
         }
     }
 
@@ -84,18 +86,25 @@ class DefaultMultipleOutputWriter implements MultipleOutputWriter {
      */
     @Override
     public void addOutput(PopulatedFileOutput fileOutput) {
-        if (nonNull(multipleFiles.putIfAbsent(fileOutput.getName(), fileOutput.getFile()))) {
+        if (nonNull(multipleFiles.putIfAbsent(fileOutput.getName(), fileOutput))) {
             // we already have a file with the same name, this shouldn't happen but could happen in split by text or bookmarks
             int count = 1;
             String basename = getBaseName(fileOutput.getName());
             String extension = getExtension(fileOutput.getName());
 
             while (nonNull(
-                    multipleFiles.putIfAbsent(format("%s(%d).%s", basename, count, extension), fileOutput.getFile()))
+                    multipleFiles.putIfAbsent(format("%s(%d).%s", basename, count, extension), fileOutput))
                     && count < 100) {
                 count++;
             }
         }
     }
 
+    /**
+     * Nothing is written before the output is dispatched, only the number of outputs is checked against the task budget
+     */
+    @Override
+    public void flush() throws TaskBudgetExceededException {
+        executionContext.assertOutputsWithinBudget(multipleFiles.size());
+    }
 }
@@ -21,7 +21,9 @@
 package org.sejda.core.support.io;
 
 import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 import static java.util.Optional.of;
+import static org.sejda.core.support.io.OutputWriterHelper.moveBuffer;
 import static org.sejda.core.support.io.OutputWriterHelper.moveFile;
 import static org.sejda.model.output.ExistingOutputPolicy.FAIL;
 import static org.sejda.model.output.ExistingOutputPolicy.SKIP;
@@ -29,6 +31,7 @@ import static org.sejda.model.output.ExistingOutputPolicy.SKIP;
 import java.io.File;
 import java.io.IOException;
 
+import org.sejda.core.support.io.buffer.SpillableBuffer;
 import org.sejda.model.output.DirectoryTaskOutput;
 import org.sejda.model.output.ExistingOutputPolicy;
 import org.sejda.model.output.FileOrDirectoryTaskOutput;
@@ -48,6 +51,7 @@ class DefaultSingleOutputWriter implements SingleOutputWriter {
     private static final Logger LOG = LoggerFactory.getLogger(DefaultSingleOutputWriter.class);
 
     private File taskOutput;
+    private SpillableBuffer taskOutputBuffer;
     private final ExistingOutputPolicy existingOutputPolicy;
     private final TaskExecutionContext executionContext;
 
@@ -62,14 +66,25 @@ class DefaultSingleOutputWriter implements SingleOutputWriter {
     @Override
     public void taskOutput(File taskOutput) {
         this.taskOutput = taskOutput;
+        this.taskOutputBuffer = null;
+    }
+
+    @Override
+    public void taskOutput(SpillableBuffer taskOutput) {
+        this.taskOutputBuffer = taskOutput;
+        this.taskOutput = null;
     }
 
     @Override
     public void dispatch(FileTaskOutput output) throws IOException {
-        if (isNull(taskOutput)) {
-            throw new IOException("No task output set");
+        if (nonNull(taskOutputBuffer)) {
+            moveBuffer(taskOutputBuffer, output.getDestination(), existingOutputPolicy, executionContext);
+        } else {
+            if (isNull(taskOutput)) {
+                throw new IOException("No task output set");
+            }
+            moveFile(taskOutput, output.getDestination(), existingOutputPolicy, executionContext);
         }
-        moveFile(taskOutput, output.getDestination(), existingOutputPolicy, executionContext);
     }
 
     @Override
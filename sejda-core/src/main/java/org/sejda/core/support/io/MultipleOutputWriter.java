@@ -21,6 +21,8 @@
 package org.sejda.core.support.io;
 
 import org.sejda.core.support.io.model.PopulatedFileOutput;
+import org.sejda.model.exception.TaskBudgetExceededException;
+import org.sejda.model.exception.TaskOutputVisitException;
 import org.sejda.model.output.TaskOutputDispatcher;
 
 /**
@@ -32,9 +34,23 @@ import org.sejda.model.output.TaskOutputDispatcher;
 public interface MultipleOutputWriter extends TaskOutputDispatcher {
 
     /**
-     * Adds the given file output (typically a temporary file) to the collection of multiple outputs ready to be written.
+     * Adds the given file output (typically a temporary file) to the collection of multiple outputs ready to be written. The number of
+     * outputs is checked against the task budget when the outputs are flushed or dispatched.
      * 
      * @param fileOutput
      */
     void addOutput(PopulatedFileOutput fileOutput);
+
+    /**
+     * Tells the writer that every output added so far has been completely written and can be committed to the destination. Writers that
+     * can't write anything before the destination is dispatched simply ignore this call.
+     * 
+     * @throws TaskOutputVisitException
+     *             if an error occurs committing the outputs
+     * @throws TaskBudgetExceededException
+     *             if the outputs exceed the number allowed by the task budget
+     */
+    default void flush() throws TaskOutputVisitException, TaskBudgetExceededException {
+        // nothing by default
+    }
 }
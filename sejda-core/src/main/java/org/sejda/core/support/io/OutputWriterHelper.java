@@ -20,11 +20,15 @@
  */
 package org.sejda.core.support.io;
 
+import static java.util.Objects.nonNull;
 import static java.util.Optional.of;
 import static org.apache.commons.lang3.StringUtils.isBlank;
+import static org.sejda.core.support.io.IOUtils.deleteWhenTaskEnds;
 import static org.sejda.core.support.io.IOUtils.findNewNameThatDoesNotExist;
 import static org.sejda.core.support.io.IOUtils.shortenFilename;
+import static org.sejda.core.support.io.IOUtils.tmpFile;
 import static org.sejda.model.output.ExistingOutputPolicy.FAIL;
+import static org.sejda.model.output.ExistingOutputPolicy.OVERWRITE;
 import static org.sejda.model.output.ExistingOutputPolicy.SKIP;
 
 import java.io.File;
@@ -32,8 +36,16 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.zip.ZipEntry;
@@ -41,8 +53,13 @@ import java.util.zip.ZipOutputStream;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
+import org.sejda.core.support.io.buffer.SpillableBuffer;
+import org.sejda.core.support.io.model.PopulatedFileOutput;
+import org.sejda.model.exception.TaskBudgetExceededException;
 import org.sejda.model.output.ExistingOutputPolicy;
 import org.sejda.model.task.TaskExecutionContext;
+import org.sejda.model.task.TaskMetrics.Timer;
+import org.sejda.model.task.TaskPhase;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -55,6 +72,7 @@ import org.slf4j.LoggerFactory;
 final class OutputWriterHelper {
 
     private static final Logger LOG = LoggerFactory.getLogger(OutputWriterHelper.class);
+    private static final String TOTAL_FILESNUMBER = "[TOTAL_FILESNUMBER]";
 
     private OutputWriterHelper() {
         // util class
@@ -102,20 +120,169 @@ final class OutputWriterHelper {
      */
     static void moveToDirectory(Map<String, File> files, File outputDirectory,
             ExistingOutputPolicy existingOutputPolicy, TaskExecutionContext executionContext) throws IOException {
+        moveToDirectory(files, files.size(), outputDirectory, existingOutputPolicy, executionContext);
+    }
+
+    /**
+     * Moves the input files to the output directory
+     * 
+     * @param files
+     * @param totalFilesNumber
+     *            the total number of files generated by the task, used to resolve the [TOTAL_FILESNUMBER] placeholder in the names
+     * @param outputDirectory
+     * @param existingOutputPolicy
+     *            policy to use if an output that already exists is found
+     * @param executionContext
+     *            current execution context
+     * @throws IOException
+     */
+    static void moveToDirectory(Map<String, File> files, int totalFilesNumber, File outputDirectory,
+            ExistingOutputPolicy existingOutputPolicy, TaskExecutionContext executionContext) throws IOException {
+        ensureDirectory(outputDirectory);
+        for (Entry<String, File> entry : files.entrySet()) {
+            if (isBlank(entry.getKey())) {
+                throw new IOException(String.format(
+                        "Unable to move %s to the output directory, no output name specified.", entry.getValue()));
+            }
+            moveFile(entry.getValue(), new File(outputDirectory, finalName(entry.getKey(), totalFilesNumber)),
+                    existingOutputPolicy, executionContext);
+        }
+    }
+
+    /**
+     * Moves the input outputs, temporary files or buffers, to the output directory
+     * 
+     * @param outputs
+     * @param totalFilesNumber
+     *            the total number of files generated by the task, used to resolve the [TOTAL_FILESNUMBER] placeholder in the names
+     * @param outputDirectory
+     * @param existingOutputPolicy
+     *            policy to use if an output that already exists is found
+     * @param executionContext
+     *            current execution context
+     * @throws IOException
+     */
+    static void moveOutputsToDirectory(Map<String, PopulatedFileOutput> outputs, int totalFilesNumber,
+            File outputDirectory, ExistingOutputPolicy existingOutputPolicy, TaskExecutionContext executionContext)
+            throws IOException {
+        ensureDirectory(outputDirectory);
+        for (Entry<String, PopulatedFileOutput> entry : outputs.entrySet()) {
+            if (isBlank(entry.getKey())) {
+                throw new IOException(String.format(
+                        "Unable to move %s to the output directory, no output name specified.", entry.getValue()));
+            }
+            moveOutput(entry.getValue(), new File(outputDirectory, finalName(entry.getKey(), totalFilesNumber)),
+                    existingOutputPolicy, executionContext);
+        }
+    }
+
+    private static void ensureDirectory(File outputDirectory) throws IOException {
         if (!outputDirectory.exists() && !outputDirectory.mkdirs()) {
             throw new IOException(String.format("Unable to make destination directory tree %s.", outputDirectory));
         }
         if (!outputDirectory.isDirectory()) {
             throw new IOException(String.format("Wrong output destination %s, must be a directory.", outputDirectory));
         }
-        for (Entry<String, File> entry : files.entrySet()) {
-            if (isBlank(entry.getKey())) {
-                throw new IOException(String.format(
-                        "Unable to move %s to the output directory, no output name specified.", entry.getValue()));
+    }
+
+    /**
+     * @param outputs
+     * @return the temporary files for the given outputs, buffers are spilled to temporary files
+     * @throws IOException
+     */
+    static Map<String, File> toFiles(Map<String, PopulatedFileOutput> outputs) throws IOException {
+        Map<String, File> files = new LinkedHashMap<>();
+        for (Entry<String, PopulatedFileOutput> entry : outputs.entrySet()) {
+            SpillableBuffer buffer = entry.getValue().getBuffer();
+            files.put(entry.getKey(), nonNull(buffer) ? buffer.toFile() : entry.getValue().getFile());
+        }
+        return files;
+    }
+
+    /**
+     * Moves the given output, a temporary file or a buffer, to the output file
+     * 
+     * @param input
+     * @param output
+     * @param existingOutputPolicy
+     *            policy to use if an output that already exists is found
+     * @param executionContext
+     * @throws IOException
+     */
+    static void moveOutput(PopulatedFileOutput input, File output, ExistingOutputPolicy existingOutputPolicy,
+            TaskExecutionContext executionContext) throws IOException {
+        if (nonNull(input.getBuffer())) {
+            moveBuffer(input.getBuffer(), output, existingOutputPolicy, executionContext);
+        } else {
+            moveFile(input.getFile(), output, existingOutputPolicy, executionContext);
+        }
+    }
+
+    /**
+     * Writes the content of the buffer to the output file and releases the buffer. Buffers held in memory are written next to the output and
+     * committed with an atomic rename, without going through a temporary file in the system temporary directory.
+     * 
+     * @param buffer
+     * @param output
+     * @param existingOutputPolicy
+     *            policy to use if an output that already exists is found
+     * @param executionContext
+     * @throws IOException
+     */
+    static void moveBuffer(SpillableBuffer buffer, File output, ExistingOutputPolicy existingOutputPolicy,
+            TaskExecutionContext executionContext) throws IOException {
+        try (SpillableBuffer input = buffer) {
+            if (!input.isInMemory()) {
+                moveFile(input.toFile(), output, existingOutputPolicy, executionContext);
+                return;
+            }
+            long size = input.size();
+            try (Timer timer = executionContext.metrics().start(TaskPhase.OUTPUT)) {
+                File destination = output;
+                if (output.exists()) {
+                    switch (existingOutputPolicy) {
+                    case OVERWRITE:
+                        break;
+                    case RENAME:
+                        destination = findNewNameThatDoesNotExist(output);
+                        LOG.debug("Output exists {}, will use new name {}.", output, destination);
+                        break;
+                    case SKIP:
+                        LOG.info("Skipping already existing output file {}", output);
+                        return;
+                    default:
+                        throw new IOException(String.format(
+                                "Unable to write buffer to the already existing file destination %s. (policy is %s)",
+                                output, existingOutputPolicy));
+                    }
+                }
+                LOG.debug("Writing buffer to {}.", destination);
+                Path target = destination.toPath();
+                Path tmp = tmpFile(createParentDirectories(target));
+                try {
+                    input.writeTo(tmp.toFile());
+                    commit(tmp, target, existingOutputPolicy == OVERWRITE);
+                } finally {
+                    Files.deleteIfExists(tmp);
+                }
+                executionContext.notifiableTaskMetadata().addTaskOutput(destination);
+                executionContext.metrics().bytesWritten(size);
             }
-            moveFile(entry.getValue(), new File(outputDirectory, finalName(entry.getKey(), files.size())),
-                    existingOutputPolicy,
-                    executionContext);
+        }
+    }
+
+    /**
+     * @param outputs
+     *            number of output files the task is generating
+     * @param executionContext
+     * @throws IOException
+     *             if the number of outputs exceeds the task budget
+     */
+    static void assertOutputsWithinBudget(int outputs, TaskExecutionContext executionContext) throws IOException {
+        try {
+            executionContext.assertOutputsWithinBudget(outputs);
+        } catch (TaskBudgetExceededException e) {
+            throw new IOException(e.getMessage(), e);
         }
     }
 
@@ -133,22 +300,37 @@ final class OutputWriterHelper {
      */
     static void moveFile(File input, File output, ExistingOutputPolicy existingOutputPolicy,
             TaskExecutionContext executionContext) throws IOException {
+        try {
+            executionContext.temporaryBufferWritten(input);
+        } catch (TaskBudgetExceededException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+        long size = input.length();
+        try (Timer timer = executionContext.metrics().start(TaskPhase.OUTPUT)) {
+            if (moveFileApplyingPolicy(input, output, existingOutputPolicy, executionContext)) {
+                executionContext.metrics().bytesWritten(size);
+            }
+        }
+    }
+
+    private static boolean moveFileApplyingPolicy(File input, File output, ExistingOutputPolicy existingOutputPolicy,
+            TaskExecutionContext executionContext) throws IOException {
         if (output.exists()) {
             switch (existingOutputPolicy) {
             case OVERWRITE:
                 LOG.debug("Moving {} to {}.", input.getAbsolutePath(), output.getAbsolutePath());
-                Files.move(input.toPath(), output.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                doMoveFile(input, output, true);
                 executionContext.notifiableTaskMetadata().addTaskOutput(output);
-                break;
+                return true;
             case RENAME:
                 File newNamedOutput = findNewNameThatDoesNotExist(output);
                 LOG.debug("Output exists {}, will use new name {}.", output, newNamedOutput);
-                doMoveFile(input, newNamedOutput);
+                doMoveFile(input, newNamedOutput, false);
                 executionContext.notifiableTaskMetadata().addTaskOutput(newNamedOutput);
-                break;
+                return true;
             case SKIP:
                 LOG.info("Skipping already existing output file {}", output);
-                break;
+                return false;
             default:
                 throw new IOException(
                         String.format("Unable to write %s to the already existing file destination %s. (policy is %s)",
@@ -156,27 +338,130 @@ final class OutputWriterHelper {
             }
         } else {
             LOG.debug("Moving {} to {}.", input, output);
-            doMoveFile(input, output);
+            doMoveFile(input, output, existingOutputPolicy == OVERWRITE);
             executionContext.notifiableTaskMetadata().addTaskOutput(output);
+            return true;
         }
     }
 
-    private static void doMoveFile(File input, File output) throws IOException {
+    /**
+     * Moves the input to the output with an atomic rename. If they are on different file systems the input is copied to a temporary file next to
+     * the output which is then renamed, so the output is never seen partially written.
+     * 
+     * @param replace
+     *            true if an existing output can be replaced, otherwise the move fails if the output exists when it's committed
+     */
+    private static void doMoveFile(File input, File output, boolean replace) throws IOException {
+        Path source;
+        Path target;
         try {
+            source = input.toPath();
+            target = output.toPath();
+        } catch (InvalidPathException e) {
+            // names the platform encoding cannot represent, the plain old file API can still deal with them
+            LOG.debug("Invalid path, falling back to a non atomic move", e);
             FileUtils.moveFile(input, output);
-        } catch (IOException ex) {
-            if (ex.getMessage().contains("Failed to delete original file")) {
-                // Don't crash the task because we have leftover temp files, just warn
-                LOG.warn(ex.getMessage());
-                input.deleteOnExit();
+            return;
+        }
+        Path parent = createParentDirectories(target);
+        if (rename(source, target, replace)) {
+            return;
+        }
+        LOG.debug("Unable to rename {} to {}, will copy across file systems.", input, output);
+        Path tmp = tmpFile(parent);
+        try {
+            transfer(source, tmp);
+            commit(tmp, target, replace);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        if (!input.delete()) {
+            // Don't crash the task because we have leftover temp files, just warn
+            LOG.warn("Failed to delete original file {} after copy to {}", input, output);
+            deleteWhenTaskEnds(input);
+        }
+    }
+
+    private static Path createParentDirectories(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        return parent;
+    }
+
+    static void transfer(Path source, Path destination) throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+                FileChannel out = FileChannel.open(destination, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING)) {
+            long size = in.size();
+            long position = 0;
+            while (position < size) {
+                position += in.transferTo(position, size - position, out);
+            }
+        }
+    }
+
+    /**
+     * Renames the temporary file, created next to the target, to the target
+     */
+    private static void commit(Path tmp, Path target, boolean replace) throws IOException {
+        if (!rename(tmp, target, replace)) {
+            LOG.debug("Atomic rename not supported for {}, falling back to a plain move.", target);
+            if (replace) {
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
             } else {
-                throw ex;
+                Files.move(tmp, target);
             }
         }
     }
 
+    /**
+     * Atomically renames the source to the target. An atomic rename replaces an existing target on most platforms so, when the target cannot be
+     * replaced, the source is hard linked to the target instead, which fails if the target exists, and then removed. Where hard links are not
+     * supported the target existence is checked right before the rename.
+     * 
+     * @return false if the source cannot be atomically renamed to the target, Ex. they are on different file systems
+     * @throws FileAlreadyExistsException
+     *             if the target cannot be replaced and it exists
+     */
+    private static boolean rename(Path source, Path target, boolean replace) throws IOException {
+        if (!replace) {
+            try {
+                Files.createLink(target, source);
+                try {
+                    Files.delete(source);
+                } catch (IOException e) {
+                    // Don't crash the task because we have leftover temp files, just warn
+                    LOG.warn("Failed to delete original file {} after linking it to {}", source, target);
+                    deleteWhenTaskEnds(source.toFile());
+                }
+                return true;
+            } catch (FileAlreadyExistsException e) {
+                throw e;
+            } catch (UnsupportedOperationException | IOException e) {
+                LOG.debug("Unable to link {} to {}, falling back to a rename.", source, target);
+            }
+            if (Files.exists(target, LinkOption.NOFOLLOW_LINKS)) {
+                throw new FileAlreadyExistsException(target.toString());
+            }
+        }
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (AtomicMoveNotSupportedException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @param filename
+     * @return true if the given name can only be resolved once the total number of generated files is known
+     */
+    static boolean requiresTotalFilesNumber(String filename) {
+        return filename.contains(TOTAL_FILESNUMBER);
+    }
+
     private static String finalName(String filename, int totalFilesNumber) {
-        return shortenFilename(filename.replace("[TOTAL_FILESNUMBER]", Integer.toString(totalFilesNumber)));
+        return shortenFilename(filename.replace(TOTAL_FILESNUMBER, Integer.toString(totalFilesNumber)));
     }
 
     /**
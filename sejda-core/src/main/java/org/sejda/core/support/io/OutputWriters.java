@@ -20,6 +20,7 @@
 package org.sejda.core.support.io;
 
 import org.sejda.model.output.ExistingOutputPolicy;
+import org.sejda.model.output.TaskOutput;
 import org.sejda.model.task.TaskExecutionContext;
 
 /**
@@ -61,4 +62,23 @@ public final class OutputWriters {
             TaskExecutionContext executionContext) {
         return new DefaultMultipleOutputWriter(policy, executionContext);
     }
+
+    /**
+     * Factory method for a {@link MultipleOutputWriter} that writes outputs to the destination directory as soon as they are flushed, instead of
+     * holding them until the task output is dispatched. Flushed outputs are committed before the task completes, they are not removed if the
+     * task fails later on, leaving a partial set of outputs in the destination directory.
+     * 
+     * @param policy
+     *            policy to use in case of an existing output is found
+     * @param executionContext
+     *            the current execution context
+     * @param output
+     *            the task output the writer will be dispatched to
+     * @return a new instance of the streaming {@link MultipleOutputWriter}
+     * @see MultipleOutputWriter#flush()
+     */
+    public static MultipleOutputWriter newStreamingMultipleOutputWriter(ExistingOutputPolicy policy,
+            TaskExecutionContext executionContext, TaskOutput output) {
+        return new StreamingMultipleOutputWriter(policy, executionContext, output);
+    }
 }
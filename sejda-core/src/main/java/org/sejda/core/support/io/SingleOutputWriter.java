@@ -21,7 +21,10 @@
 package org.sejda.core.support.io;
 
 import java.io.File;
+import java.io.IOException;
 
+import org.sejda.core.support.io.buffer.SpillableBuffer;
+import org.sejda.model.exception.TaskIOException;
 import org.sejda.model.output.TaskOutputDispatcher;
 
 /**
@@ -38,4 +41,20 @@ public interface SingleOutputWriter extends TaskOutputDispatcher {
      * @param taskOutput
      */
     void taskOutput(File taskOutput);
+
+    /**
+     * Sets the given buffer, holding the complete task output, as the task output ready to be written. By default the buffer is spilled to a
+     * temporary file that is set as task output.
+     * 
+     * @param taskOutput
+     * @throws TaskIOException
+     *             if the buffer cannot be spilled to a temporary file
+     */
+    default void taskOutput(SpillableBuffer taskOutput) throws TaskIOException {
+        try {
+            taskOutput(taskOutput.toFile());
+        } catch (IOException e) {
+            throw new TaskIOException("Unable to spill the task output to a temporary file", e);
+        }
+    }
 }
@@ -0,0 +1,153 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.support.io;
+
+import static java.lang.String.format;
+import static java.util.Objects.nonNull;
+import static org.apache.commons.io.FilenameUtils.getBaseName;
+import static org.apache.commons.io.FilenameUtils.getExtension;
+import static org.apache.commons.lang3.ObjectUtils.defaultIfNull;
+import static org.sejda.core.support.io.OutputWriterHelper.requiresTotalFilesNumber;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.sejda.core.support.io.model.PopulatedFileOutput;
+import org.sejda.model.exception.TaskBudgetExceededException;
+import org.sejda.model.exception.TaskOutputVisitException;
+import org.sejda.model.output.DirectoryTaskOutput;
+import org.sejda.model.output.ExistingOutputPolicy;
+import org.sejda.model.output.FileOrDirectoryTaskOutput;
+import org.sejda.model.output.FileTaskOutput;
+import org.sejda.model.output.TaskOutput;
+import org.sejda.model.task.TaskExecutionContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Multiple writer that commits outputs to the destination directory as soon as they are flushed, instead of holding every generated temporary file
+ * until the task output is dispatched. This limits the temporary disk space used by tasks generating a large number of outputs and makes the first
+ * outputs available while the task is still running. Outputs whose name contains the [TOTAL_FILESNUMBER] placeholder, or outputs whose destination
+ * is not known to be a directory until the end of the task, are held and written when the task output is dispatched, as
+ * {@link DefaultMultipleOutputWriter} does. Outputs are committed before the task completes, if the task fails the outputs flushed so far are
+ * left in the destination directory.
+ * 
+ * @author Andrea Vacondio
+ */
+class StreamingMultipleOutputWriter implements MultipleOutputWriter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StreamingMultipleOutputWriter.class);
+
+    private final Map<String, PopulatedFileOutput> pending = new LinkedHashMap<>();
+    private final Set<String> names = new HashSet<>();
+    private final ExistingOutputPolicy existingOutputPolicy;
+    private final TaskExecutionContext executionContext;
+    private final File directory;
+
+    StreamingMultipleOutputWriter(ExistingOutputPolicy existingOutputPolicy, TaskExecutionContext executionContext,
+            TaskOutput output) {
+        this.existingOutputPolicy = defaultIfNull(existingOutputPolicy, ExistingOutputPolicy.FAIL);
+        this.executionContext = executionContext;
+        this.directory = streamingDirectory(output);
+    }
+
+    private static File streamingDirectory(TaskOutput output) {
+        if (output instanceof DirectoryTaskOutput) {
+            return output.getDestination();
+        }
+        if (output instanceof FileOrDirectoryTaskOutput && output.getDestination().isDirectory()) {
+            return output.getDestination();
+        }
+        return null;
+    }
+
+    @Override
+    public void addOutput(PopulatedFileOutput fileOutput) {
+        String name = fileOutput.getName();
+        if (!names.add(name)) {
+            // we already have a file with the same name, this shouldn't happen but could happen in split by text or bookmarks
+            String basename = getBaseName(name);
+            String extension = getExtension(name);
+            int count = 1;
+            name = format("%s(%d).%s", basename, count, extension);
+            while (!names.add(name) && count < 100) {
+                count++;
+                name = format("%s(%d).%s", basename, count, extension);
+            }
+        }
+        pending.put(name, fileOutput);
+    }
+
+    @Override
+    public void flush() throws TaskOutputVisitException, TaskBudgetExceededException {
+        executionContext.assertOutputsWithinBudget(names.size());
+        if (nonNull(directory)) {
+            Map<String, PopulatedFileOutput> ready = new LinkedHashMap<>();
+            Iterator<Entry<String, PopulatedFileOutput>> entries = pending.entrySet().iterator();
+            while (entries.hasNext()) {
+                Entry<String, PopulatedFileOutput> entry = entries.next();
+                if (!requiresTotalFilesNumber(entry.getKey())) {
+                    ready.put(entry.getKey(), entry.getValue());
+                    entries.remove();
+                }
+            }
+            if (!ready.isEmpty()) {
+                LOG.trace("Flushing {} outputs to {}", ready.size(), directory);
+                try {
+                    OutputWriterHelper.moveOutputsToDirectory(ready, names.size(), directory, existingOutputPolicy,
+                            executionContext);
+                } catch (IOException e) {
+                    throw new TaskOutputVisitException("Exception flushing the outputs to the destination directory.", e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void dispatch(FileTaskOutput output) throws IOException {
+        throw new IOException("Unsupported FileTaskOutput for a multiple output task.");
+    }
+
+    @Override
+    public void dispatch(DirectoryTaskOutput output) throws IOException {
+        OutputWriterHelper.assertOutputsWithinBudget(names.size(), executionContext);
+        OutputWriterHelper.moveOutputsToDirectory(pending, names.size(), output.getDestination(),
+                existingOutputPolicy, executionContext);
+        pending.clear();
+    }
+
+    @Override
+    public void dispatch(FileOrDirectoryTaskOutput output) throws IOException {
+        OutputWriterHelper.assertOutputsWithinBudget(names.size(), executionContext);
+        if (names.size() > 1 || output.getDestination().isDirectory()) {
+            OutputWriterHelper.moveOutputsToDirectory(pending, names.size(), output.getDestination(),
+                    existingOutputPolicy, executionContext);
+        } else {
+            OutputWriterHelper.moveToFile(OutputWriterHelper.toFiles(pending), output.getDestination(),
+                    existingOutputPolicy, executionContext);
+        }
+        pending.clear();
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.support.io;
+
+import static org.apache.commons.lang3.SystemUtils.JAVA_IO_TMPDIR;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.sejda.core.Sejda;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Deletes orphaned temporary files and directories, left behind by tasks that didn't get the chance to clean up after themselves (eg. the virtual
+ * machine crashed or was killed). Only files whose name starts with the temporary buffers prefix and that haven't been modified for longer than
+ * the configured max age are deleted. The max age in hours is set by the {@link Sejda#TMP_JANITOR_MAX_AGE_PROPERTY_NAME} system property, defaults
+ * to 24 and a value of 0 disables the janitor.
+ */
+public final class TemporaryFilesJanitor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TemporaryFilesJanitor.class);
+    private static final AtomicBoolean STARTED = new AtomicBoolean(false);
+    private static final long DEFAULT_MAX_AGE_HOURS = 24;
+
+    private TemporaryFilesJanitor() {
+        // hide
+    }
+
+    /**
+     * Asynchronously cleans the system temporary directory, only the first invocation in the lifetime of the virtual machine has effect.
+     */
+    public static void cleanOnce() {
+        long maxAgeHours = Long.getLong(Sejda.TMP_JANITOR_MAX_AGE_PROPERTY_NAME, DEFAULT_MAX_AGE_HOURS);
+        if (maxAgeHours > 0 && STARTED.compareAndSet(false, true)) {
+            new BasicThreadFactory.Builder().namingPattern("sejda-tmp-janitor-%d").daemon(true)
+                    .priority(Thread.MIN_PRIORITY).build()
+                    .newThread(() -> clean(Paths.get(JAVA_IO_TMPDIR), TimeUnit.HOURS.toMillis(maxAgeHours)))
+                    .start();
+        }
+    }
+
+    /**
+     * Deletes the temporary files and directories in the given directory that haven't been modified for longer than the given max age.
+     * 
+     * @param directory
+     * @param maxAgeMillis
+     * @return the number of deleted files and directories
+     */
+    public static int clean(Path directory, long maxAgeMillis) {
+        String prefix = System.getProperty(IOUtils.TMP_BUFFER_PREFIX_PROPERTY_NAME, IOUtils.BUFFER_NAME);
+        long threshold = System.currentTimeMillis() - maxAgeMillis;
+        int deleted = 0;
+        try (DirectoryStream<Path> candidates = Files.newDirectoryStream(directory,
+                p -> isTemporary(p, prefix) && p.toFile().lastModified() < threshold)) {
+            for (Path candidate : candidates) {
+                File file = candidate.toFile();
+                if (FileUtils.deleteQuietly(file)) {
+                    LOG.trace("Deleted orphaned temporary file {}", file);
+                    deleted++;
+                } else {
+                    LOG.debug("Unable to delete orphaned temporary file {}", file);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Unable to clean orphaned temporary files in " + directory, e);
+        }
+        if (deleted > 0) {
+            LOG.info("Deleted {} orphaned temporary files from {}", deleted, directory);
+        }
+        return deleted;
+    }
+
+    private static boolean isTemporary(Path path, String prefix) {
+        String name = path.getFileName().toString();
+        return name.startsWith(prefix) || name.startsWith("." + prefix);
+    }
+}
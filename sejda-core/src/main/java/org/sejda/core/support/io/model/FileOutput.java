@@ -22,6 +22,8 @@ package org.sejda.core.support.io.model;
 
 import java.io.File;
 
+import org.sejda.core.support.io.buffer.SpillableBuffer;
+
 /**
  * Holds informations about an output file generated by a task. When fully populated holds a reference to the temporary file created by the task and information about the new name
  * for the temporary file. Usage:
@@ -38,12 +40,17 @@ import java.io.File;
 public final class FileOutput implements OngoingFileOuputCreation, PopulatedFileOutput {
 
     private File file;
+    private SpillableBuffer buffer;
     private String name;
 
     private FileOutput(File file) {
         this.file = file;
     }
 
+    private FileOutput(SpillableBuffer buffer) {
+        this.buffer = buffer;
+    }
+
     /**
      * Entry point to populate the {@link FileOutput}
      * 
@@ -54,11 +61,26 @@ public final class FileOutput implements OngoingFileOuputCreation, PopulatedFile
         return new FileOutput(file);
     }
 
+    /**
+     * Entry point to populate the {@link FileOutput} for an output held in a {@link SpillableBuffer}
+     * 
+     * @param buffer
+     * @return the not fully populated instance
+     */
+    public static OngoingFileOuputCreation buffer(SpillableBuffer buffer) {
+        return new FileOutput(buffer);
+    }
+
     @Override
     public File getFile() {
         return file;
     }
 
+    @Override
+    public SpillableBuffer getBuffer() {
+        return buffer;
+    }
+
     @Override
     public String getName() {
         return name;
@@ -22,6 +22,8 @@ package org.sejda.core.support.io.model;
 
 import java.io.File;
 
+import org.sejda.core.support.io.buffer.SpillableBuffer;
+
 /**
  * DSL interface used to expose getters for the fully populated {@link FileOutput}
  * 
@@ -32,10 +34,15 @@ import java.io.File;
 public interface PopulatedFileOutput {
 
     /**
-     * @return the temporary file
+     * @return the temporary file or null if the output is held in a {@link SpillableBuffer}
      */
     File getFile();
 
+    /**
+     * @return the buffer holding the output or null if the output is a temporary file
+     */
+    SpillableBuffer getBuffer();
+
     /**
      * @return the new name
      */
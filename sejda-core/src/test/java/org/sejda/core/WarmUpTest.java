@@ -0,0 +1,49 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core;
+
+import static org.hamcrest.Matchers.contains;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class WarmUpTest {
+
+    @Before
+    public void setUp() {
+        System.setProperty(Sejda.USER_CONFIG_FILE_PROPERTY_NAME, "sejda-test.xml");
+    }
+
+    @Test
+    public void warmUp() {
+        WarmUpReport report = Sejda.warmUp();
+        assertTrue(report.isSuccessful());
+        assertThat(report.getStages().keySet(), contains("configuration", "validation", "fonts", "imageio"));
+        assertTrue(report.getElapsedTime() >= 0);
+    }
+
+    @Test
+    public void warmUpInBackground() throws Exception {
+        assertTrue(Sejda.warmUpInBackground().get(1, TimeUnit.MINUTES).isSuccessful());
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.context;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.sejda.model.parameter.base.TaskParameters;
+import org.sejda.model.task.BaseTask;
+import org.sejda.model.task.ChildTestTaskParameter;
+import org.sejda.model.task.TestTask;
+import org.sejda.model.task.TestTaskParameter;
+
+public class DefaultTasksRegistryTest {
+
+    private DefaultTasksRegistry victim;
+
+    @Before
+    public void setUp() {
+        victim = new DefaultTasksRegistry();
+        victim.addTask(TestTaskParameter.class, TestTask.class);
+    }
+
+    @Test
+    public void exactMatch() {
+        assertEquals(TestTask.class, victim.getTask(TestTaskParameter.class));
+        assertEquals(TestTask.class, victim.getTask(TestTaskParameter.class));
+    }
+
+    @Test
+    public void assignableMatch() {
+        assertEquals(TestTask.class, victim.getTask(ChildTestTaskParameter.class));
+        assertEquals(TestTask.class, victim.getTask(ChildTestTaskParameter.class));
+    }
+
+    @Test
+    public void noMatch() {
+        assertNull(victim.getTask(TaskParameters.class));
+        assertNull(victim.getTask(TaskParameters.class));
+    }
+
+    @Test
+    public void addingTaskInvalidatesCachedLookups() {
+        assertEquals(TestTask.class, victim.getTask(ChildTestTaskParameter.class));
+        victim.addTask(ChildTestTaskParameter.class, ChildTestTask.class);
+        assertEquals(ChildTestTask.class, victim.getTask(ChildTestTaskParameter.class));
+    }
+
+    public static class ChildTestTask extends BaseTask<ChildTestTaskParameter> {
+        @Override
+        public void execute(ChildTestTaskParameter parameters) {
+            // nothing
+        }
+
+        @Override
+        public void after() {
+            // nothing
+        }
+    }
+}
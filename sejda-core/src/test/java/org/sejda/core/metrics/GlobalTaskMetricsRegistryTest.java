@@ -0,0 +1,79 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.metrics;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sejda.model.task.NotifiableTaskMetadata;
+import org.sejda.model.task.TaskMetrics;
+
+public class GlobalTaskMetricsRegistryTest {
+
+    private TaskMetricsRegistry first;
+    private TaskMetricsRegistry second;
+
+    @Before
+    public void setUp() {
+        first = mock(TaskMetricsRegistry.class);
+        second = mock(TaskMetricsRegistry.class);
+        GlobalTaskMetricsRegistry.getInstance().add(first);
+        GlobalTaskMetricsRegistry.getInstance().add(second);
+    }
+
+    @After
+    public void tearDown() {
+        GlobalTaskMetricsRegistry.getInstance().remove(first);
+        GlobalTaskMetricsRegistry.getInstance().remove(second);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void nullRegistry() {
+        GlobalTaskMetricsRegistry.getInstance().add(null);
+    }
+
+    @Test
+    public void record() {
+        TaskMetrics metrics = new TaskMetrics();
+        GlobalTaskMetricsRegistry.getInstance().record(NotifiableTaskMetadata.NULL, metrics);
+        verify(first).record(NotifiableTaskMetadata.NULL, metrics);
+        verify(second).record(NotifiableTaskMetadata.NULL, metrics);
+    }
+
+    @Test
+    public void failingRegistry() {
+        TaskMetrics metrics = new TaskMetrics();
+        doThrow(IllegalStateException.class).when(first).record(any(), any());
+        GlobalTaskMetricsRegistry.getInstance().record(NotifiableTaskMetadata.NULL, metrics);
+        verify(second).record(NotifiableTaskMetadata.NULL, metrics);
+    }
+
+    @Test
+    public void removed() {
+        GlobalTaskMetricsRegistry.getInstance().remove(first);
+        GlobalTaskMetricsRegistry.getInstance().record(NotifiableTaskMetadata.NULL, new TaskMetrics());
+        verify(first, never()).record(any(), any());
+    }
+}
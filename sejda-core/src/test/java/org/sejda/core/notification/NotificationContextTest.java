@@ -105,6 +105,17 @@ public class NotificationContextTest {
         victim.notifyListeners(event);
         assertTrue(listener.isUndeterminate());
     }
+    @Test
+    public void testHasListeners() {
+        for (NotificationContext victim : contexts) {
+            victim.clearListeners();
+            assertFalse(victim.hasListeners(PercentageOfWorkDoneChangedEvent.class));
+            victim.addListener(newPercentageListener());
+            assertTrue(victim.hasListeners(PercentageOfWorkDoneChangedEvent.class));
+            assertFalse(victim.hasListeners(TaskExecutionFailedEvent.class));
+            victim.clearListeners();
+        }
+    }
 
     private void testNotificationContextAddListener(NotificationContext victim) {
         victim.addListener(newStartListener());
@@ -0,0 +1,79 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.notification.context;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+
+import org.junit.Test;
+import org.sejda.core.TestListenerFactory;
+import org.sejda.core.TestListenerFactory.TestListenerPercentage;
+import org.sejda.model.notification.EventListener;
+import org.sejda.model.notification.event.AbstractNotificationEvent;
+import org.sejda.model.notification.event.PercentageOfWorkDoneChangedEvent;
+import org.sejda.model.notification.event.TaskExecutionStartedEvent;
+import org.sejda.model.task.NotifiableTaskMetadata;
+
+public class SimpleEventListenerHoldingStrategyTest {
+
+    private SimpleEventListenerHoldingStrategy victim = new SimpleEventListenerHoldingStrategy();
+    private PercentageOfWorkDoneChangedEvent event = new PercentageOfWorkDoneChangedEvent(BigDecimal.ONE,
+            NotifiableTaskMetadata.NULL);
+
+    @Test
+    public void empty() {
+        assertEquals(0, victim.size());
+        assertTrue(victim.get(event).isEmpty());
+        assertFalse(victim.hasListeners(PercentageOfWorkDoneChangedEvent.class));
+    }
+
+    @Test
+    public void addAndRemove() {
+        TestListenerPercentage listener = TestListenerFactory.newPercentageListener();
+        victim.add(listener);
+        victim.add(TaskExecutionStartedEvent.class, TestListenerFactory.newStartListener());
+        assertEquals(2, victim.size());
+        assertEquals(1, victim.get(event).size());
+        assertTrue(victim.hasListeners(PercentageOfWorkDoneChangedEvent.class));
+        assertTrue(victim.remove(listener));
+        assertFalse(victim.remove(listener));
+        assertEquals(1, victim.size());
+        assertFalse(victim.hasListeners(PercentageOfWorkDoneChangedEvent.class));
+        victim.clear();
+        assertEquals(0, victim.size());
+    }
+
+    @Test
+    public void addWhileIterating() {
+        victim.add(PercentageOfWorkDoneChangedEvent.class, TestListenerFactory.newPercentageListener());
+        for (EventListener<? extends AbstractNotificationEvent> listener : victim.get(event)) {
+            victim.add(PercentageOfWorkDoneChangedEvent.class, TestListenerFactory.newPercentageListener());
+        }
+        assertEquals(2, victim.size());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void unmodifiable() {
+        victim.add(PercentageOfWorkDoneChangedEvent.class, TestListenerFactory.newPercentageListener());
+        victim.get(event).clear();
+    }
+}
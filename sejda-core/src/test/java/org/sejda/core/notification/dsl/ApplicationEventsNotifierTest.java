@@ -0,0 +1,81 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.notification.dsl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.sejda.core.notification.dsl.ApplicationEventsNotifier.notifyEvent;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sejda.core.Sejda;
+import org.sejda.core.notification.context.ThreadLocalNotificationContext;
+import org.sejda.model.notification.event.PercentageOfWorkDoneChangedEvent;
+import org.sejda.model.task.NotifiableTaskMetadata;
+import org.sejda.model.task.TestTask;
+
+public class ApplicationEventsNotifierTest {
+
+    private List<PercentageOfWorkDoneChangedEvent> received = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        System.setProperty(Sejda.USER_CONFIG_FILE_PROPERTY_NAME, "sejda-test.xml");
+    }
+
+    @After
+    public void tearDown() {
+        ThreadLocalNotificationContext.getContext().clearListeners();
+    }
+
+    @Test
+    public void progressCoalesced() {
+        ThreadLocalNotificationContext.getContext().addListener(PercentageOfWorkDoneChangedEvent.class,
+                received::add);
+        NotifiableTaskMetadata taskMetadata = new NotifiableTaskMetadata(new TestTask());
+        for (int i = 1; i <= 10000; i++) {
+            notifyEvent(taskMetadata).stepsCompleted(i).outOf(10000);
+        }
+        assertTrue(received.size() < 10000);
+        assertEquals(new BigDecimal(100), received.get(received.size() - 1).getPercentage());
+    }
+
+    @Test
+    public void progressNotCoalescedForNullMetadata() {
+        ThreadLocalNotificationContext.getContext().addListener(PercentageOfWorkDoneChangedEvent.class,
+                received::add);
+        for (int i = 1; i <= 10; i++) {
+            notifyEvent(NotifiableTaskMetadata.NULL).stepsCompleted(i).outOf(10);
+        }
+        assertEquals(10, received.size());
+    }
+
+    @Test
+    public void stepsCompletedBigDecimal() {
+        ThreadLocalNotificationContext.getContext().addListener(PercentageOfWorkDoneChangedEvent.class,
+                received::add);
+        notifyEvent(NotifiableTaskMetadata.NULL).stepsCompleted(new BigDecimal("1")).outOf(new BigDecimal("4"));
+        assertEquals(new BigDecimal(25), received.get(0).getPercentage());
+    }
+}
@@ -20,16 +20,26 @@
  */
 package org.sejda.core.notification.strategy;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
 import org.junit.Test;
 import org.sejda.model.notification.EventListener;
 import org.sejda.model.notification.event.AbstractNotificationEvent;
+import org.sejda.model.notification.event.PercentageOfWorkDoneChangedEvent;
 import org.sejda.model.notification.event.TaskExecutionCompletedEvent;
 import org.sejda.model.task.NotifiableTaskMetadata;
+import org.sejda.model.task.TestTask;
 /**
  * Test unit for {@link AsyncNotificationStrategy}
  * 
@@ -50,4 +60,22 @@ public class AsyncNotificationStrategyTest {
         Thread.sleep(1000);
         verify(listener, times(1)).onEvent(any(AbstractNotificationEvent.class));
     }
+
+    @Test
+    public void orderedPerTask() throws InterruptedException {
+        NotifiableTaskMetadata taskMetadata = new NotifiableTaskMetadata(new TestTask());
+        CountDownLatch latch = new CountDownLatch(100);
+        List<BigDecimal> received = new CopyOnWriteArrayList<>();
+        EventListener<PercentageOfWorkDoneChangedEvent> listener = e -> {
+            received.add(e.getPercentage());
+            latch.countDown();
+        };
+        for (int i = 0; i < 100; i++) {
+            victim.notifyListener(listener, new PercentageOfWorkDoneChangedEvent(new BigDecimal(i), taskMetadata));
+        }
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 100; i++) {
+            assertEquals(new BigDecimal(i), received.get(i));
+        }
+    }
 }
@@ -0,0 +1,222 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.notification.strategy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+import org.sejda.core.notification.strategy.NotificationDispatcher.OverflowPolicy;
+import org.sejda.model.notification.EventListener;
+import org.sejda.model.notification.event.AbstractNotificationEvent;
+import org.sejda.model.notification.event.PercentageOfWorkDoneChangedEvent;
+import org.sejda.model.notification.event.TaskExecutionCompletedEvent;
+import org.sejda.model.task.NotifiableTaskMetadata;
+import org.sejda.model.task.TestTask;
+
+public class NotificationDispatcherTest {
+
+    private NotifiableTaskMetadata taskMetadata = new NotifiableTaskMetadata(new TestTask());
+    private CountDownLatch started = new CountDownLatch(1);
+    private CountDownLatch release = new CountDownLatch(1);
+    private List<AbstractNotificationEvent> received = new CopyOnWriteArrayList<>();
+    private NotificationDispatcher victim;
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        if (victim != null) {
+            victim.close();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidCapacity() {
+        new NotificationDispatcher(1, 0, OverflowPolicy.BLOCK);
+    }
+
+    @Test
+    public void blockKeepsEverything() throws InterruptedException {
+        victim = new NotificationDispatcher(1, 2, OverflowPolicy.BLOCK);
+        CountDownLatch done = new CountDownLatch(20);
+        EventListener<PercentageOfWorkDoneChangedEvent> listener = e -> {
+            received.add(e);
+            done.countDown();
+        };
+        for (int i = 0; i < 20; i++) {
+            victim.dispatch(listener, progress(i));
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 20; i++) {
+            assertEquals(new BigDecimal(i), ((PercentageOfWorkDoneChangedEvent) received.get(i)).getPercentage());
+        }
+        assertEquals(0, victim.getDropped());
+    }
+
+    @Test
+    public void drop() throws InterruptedException {
+        victim = new NotificationDispatcher(1, 2, OverflowPolicy.DROP);
+        EventListener<AbstractNotificationEvent> listener = blockingListener();
+        victim.dispatch(listener, progress(0));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        victim.dispatch(listener, progress(1));
+        victim.dispatch(listener, progress(2));
+        victim.dispatch(listener, progress(3));
+        assertEquals(1, victim.getDropped());
+    }
+
+    @Test
+    public void dropKeepsTerminalEvents() throws InterruptedException {
+        victim = new NotificationDispatcher(1, 2, OverflowPolicy.DROP);
+        CountDownLatch done = new CountDownLatch(1);
+        EventListener<AbstractNotificationEvent> listener = e -> {
+            started.countDown();
+            await(release);
+            if (e instanceof TaskExecutionCompletedEvent) {
+                done.countDown();
+            }
+        };
+        victim.dispatch(listener, progress(0));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        victim.dispatch(listener, progress(1));
+        victim.dispatch(listener, progress(2));
+        victim.dispatch(listener, new TaskExecutionCompletedEvent(1, taskMetadata));
+        victim.dispatch(listener, progress(3));
+        release.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(1, victim.getDropped());
+    }
+
+    @Test
+    public void closeReleasesBlockedNotifiers() throws InterruptedException {
+        victim = new NotificationDispatcher(1, 1, OverflowPolicy.BLOCK);
+        EventListener<AbstractNotificationEvent> listener = blockingListener();
+        victim.dispatch(listener, progress(0));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        victim.dispatch(listener, progress(1));
+        CountDownLatch done = new CountDownLatch(1);
+        Thread notifier = new Thread(() -> victim.dispatch(e -> done.countDown(), progress(2)));
+        notifier.start();
+        victim.close();
+        notifier.join(5000);
+        assertFalse(notifier.isAlive());
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void dispatchOnTheNotifyingThreadOnceClosed() {
+        victim = new NotificationDispatcher(1, 2, OverflowPolicy.BLOCK);
+        victim.close();
+        victim.dispatch(e -> received.add(e), progress(0));
+        assertEquals(1, received.size());
+    }
+
+    @Test
+    public void coalesce() throws InterruptedException {
+        victim = new NotificationDispatcher(1, 2, OverflowPolicy.COALESCE);
+        CountDownLatch done = new CountDownLatch(3);
+        EventListener<AbstractNotificationEvent> listener = e -> {
+            started.countDown();
+            await(release);
+            received.add(e);
+            done.countDown();
+        };
+        victim.dispatch(listener, progress(0));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        victim.dispatch(listener, progress(1));
+        victim.dispatch(listener, new TaskExecutionCompletedEvent(1, taskMetadata));
+        victim.dispatch(listener, progress(2));
+        release.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(1, victim.getDropped());
+        assertEquals(new BigDecimal(0), ((PercentageOfWorkDoneChangedEvent) received.get(0)).getPercentage());
+        assertTrue(received.get(1) instanceof TaskExecutionCompletedEvent);
+        assertEquals(new BigDecimal(2), ((PercentageOfWorkDoneChangedEvent) received.get(2)).getPercentage());
+    }
+
+    @Test
+    public void failingListenerDoesntStopTheLane() throws InterruptedException {
+        victim = new NotificationDispatcher(1, 2, OverflowPolicy.BLOCK);
+        CountDownLatch done = new CountDownLatch(1);
+        victim.dispatch(e -> {
+            throw new IllegalStateException();
+        }, progress(0));
+        victim.dispatch(e -> done.countDown(), progress(1));
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void listenerErrorDoesntStopTheLane() throws InterruptedException {
+        victim = new NotificationDispatcher(1, 2, OverflowPolicy.BLOCK);
+        CountDownLatch done = new CountDownLatch(1);
+        victim.dispatch(e -> {
+            throw new AssertionError();
+        }, progress(0));
+        victim.dispatch(e -> done.countDown(), progress(1));
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void lanesNotifyingEachOtherDontBlock() throws InterruptedException {
+        victim = new NotificationDispatcher(2, 1, OverflowPolicy.BLOCK);
+        NotifiableTaskMetadata otherLaneTask = new NotifiableTaskMetadata(new TestTask());
+        while (Math.floorMod(otherLaneTask.getTaskIdentifier().hashCode(), 2) == Math
+                .floorMod(taskMetadata.getTaskIdentifier().hashCode(), 2)) {
+            otherLaneTask = new NotifiableTaskMetadata(new TestTask());
+        }
+        EventListener<AbstractNotificationEvent> listener = blockingListener();
+        victim.dispatch(listener, progress(0));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        // the lane is busy and its queue is full
+        victim.dispatch(listener, progress(1));
+        CountDownLatch done = new CountDownLatch(1);
+        victim.dispatch(e -> {
+            victim.dispatch(listener, progress(2));
+            done.countDown();
+        }, new PercentageOfWorkDoneChangedEvent(BigDecimal.ONE, otherLaneTask));
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+
+    private EventListener<AbstractNotificationEvent> blockingListener() {
+        return e -> {
+            started.countDown();
+            await(release);
+        };
+    }
+
+    private PercentageOfWorkDoneChangedEvent progress(int percentage) {
+        return new PercentageOfWorkDoneChangedEvent(new BigDecimal(percentage), taskMetadata);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.service;
+
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sejda.core.Sejda;
+import org.sejda.core.support.io.IOUtils;
+import org.sejda.model.exception.InvalidTaskParametersException;
+import org.sejda.model.exception.TaskCancelledException;
+import org.sejda.model.exception.TaskException;
+import org.sejda.model.output.FileTaskOutput;
+import org.sejda.model.pdf.PdfVersion;
+import org.sejda.model.task.CancellationToken;
+import org.sejda.model.task.TestTaskParameter;
+
+public class ConcurrentTaskExecutionServiceTest {
+
+    private ConcurrentTaskExecutionService victim;
+
+    @Before
+    public void setUp() {
+        System.setProperty(Sejda.USER_CONFIG_FILE_PROPERTY_NAME, "sejda-test.xml");
+        victim = new ConcurrentTaskExecutionService(4);
+    }
+
+    @After
+    public void tearDown() {
+        victim.close();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidPoolSize() {
+        new ConcurrentTaskExecutionService(0);
+    }
+
+    @Test
+    public void executeAll() throws TaskException {
+        List<TestTaskParameter> batch = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            batch.add(validParameters());
+        }
+        BatchExecutionSummary summary = victim.executeAll(batch);
+        assertEquals(10, summary.getTasks());
+        assertEquals(10, summary.getCompleted());
+        assertEquals(0, summary.getFailed());
+        assertTrue(summary.getThroughput() > 0);
+    }
+
+    @Test
+    public void executeAllWithFailures() throws TaskException {
+        List<TestTaskParameter> batch = new ArrayList<>();
+        batch.add(validParameters());
+        TestTaskParameter invalid = validParameters();
+        invalid.setVersion(PdfVersion.VERSION_1_4);
+        invalid.setCompress(true);
+        batch.add(invalid);
+        BatchExecutionSummary summary = victim.executeAll(batch);
+        assertEquals(2, summary.getTasks());
+        assertEquals(1, summary.getCompleted());
+        assertEquals(1, summary.getFailed());
+    }
+
+    @Test
+    public void submit() throws Exception {
+        TaskExecutionResult result = victim.submit(validParameters()).get();
+        assertFalse(result.isFailed());
+        assertNotNull(result.getTaskIdentifier());
+        assertTrue(result.getExecutionTime() >= 0);
+        assertTrue(result.getWarnings().isEmpty());
+    }
+
+    @Test
+    public void submitFailing() throws Exception {
+        TestTaskParameter invalid = validParameters();
+        invalid.setVersion(PdfVersion.VERSION_1_4);
+        invalid.setCompress(true);
+        try {
+            victim.submit(invalid).get();
+            fail("Exception expected");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause(), instanceOf(InvalidTaskParametersException.class));
+        }
+    }
+
+    @Test
+    public void submitTimedOut() throws Exception {
+        try {
+            victim.submit(validParameters(), 0, TimeUnit.MILLISECONDS).get();
+            fail("Exception expected");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause(), instanceOf(TaskCancelledException.class));
+            assertTrue(((TaskCancelledException) e.getCause()).isTimedOut());
+        }
+    }
+
+    @Test
+    public void cancellingTheFutureCancelsTheToken() throws Exception {
+        CancellationToken token = new CancellationToken();
+        victim.submit(validParameters(), token).cancel(true);
+        assertTrue(token.isCancelled());
+    }
+
+    @Test
+    public void threadPerTask() throws TaskException {
+        try (ConcurrentTaskExecutionService threadPerTask = ConcurrentTaskExecutionService.newThreadPerTaskInstance()) {
+            List<TestTaskParameter> batch = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                batch.add(validParameters());
+            }
+            assertEquals(10, threadPerTask.executeAll(batch).getCompleted());
+        }
+    }
+
+    @Test
+    public void executeAllWithAdmissionControl() throws TaskException {
+        MemoryAdmissionController admission = new MemoryAdmissionController(100, p -> 60);
+        try (ConcurrentTaskExecutionService admitting = new ConcurrentTaskExecutionService(4, admission)) {
+            List<TestTaskParameter> batch = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                batch.add(validParameters());
+            }
+            assertEquals(10, admitting.executeAll(batch).getCompleted());
+        }
+        assertEquals(100, admission.getAvailable());
+    }
+
+    @Test
+    public void executeAllEmpty() {
+        BatchExecutionSummary summary = victim.executeAll(new ArrayList<TestTaskParameter>());
+        assertEquals(0, summary.getTasks());
+    }
+
+    private static TestTaskParameter validParameters() throws TaskException {
+        TestTaskParameter parameters = new TestTaskParameter();
+        parameters.setOutput(new FileTaskOutput(IOUtils.createTemporaryBuffer()));
+        return parameters;
+    }
+}
@@ -20,6 +20,10 @@
  */
 package org.sejda.core.service;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -29,22 +33,33 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.sejda.TestUtils;
 import org.sejda.core.Sejda;
 import org.sejda.core.TestListenerFactory;
+import org.sejda.core.TestListenerFactory.TestListenerAny;
+import org.sejda.core.TestListenerFactory.TestListenerFailed;
 import org.sejda.core.TestListenerFactory.TestListenerStart;
 import org.sejda.core.context.DefaultSejdaContext;
 import org.sejda.core.context.SejdaContext;
+import org.sejda.core.metrics.GlobalTaskMetricsRegistry;
+import org.sejda.core.metrics.TaskMetricsRegistry;
 import org.sejda.core.notification.context.GlobalNotificationContext;
 import org.sejda.core.support.io.IOUtils;
+import org.sejda.model.exception.TaskCancelledException;
 import org.sejda.model.exception.TaskException;
 import org.sejda.model.exception.TaskExecutionException;
+import org.sejda.model.notification.event.TaskExecutionCancelledEvent;
+import org.sejda.model.notification.event.TaskExecutionCompletedEvent;
 import org.sejda.model.output.FileTaskOutput;
 import org.sejda.model.output.SingleTaskOutput;
 import org.sejda.model.parameter.base.TaskParameters;
 import org.sejda.model.pdf.PdfVersion;
+import org.sejda.model.task.CancellationToken;
 import org.sejda.model.task.Task;
 import org.sejda.model.task.TaskExecutionContext;
 import org.sejda.model.task.TestTaskParameter;
@@ -102,4 +117,71 @@ public class DefaultTaskExecutionServiceTest {
         verify(task, never()).execute(parameters);
     }
 
+    @Test
+    public void cancelledBeforeExecution() throws TaskException {
+        TestListenerAny<TaskExecutionCancelledEvent> cancelled = TestListenerFactory.newGeneralListener();
+        TestListenerFailed failed = TestListenerFactory.newFailedListener();
+        GlobalNotificationContext.getContext().addListener(TaskExecutionCancelledEvent.class, cancelled);
+        GlobalNotificationContext.getContext().addListener(failed);
+        TestUtils.setProperty(victim, "context", context);
+        CancellationToken token = new CancellationToken();
+        token.cancel();
+        TaskExecutionResult result = victim.executeTask(parameters, token);
+        assertTrue(result.isFailed());
+        assertTrue(result.getFailingCause() instanceof TaskCancelledException);
+        assertTrue(cancelled.hasListened());
+        assertFalse(failed.isFailed());
+        verify(task).before(eq(parameters), any());
+        verify(task).after();
+        verify(task, never()).execute(parameters);
+        GlobalNotificationContext.getContext().clearListeners();
+    }
+
+    @Test
+    public void cancelledWhileWaitingForAdmission() throws Exception {
+        TestListenerAny<TaskExecutionCancelledEvent> cancelled = TestListenerFactory.newGeneralListener();
+        GlobalNotificationContext.getContext().addListener(TaskExecutionCancelledEvent.class, cancelled);
+        TestUtils.setProperty(victim, "context", context);
+        MemoryAdmissionController admission = new MemoryAdmissionController(100, p -> 10);
+        admission.acquire(100);
+        CancellationToken token = new CancellationToken();
+        token.cancel();
+        TaskExecutionResult result = victim.executeTask(parameters, token, admission);
+        assertTrue(result.getFailingCause() instanceof TaskCancelledException);
+        assertNotNull(result.getTaskIdentifier());
+        assertTrue(cancelled.hasListened());
+        assertEquals(0, admission.getQueued());
+        assertEquals(0, admission.getAvailable());
+        verify(task, never()).before(eq(parameters), any());
+        verify(task, never()).execute(parameters);
+        GlobalNotificationContext.getContext().clearListeners();
+    }
+
+    @Test
+    public void cancelledDuringExecution() throws TaskException {
+        doThrow(new TaskCancelledException("Timeout", true)).when(task).execute(any(TaskParameters.class));
+        TestUtils.setProperty(victim, "context", context);
+        TaskExecutionResult result = victim.executeTask(parameters, new CancellationToken());
+        assertTrue(((TaskCancelledException) result.getFailingCause()).isTimedOut());
+        verify(task).after();
+    }
+
+    @Test
+    public void completedWithMetrics() throws TaskException {
+        List<TaskExecutionCompletedEvent> completed = new ArrayList<>();
+        GlobalNotificationContext.getContext().addListener(TaskExecutionCompletedEvent.class, completed::add);
+        TaskMetricsRegistry registry = mock(TaskMetricsRegistry.class);
+        GlobalTaskMetricsRegistry.getInstance().add(registry);
+        TestUtils.setProperty(victim, "context", context);
+        try {
+            TaskExecutionResult result = victim.executeTask(parameters, new CancellationToken());
+            assertNotNull(result.getMetrics());
+            assertEquals(1, completed.size());
+            assertSame(result.getMetrics(), completed.get(0).getMetrics());
+            verify(registry).record(any(), eq(result.getMetrics()));
+        } finally {
+            GlobalTaskMetricsRegistry.getInstance().remove(registry);
+            GlobalNotificationContext.getContext().clearListeners();
+        }
+    }
 }
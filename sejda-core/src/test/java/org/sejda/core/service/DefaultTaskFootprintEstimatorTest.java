@@ -0,0 +1,83 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sejda.model.image.ImageColorType;
+import org.sejda.model.input.PdfFileSource;
+import org.sejda.model.input.PdfMergeInput;
+import org.sejda.model.input.PdfStreamSource;
+import org.sejda.model.parameter.MergeParameters;
+import org.sejda.model.parameter.image.PdfToPngParameters;
+import org.sejda.model.task.TestTaskParameter;
+
+public class DefaultTaskFootprintEstimatorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private DefaultTaskFootprintEstimator victim = new DefaultTaskFootprintEstimator();
+
+    @Test
+    public void noSources() {
+        assertEquals(DefaultTaskFootprintEstimator.TASK_OVERHEAD, victim.estimate(new TestTaskParameter()));
+    }
+
+    @Test
+    public void mergeSourcesAddUp() throws IOException {
+        MergeParameters parameters = new MergeParameters();
+        parameters.addInput(new PdfMergeInput(PdfFileSource.newInstanceNoPassword(pdf("one.pdf", 1000))));
+        parameters.addInput(new PdfMergeInput(PdfFileSource.newInstanceNoPassword(pdf("two.pdf", 2000))));
+        parameters.addInput(new PdfMergeInput(
+                PdfStreamSource.newInstanceNoPassword(new ByteArrayInputStream(new byte[0]), "three.pdf")));
+        assertEquals(DefaultTaskFootprintEstimator.TASK_OVERHEAD
+                + (3000 + DefaultTaskFootprintEstimator.UNKNOWN_SOURCE_SIZE)
+                        * DefaultTaskFootprintEstimator.PARSED_DOCUMENT_FACTOR,
+                victim.estimate(parameters));
+    }
+
+    @Test
+    public void higherResolutionRendersNeedMoreMemory() throws IOException {
+        PdfToPngParameters low = new PdfToPngParameters(ImageColorType.COLOR_RGB);
+        low.addSource(PdfFileSource.newInstanceNoPassword(pdf("low.pdf", 1000)));
+        low.setResolutionInDpi(72);
+        PdfToPngParameters high = new PdfToPngParameters(ImageColorType.COLOR_RGB);
+        high.addSource(PdfFileSource.newInstanceNoPassword(pdf("high.pdf", 1000)));
+        high.setResolutionInDpi(300);
+        long lowEstimate = victim.estimate(low);
+        assertTrue(lowEstimate > DefaultTaskFootprintEstimator.TASK_OVERHEAD + 3000);
+        assertTrue(victim.estimate(high) > lowEstimate);
+    }
+
+    private File pdf(String name, int size) throws IOException {
+        File file = folder.newFile(name);
+        Files.write(file.toPath(), new byte[size]);
+        return file;
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.sejda.model.exception.TaskCancelledException;
+import org.sejda.model.parameter.base.TaskParameters;
+import org.sejda.model.task.CancellationToken;
+
+public class MemoryAdmissionControllerTest {
+
+    private MemoryAdmissionController victim = new MemoryAdmissionController(100, p -> 40);
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidBudget() {
+        new MemoryAdmissionController(0, p -> 0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void nullEstimator() {
+        new MemoryAdmissionController(10, null);
+    }
+
+    @Test
+    public void admit() throws InterruptedException {
+        assertEquals(40, victim.admit(mock(TaskParameters.class)));
+        assertEquals(60, victim.getAvailable());
+        victim.release(40);
+        assertEquals(100, victim.getAvailable());
+    }
+
+    @Test
+    public void largerThanBudgetIsCapped() throws InterruptedException {
+        assertEquals(100, victim.acquire(500));
+        assertEquals(0, victim.getAvailable());
+        victim.release(100);
+        assertEquals(0, victim.acquire(-1));
+    }
+
+    @Test
+    public void queuesUntilReleased() throws InterruptedException {
+        victim.acquire(80);
+        CountDownLatch admitted = new CountDownLatch(1);
+        Thread waiting = new Thread(() -> {
+            try {
+                victim.acquire(30);
+                admitted.countDown();
+            } catch (InterruptedException e) {
+                // nothing
+            }
+        });
+        waiting.start();
+        assertFalse(admitted.await(200, TimeUnit.MILLISECONDS));
+        assertEquals(1, victim.getQueued());
+        victim.release(80);
+        assertTrue(admitted.await(5, TimeUnit.SECONDS));
+        assertEquals(70, victim.getAvailable());
+        assertEquals(0, victim.getQueued());
+    }
+
+    @Test
+    public void admittedInArrivalOrder() throws InterruptedException {
+        victim.acquire(50);
+        CountDownLatch largeAdmitted = new CountDownLatch(1);
+        CountDownLatch smallAdmitted = new CountDownLatch(1);
+        Thread large = new Thread(() -> {
+            try {
+                victim.acquire(90);
+                largeAdmitted.countDown();
+            } catch (InterruptedException e) {
+                // nothing
+            }
+        });
+        large.start();
+        while (victim.getQueued() < 1) {
+            Thread.sleep(10);
+        }
+        Thread small = new Thread(() -> {
+            try {
+                victim.acquire(10);
+                smallAdmitted.countDown();
+            } catch (InterruptedException e) {
+                // nothing
+            }
+        });
+        small.start();
+        // the small one would fit but it's behind the large one
+        assertFalse(smallAdmitted.await(200, TimeUnit.MILLISECONDS));
+        victim.release(50);
+        assertTrue(largeAdmitted.await(5, TimeUnit.SECONDS));
+        victim.release(90);
+        assertTrue(smallAdmitted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void interruptedWhileQueued() throws InterruptedException {
+        victim.acquire(100);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        Thread waiting = new Thread(() -> {
+            try {
+                victim.acquire(10);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        });
+        waiting.start();
+        while (victim.getQueued() < 1) {
+            Thread.sleep(10);
+        }
+        waiting.interrupt();
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        assertEquals(0, victim.getQueued());
+    }
+
+    @Test
+    public void cancelledWhileQueued() throws InterruptedException {
+        victim.acquire(100);
+        CancellationToken token = new CancellationToken();
+        CountDownLatch cancelled = new CountDownLatch(1);
+        Thread waiting = new Thread(() -> {
+            try {
+                victim.acquire(10, token);
+            } catch (TaskCancelledException e) {
+                cancelled.countDown();
+            } catch (InterruptedException e) {
+                // nothing
+            }
+        });
+        waiting.start();
+        while (victim.getQueued() < 1) {
+            Thread.sleep(10);
+        }
+        token.cancel();
+        assertTrue(cancelled.await(5, TimeUnit.SECONDS));
+        assertEquals(0, victim.getQueued());
+        assertEquals(0, victim.getAvailable());
+    }
+
+    @Test(expected = TaskCancelledException.class)
+    public void timedOutBeforeAdmission() throws Exception {
+        victim.acquire(100);
+        victim.acquire(10, CancellationToken.withTimeout(10, TimeUnit.MILLISECONDS));
+    }
+}
@@ -28,9 +28,11 @@ import org.junit.Ignore;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
+import org.sejda.model.exception.TaskBudgetExceededException;
 import org.sejda.model.output.DirectoryTaskOutput;
 import org.sejda.model.output.ExistingOutputPolicy;
 import org.sejda.model.parameter.UnpackParameters;
+import org.sejda.model.parameter.base.TaskBudget;
 
 /**
  * Parent test for an Unpack test.
@@ -55,6 +57,17 @@ public abstract class UnpackTaskTest extends BaseTaskTest<UnpackParameters> {
         executeTest("pdf/attachments_as_named_tree.pdf");
     }
 
+    @Test
+    public void temporaryBuffersBudgetExceeded() throws IOException {
+        parameters = new UnpackParameters(new DirectoryTaskOutput(folder.newFolder()));
+        parameters.addSource(customInput("pdf/attachments_as_annots.pdf"));
+        parameters.addSource(customInput("pdf/attachments_as_named_tree.pdf"));
+        parameters.setExistingOutputPolicy(ExistingOutputPolicy.OVERWRITE);
+        parameters.setBudget(TaskBudget.UNLIMITED.maxTempBytes(1));
+        execute(parameters);
+        testContext.assertTaskFailed(TaskBudgetExceededException.class);
+    }
+
     public void executeTest(String filename) throws IOException {
         File out = folder.newFolder();
         parameters = new UnpackParameters(new DirectoryTaskOutput(out));
@@ -19,7 +19,10 @@
  */
 package org.sejda.core.support.io;
 
+import static org.hamcrest.Matchers.instanceOf;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 
 import java.io.File;
@@ -32,11 +35,14 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 import org.sejda.core.support.io.model.FileOutput;
+import org.sejda.model.exception.TaskBudgetExceededException;
+import org.sejda.model.exception.TaskException;
 import org.sejda.model.exception.TaskOutputVisitException;
 import org.sejda.model.output.DirectoryTaskOutput;
 import org.sejda.model.output.ExistingOutputPolicy;
 import org.sejda.model.output.FileOrDirectoryTaskOutput;
 import org.sejda.model.output.FileTaskOutput;
+import org.sejda.model.parameter.base.TaskBudget;
 import org.sejda.model.task.Task;
 import org.sejda.model.task.TaskExecutionContext;
 
@@ -62,7 +68,7 @@ public class DefaultMultipleOutputWriterTest {
     }
 
     @Test
-    public void moveToDir() throws TaskOutputVisitException, IOException {
+    public void moveToDir() throws TaskException, IOException {
         File out = folder.newFolder();
         DefaultMultipleOutputWriter victim = new DefaultMultipleOutputWriter(ExistingOutputPolicy.OVERWRITE, context);
         victim.addOutput(FileOutput.file(folder.newFile()).name("out.pdf"));
@@ -71,7 +77,7 @@ public class DefaultMultipleOutputWriterTest {
     }
 
     @Test
-    public void moveToFileOrDir() throws TaskOutputVisitException, IOException {
+    public void moveToFileOrDir() throws TaskException, IOException {
         File out = folder.newFolder();
         DefaultMultipleOutputWriter victim = new DefaultMultipleOutputWriter(ExistingOutputPolicy.OVERWRITE, context);
         victim.addOutput(FileOutput.file(folder.newFile()).name("out.pdf"));
@@ -80,7 +86,7 @@ public class DefaultMultipleOutputWriterTest {
     }
 
     @Test(expected = TaskOutputVisitException.class)
-    public void moveToDirExsisting() throws TaskOutputVisitException, IOException {
+    public void moveToDirExsisting() throws TaskException, IOException {
         File outFile = folder.newFile();
         DefaultMultipleOutputWriter victim = new DefaultMultipleOutputWriter(ExistingOutputPolicy.FAIL, context);
         victim.addOutput(FileOutput.file(outFile).name(outFile.getName()));
@@ -88,7 +94,7 @@ public class DefaultMultipleOutputWriterTest {
     }
 
     @Test
-    public void moveToDirExsistingOverwrite() throws TaskOutputVisitException, IOException {
+    public void moveToDirExsistingOverwrite() throws TaskException, IOException {
         File existing = folder.newFile();
         assertEquals(0, existing.length());
         DefaultMultipleOutputWriter victim = new DefaultMultipleOutputWriter(ExistingOutputPolicy.OVERWRITE, context);
@@ -102,7 +108,7 @@ public class DefaultMultipleOutputWriterTest {
     }
 
     @Test
-    public void moveToDirExsistingSkip() throws TaskOutputVisitException, IOException {
+    public void moveToDirExsistingSkip() throws TaskException, IOException {
         File existing = folder.newFile();
         assertEquals(0, existing.length());
         DefaultMultipleOutputWriter victim = new DefaultMultipleOutputWriter(ExistingOutputPolicy.SKIP, context);
@@ -116,7 +122,7 @@ public class DefaultMultipleOutputWriterTest {
     }
 
     @Test(expected = TaskOutputVisitException.class)
-    public void moveToFileDirExsisting() throws TaskOutputVisitException, IOException {
+    public void moveToFileDirExsisting() throws TaskException, IOException {
         File outFile = folder.newFile();
         DefaultMultipleOutputWriter victim = new DefaultMultipleOutputWriter(ExistingOutputPolicy.FAIL, context);
         victim.addOutput(FileOutput.file(outFile).name(outFile.getName()));
@@ -124,7 +130,7 @@ public class DefaultMultipleOutputWriterTest {
     }
 
     @Test
-    public void moveToDirExsistingRenamed() throws TaskOutputVisitException, IOException {
+    public void moveToDirExsistingRenamed() throws TaskException, IOException {
         File outFile = folder.newFile();
         DefaultMultipleOutputWriter victim = new DefaultMultipleOutputWriter(ExistingOutputPolicy.RENAME, context);
         victim.addOutput(FileOutput.file(folder.newFile()).name(outFile.getName()));
@@ -133,7 +139,7 @@ public class DefaultMultipleOutputWriterTest {
     }
 
     @Test
-    public void addFilesRenamesExisting() throws TaskOutputVisitException, IOException {
+    public void addFilesRenamesExisting() throws TaskException, IOException {
         DefaultMultipleOutputWriter victim = new DefaultMultipleOutputWriter(ExistingOutputPolicy.FAIL, context);
         victim.addOutput(FileOutput.file(folder.newFile()).name("myName.pdf"));
         victim.addOutput(FileOutput.file(folder.newFile()).name("myName.pdf"));
@@ -144,7 +150,7 @@ public class DefaultMultipleOutputWriterTest {
     }
 
     @Test
-    public void moveToFileOrDirExsistingRenamed() throws TaskOutputVisitException, IOException {
+    public void moveToFileOrDirExsistingRenamed() throws TaskException, IOException {
         File outFile = folder.newFile();
         DefaultMultipleOutputWriter victim = new DefaultMultipleOutputWriter(ExistingOutputPolicy.RENAME, context);
         victim.addOutput(FileOutput.file(folder.newFile()).name(outFile.getName()));
@@ -153,7 +159,7 @@ public class DefaultMultipleOutputWriterTest {
     }
 
     @Test(expected = TaskOutputVisitException.class)
-    public void moveToFileOrDirInvalidOut() throws TaskOutputVisitException, IOException {
+    public void moveToFileOrDirInvalidOut() throws TaskException, IOException {
         DefaultMultipleOutputWriter victim = new DefaultMultipleOutputWriter(ExistingOutputPolicy.RENAME, context);
         victim.addOutput(FileOutput.file(folder.newFile()).name("a"));
         victim.addOutput(FileOutput.file(folder.newFile()).name("b"));
@@ -161,7 +167,7 @@ public class DefaultMultipleOutputWriterTest {
     }
 
     @Test
-    public void moveToFileOrDirSingleFile() throws TaskOutputVisitException, IOException {
+    public void moveToFileOrDirSingleFile() throws TaskException, IOException {
         File out = folder.newFile();
         assertEquals(0, out.length());
         Path outFile = Files.createTempFile("sejda", ".tmp");
@@ -172,4 +178,30 @@ public class DefaultMultipleOutputWriterTest {
         assertEquals(4, out.length());
         Files.deleteIfExists(outFile);
     }
+
+    @Test(expected = TaskBudgetExceededException.class)
+    public void outputsBudgetExceeded() throws TaskException, IOException {
+        context.budget(TaskBudget.UNLIMITED.maxOutputFiles(1));
+        DefaultMultipleOutputWriter victim = new DefaultMultipleOutputWriter(ExistingOutputPolicy.OVERWRITE, context);
+        victim.addOutput(FileOutput.file(folder.newFile()).name("a"));
+        victim.flush();
+        victim.addOutput(FileOutput.file(folder.newFile()).name("b"));
+        victim.flush();
+    }
+
+    @Test
+    public void outputsBudgetExceededOnDispatch() throws TaskException, IOException {
+        context.budget(TaskBudget.UNLIMITED.maxOutputFiles(1));
+        File out = folder.newFolder();
+        DefaultMultipleOutputWriter victim = new DefaultMultipleOutputWriter(ExistingOutputPolicy.OVERWRITE, context);
+        victim.addOutput(FileOutput.file(folder.newFile()).name("a"));
+        victim.addOutput(FileOutput.file(folder.newFile()).name("b"));
+        try {
+            new DirectoryTaskOutput(out).accept(victim);
+            fail("Exception expected");
+        } catch (TaskOutputVisitException e) {
+            assertThat(e.getCause().getCause(), instanceOf(TaskBudgetExceededException.class));
+        }
+        assertEquals(0, out.list().length);
+    }
 }
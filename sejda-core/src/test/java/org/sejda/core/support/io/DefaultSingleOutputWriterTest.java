@@ -30,6 +30,7 @@ import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
+import org.sejda.core.support.io.buffer.SpillableBuffer;
 import org.sejda.model.exception.TaskIOException;
 import org.sejda.model.exception.TaskOutputVisitException;
 import org.sejda.model.output.DirectoryTaskOutput;
@@ -130,4 +131,40 @@ public class DefaultSingleOutputWriterTest {
         Files.write(outFile.toPath(), new byte[] { 0, 1, 1, 1 });
         victim.dispatch(new FileTaskOutput(out));
     }
+
+    @Test
+    public void writesBuffer() throws IOException {
+        DefaultSingleOutputWriter victim = new DefaultSingleOutputWriter(ExistingOutputPolicy.OVERWRITE, context);
+        File out = new File(folder.newFolder(), "not-existing.pdf");
+        SpillableBuffer buffer = IOUtils.createSpillableBuffer(new FileTaskOutput(out));
+        buffer.getOutputStream().write(new byte[] { 0, 1, 1, 1 });
+        victim.taskOutput(buffer);
+        victim.dispatch(new FileTaskOutput(out));
+        assertEquals(4, out.length());
+        assertEquals(1, out.getParentFile().list().length);
+        assertEquals(4, context.metrics().getBytesWritten());
+        assertEquals(out, context.notifiableTaskMetadata().taskOutput().get(0));
+    }
+
+    @Test(expected = IOException.class)
+    public void bufferFailOnExisting() throws IOException {
+        DefaultSingleOutputWriter victim = new DefaultSingleOutputWriter(ExistingOutputPolicy.FAIL, context);
+        File out = folder.newFile();
+        SpillableBuffer buffer = IOUtils.createSpillableBuffer(new FileTaskOutput(out));
+        buffer.getOutputStream().write(new byte[] { 0, 1, 1, 1 });
+        victim.taskOutput(buffer);
+        victim.dispatch(new FileTaskOutput(out));
+    }
+
+    @Test
+    public void bufferRename() throws IOException {
+        DefaultSingleOutputWriter victim = new DefaultSingleOutputWriter(ExistingOutputPolicy.RENAME, context);
+        File out = folder.newFile();
+        SpillableBuffer buffer = IOUtils.createSpillableBuffer(new FileTaskOutput(out));
+        buffer.getOutputStream().write(new byte[] { 0, 1, 1, 1 });
+        victim.taskOutput(buffer);
+        victim.dispatch(new FileTaskOutput(out));
+        assertEquals(2, out.getParentFile().list().length);
+        assertEquals(0, out.length());
+    }
 }
@@ -37,6 +37,8 @@ import static org.mockito.Mockito.when;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -335,4 +337,65 @@ public class OutputWriterHelperTest {
         OutputWriterHelper.moveToDirectory(files, out.toFile(), ExistingOutputPolicy.OVERWRITE, context);
         assertTrue(Files.isDirectory(out));
     }
+
+    @Test
+    public void moveOverwriteLeavesNoTemporaryFiles() throws IOException {
+        File input = folder.newFile();
+        Files.write(input.toPath(), "new".getBytes(StandardCharsets.UTF_8));
+        File outFile = outputFolder.newFile("existing.pdf");
+        Files.write(outFile.toPath(), "old content".getBytes(StandardCharsets.UTF_8));
+
+        OutputWriterHelper.moveFile(input, outFile, ExistingOutputPolicy.OVERWRITE, context);
+        assertFalse(input.exists());
+        assertEquals("new", new String(Files.readAllBytes(outFile.toPath()), StandardCharsets.UTF_8));
+        assertThat(Arrays.asList(outputFolder.getRoot().list()), is(Arrays.asList("existing.pdf")));
+    }
+
+    @Test
+    public void moveFailLeavesNoTemporaryFiles() throws IOException {
+        File input = folder.newFile();
+        Files.write(input.toPath(), "new".getBytes(StandardCharsets.UTF_8));
+        File outFile = new File(outputFolder.getRoot(), "out.pdf");
+
+        OutputWriterHelper.moveFile(input, outFile, ExistingOutputPolicy.FAIL, context);
+        assertFalse(input.exists());
+        assertEquals("new", new String(Files.readAllBytes(outFile.toPath()), StandardCharsets.UTF_8));
+        assertThat(Arrays.asList(outputFolder.getRoot().list()), is(Arrays.asList("out.pdf")));
+    }
+
+    @Test
+    public void moveFailDoesNotReplaceOutputCreatedAfterTheCheck() throws IOException {
+        File input = folder.newFile();
+        Files.write(input.toPath(), "new".getBytes(StandardCharsets.UTF_8));
+        File existing = outputFolder.newFile("existing.pdf");
+        Files.write(existing.toPath(), "old content".getBytes(StandardCharsets.UTF_8));
+        // created by someone else after the existence check
+        File outFile = new File(existing.getAbsolutePath()) {
+            @Override
+            public boolean exists() {
+                return false;
+            }
+        };
+
+        try {
+            OutputWriterHelper.moveFile(input, outFile, ExistingOutputPolicy.FAIL, context);
+            fail("Exception expected");
+        } catch (FileAlreadyExistsException e) {
+            // expected
+        }
+        assertTrue(input.exists());
+        assertEquals("old content", new String(Files.readAllBytes(existing.toPath()), StandardCharsets.UTF_8));
+        assertThat(Arrays.asList(outputFolder.getRoot().list()), is(Arrays.asList("existing.pdf")));
+    }
+
+    @Test
+    public void transfer() throws IOException {
+        File input = folder.newFile();
+        byte[] content = repeat("chuck", 100000).getBytes(StandardCharsets.UTF_8);
+        Files.write(input.toPath(), content);
+        File output = outputFolder.newFile();
+
+        OutputWriterHelper.transfer(input.toPath(), output.toPath());
+        assertTrue(Arrays.equals(content, Files.readAllBytes(output.toPath())));
+    }
 }
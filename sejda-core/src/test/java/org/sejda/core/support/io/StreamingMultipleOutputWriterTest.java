@@ -0,0 +1,189 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.support.io;
+
+import static org.hamcrest.Matchers.arrayContainingInAnyOrder;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sejda.core.support.io.buffer.SpillableBuffer;
+import org.sejda.core.support.io.model.FileOutput;
+import org.sejda.model.exception.TaskBudgetExceededException;
+import org.sejda.model.exception.TaskException;
+import org.sejda.model.exception.TaskOutputVisitException;
+import org.sejda.model.output.DirectoryTaskOutput;
+import org.sejda.model.output.ExistingOutputPolicy;
+import org.sejda.model.output.FileOrDirectoryTaskOutput;
+import org.sejda.model.output.FileTaskOutput;
+import org.sejda.model.parameter.base.TaskBudget;
+import org.sejda.model.task.Task;
+import org.sejda.model.task.TaskExecutionContext;
+
+public class StreamingMultipleOutputWriterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    private TaskExecutionContext context;
+
+    @Before
+    public void setUp() {
+        context = new TaskExecutionContext(mock(Task.class), true);
+    }
+
+    @Test(expected = TaskOutputVisitException.class)
+    public void failOnFile() throws TaskException {
+        FileTaskOutput output = new FileTaskOutput(mock(File.class));
+        StreamingMultipleOutputWriter victim = new StreamingMultipleOutputWriter(ExistingOutputPolicy.OVERWRITE,
+                context, output);
+        output.accept(victim);
+    }
+
+    @Test
+    public void flushMovesToDirectory() throws TaskException, IOException {
+        File out = folder.newFolder();
+        DirectoryTaskOutput output = new DirectoryTaskOutput(out);
+        StreamingMultipleOutputWriter victim = new StreamingMultipleOutputWriter(ExistingOutputPolicy.OVERWRITE,
+                context, output);
+        File first = folder.newFile();
+        victim.addOutput(FileOutput.file(first).name("first.pdf"));
+        victim.flush();
+        assertThat(out.list(), arrayContainingInAnyOrder("first.pdf"));
+        assertFalse(first.exists());
+        assertEquals(1, context.notifiableTaskMetadata().taskOutput().size());
+        victim.addOutput(FileOutput.file(folder.newFile()).name("second.pdf"));
+        output.accept(victim);
+        assertThat(out.list(), arrayContainingInAnyOrder("first.pdf", "second.pdf"));
+        assertEquals(2, context.notifiableTaskMetadata().taskOutput().size());
+    }
+
+    @Test
+    public void totalFilesNumberHeldUntilDispatch() throws TaskException, IOException {
+        File out = folder.newFolder();
+        DirectoryTaskOutput output = new DirectoryTaskOutput(out);
+        StreamingMultipleOutputWriter victim = new StreamingMultipleOutputWriter(ExistingOutputPolicy.OVERWRITE,
+                context, output);
+        victim.addOutput(FileOutput.file(folder.newFile()).name("1_of_[TOTAL_FILESNUMBER].pdf"));
+        victim.flush();
+        assertEquals(0, out.list().length);
+        victim.addOutput(FileOutput.file(folder.newFile()).name("2_of_[TOTAL_FILESNUMBER].pdf"));
+        victim.flush();
+        output.accept(victim);
+        assertThat(out.list(), arrayContainingInAnyOrder("1_of_2.pdf", "2_of_2.pdf"));
+    }
+
+    @Test
+    public void fileOrDirectoryToFileHeldUntilDispatch() throws TaskException, IOException {
+        File out = new File(folder.getRoot(), "out.pdf");
+        FileOrDirectoryTaskOutput output = new FileOrDirectoryTaskOutput(out);
+        StreamingMultipleOutputWriter victim = new StreamingMultipleOutputWriter(ExistingOutputPolicy.OVERWRITE,
+                context, output);
+        victim.addOutput(FileOutput.file(folder.newFile()).name("whatever.pdf"));
+        victim.flush();
+        assertFalse(out.exists());
+        output.accept(victim);
+        assertEquals(true, out.isFile());
+    }
+
+    @Test
+    public void fileOrDirectoryToDirectory() throws TaskException, IOException {
+        File out = folder.newFolder();
+        FileOrDirectoryTaskOutput output = new FileOrDirectoryTaskOutput(out);
+        StreamingMultipleOutputWriter victim = new StreamingMultipleOutputWriter(ExistingOutputPolicy.OVERWRITE,
+                context, output);
+        victim.addOutput(FileOutput.file(folder.newFile()).name("first.pdf"));
+        victim.flush();
+        assertThat(out.list(), arrayContainingInAnyOrder("first.pdf"));
+        output.accept(victim);
+        assertThat(out.list(), arrayContainingInAnyOrder("first.pdf"));
+    }
+
+    @Test
+    public void addFilesRenamesExisting() throws TaskException, IOException {
+        File out = folder.newFolder();
+        DirectoryTaskOutput output = new DirectoryTaskOutput(out);
+        StreamingMultipleOutputWriter victim = new StreamingMultipleOutputWriter(ExistingOutputPolicy.FAIL, context,
+                output);
+        victim.addOutput(FileOutput.file(folder.newFile()).name("myName.pdf"));
+        victim.flush();
+        victim.addOutput(FileOutput.file(folder.newFile()).name("myName.pdf"));
+        victim.flush();
+        victim.addOutput(FileOutput.file(folder.newFile()).name("myName.pdf"));
+        output.accept(victim);
+        assertThat(out.list(), arrayContainingInAnyOrder("myName.pdf", "myName(1).pdf", "myName(2).pdf"));
+    }
+
+    @Test(expected = TaskOutputVisitException.class)
+    public void flushExisting() throws TaskException, IOException {
+        File outFile = folder.newFile();
+        StreamingMultipleOutputWriter victim = new StreamingMultipleOutputWriter(ExistingOutputPolicy.FAIL, context,
+                new DirectoryTaskOutput(outFile.getParentFile()));
+        victim.addOutput(FileOutput.file(folder.newFile()).name(outFile.getName()));
+        victim.flush();
+    }
+
+    @Test(expected = TaskBudgetExceededException.class)
+    public void outputsBudgetExceeded() throws TaskException, IOException {
+        context.budget(TaskBudget.UNLIMITED.maxOutputFiles(1));
+        StreamingMultipleOutputWriter victim = new StreamingMultipleOutputWriter(ExistingOutputPolicy.OVERWRITE,
+                context, new DirectoryTaskOutput(folder.newFolder()));
+        victim.addOutput(FileOutput.file(folder.newFile()).name("a"));
+        victim.flush();
+        victim.addOutput(FileOutput.file(folder.newFile()).name("b"));
+        victim.flush();
+    }
+
+    @Test
+    public void flushWritesBuffers() throws TaskException, IOException {
+        File out = folder.newFolder();
+        DirectoryTaskOutput output = new DirectoryTaskOutput(out);
+        StreamingMultipleOutputWriter victim = new StreamingMultipleOutputWriter(ExistingOutputPolicy.OVERWRITE,
+                context, output);
+        SpillableBuffer buffer = IOUtils.createSpillableBuffer(output);
+        victim.addOutput(FileOutput.buffer(buffer).name("first.pdf"));
+        buffer.getOutputStream().write(new byte[] { 0, 1, 1, 1 });
+        victim.flush();
+        assertThat(out.list(), arrayContainingInAnyOrder("first.pdf"));
+        assertEquals(4, new File(out, "first.pdf").length());
+        output.accept(victim);
+        assertThat(out.list(), arrayContainingInAnyOrder("first.pdf"));
+    }
+
+    @Test
+    public void buffersSpilledForSingleFile() throws TaskException, IOException {
+        File out = new File(folder.getRoot(), "out.pdf");
+        FileOrDirectoryTaskOutput output = new FileOrDirectoryTaskOutput(out);
+        StreamingMultipleOutputWriter victim = new StreamingMultipleOutputWriter(ExistingOutputPolicy.OVERWRITE,
+                context, output);
+        SpillableBuffer buffer = IOUtils.createSpillableBuffer(output);
+        victim.addOutput(FileOutput.buffer(buffer).name("whatever.pdf"));
+        buffer.getOutputStream().write(new byte[] { 0, 1, 1, 1 });
+        victim.flush();
+        output.accept(victim);
+        assertEquals(4, out.length());
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.support.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TemporaryFilesJanitorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void deletesOrphaned() throws IOException {
+        File hidden = old(folder.newFile(".sejdaTmp123.tmp"));
+        File visible = old(folder.newFile("sejdaTmp456.jpeg"));
+        File directory = folder.newFolder("sejdaTmp789-0");
+        new File(directory, "chuck.norris").createNewFile();
+        old(directory);
+        assertEquals(3, TemporaryFilesJanitor.clean(folder.getRoot().toPath(), TimeUnit.HOURS.toMillis(1)));
+        assertFalse(hidden.exists());
+        assertFalse(visible.exists());
+        assertFalse(directory.exists());
+    }
+
+    @Test
+    public void keepsRecent() throws IOException {
+        File recent = folder.newFile(".sejdaTmp123.tmp");
+        assertEquals(0, TemporaryFilesJanitor.clean(folder.getRoot().toPath(), TimeUnit.HOURS.toMillis(1)));
+        assertTrue(recent.exists());
+    }
+
+    @Test
+    public void keepsOthers() throws IOException {
+        File other = old(folder.newFile("chuck.norris"));
+        assertEquals(0, TemporaryFilesJanitor.clean(folder.getRoot().toPath(), TimeUnit.HOURS.toMillis(1)));
+        assertTrue(other.exists());
+    }
+
+    @Test
+    public void missingDirectory() {
+        assertEquals(0, TemporaryFilesJanitor.clean(new File(folder.getRoot(), "missing").toPath(), 0));
+    }
+
+    private static File old(File file) {
+        file.setLastModified(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(2));
+        return file;
+    }
+}
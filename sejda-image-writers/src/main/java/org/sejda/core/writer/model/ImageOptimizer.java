@@ -18,6 +18,8 @@
  */
 package org.sejda.core.writer.model;
 
+import static org.sejda.core.support.io.IOUtils.createTemporaryBuffer;
+
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
@@ -34,6 +36,7 @@ import javax.imageio.stream.ImageOutputStream;
 
 import org.imgscalr.Scalr;
 import org.sejda.commons.util.IOUtils;
+import org.sejda.model.exception.TaskIOException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Element;
@@ -51,8 +54,12 @@ public class ImageOptimizer {
     public static File optimize(BufferedImage bufferedImage, float quality, int dpi, int width, int height,
             boolean gray) throws IOException {
         long start = System.currentTimeMillis();
-        File outputFile = File.createTempFile("pdfimage", ".jpeg");
-        outputFile.deleteOnExit();
+        File outputFile;
+        try {
+            outputFile = createTemporaryBuffer(".jpeg");
+        } catch (TaskIOException e) {
+            throw new IOException(e);
+        }
 
         try {
             int relevantDelta = 20;
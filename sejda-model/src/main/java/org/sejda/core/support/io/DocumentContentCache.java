@@ -0,0 +1,237 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.support.io;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+import static org.sejda.commons.util.IOUtils.closeQuietly;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import org.sejda.core.support.io.buffer.PooledMemorySeekableSource;
+import org.sejda.io.SeekableSource;
+import org.sejda.io.SeekableSourceSupplier;
+import org.sejda.model.encryption.EncryptionAtRestPolicy;
+import org.sejda.model.encryption.NoEncryptionAtRest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Process wide, size bounded, LRU cache of the decrypted content of files encrypted at rest, meant for long running services executing
+ * multiple tasks on the same document. The first request decrypts the file into memory, following requests for the same file are served by a
+ * new, independent, read only {@link SeekableSource} on the cached memory, without decrypting the file again. Parsed documents are mutable and
+ * lazily load objects from their source, so each task still parses its own document instance.
+ * <p>
+ * Content is identified by the file path, size, last modified time and encryption at rest policy, so that hits don't require reading the
+ * file. Other sources are never cached: plain files are already cached by the OS, while streams and URLs would have to be consumed to be
+ * identified, which is the cost the cache is meant to save.
+ * </p>
+ * <p>
+ * The cache accounts for the exact number of bytes it holds and content is read into the cache only while the bytes being read by all the
+ * threads fit in the max size as well, otherwise the source is used directly. Memory used by the cache is then bounded by twice the max size.
+ * </p>
+ */
+public final class DocumentContentCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DocumentContentCache.class);
+
+    /**
+     * Max number of bytes the process wide cache can hold. Default is 0, meaning the cache is disabled.
+     */
+    public static final String MAX_SIZE_PROPERTY_NAME = "sejda.content.cache.max.size";
+    static final int CHUNK_SIZE = 1024 * 1024;
+
+    private final long maxSize;
+    private long size;
+    private long loading;
+    private final LinkedHashMap<List<Object>, CachedContent> contents = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * @param maxSize
+     *            max number of bytes the cache can hold, a non positive value disables the cache
+     */
+    public DocumentContentCache(long maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @return true if the cache is enabled
+     */
+    public boolean isEnabled() {
+        return maxSize > 0;
+    }
+
+    /**
+     * @param file
+     *            the file the content is read from, null if the content doesn't come from a file
+     * @param encryptionAtRestPolicy
+     *            the policy used to decrypt the file content
+     * @param supplier
+     *            supplier of the decrypted source content
+     * @return a {@link SeekableSource} served by the cache if the file is encrypted at rest and its content is cached, or cached if it fits.
+     *         If the cache is disabled or the content doesn't come from a file encrypted at rest this is the same as
+     *         {@link SeekableSourceSupplier#get()}
+     * @throws IOException
+     */
+    public SeekableSource seekableSourceFor(File file, EncryptionAtRestPolicy encryptionAtRestPolicy,
+            SeekableSourceSupplier<? extends SeekableSource> supplier) throws IOException {
+        requireNonNull(supplier);
+        if (!isEnabled() || isNull(file) || isNull(encryptionAtRestPolicy)
+                || encryptionAtRestPolicy instanceof NoEncryptionAtRest) {
+            return supplier.get();
+        }
+        List<Object> key = Arrays.asList(file.getAbsolutePath(), file.length(), file.lastModified(),
+                encryptionAtRestPolicy);
+        SeekableSource cached = cached(key, file.getAbsolutePath());
+        if (nonNull(cached)) {
+            LOG.debug("Content of {} served by the cache", file);
+            return cached;
+        }
+        SeekableSource seekableSource = supplier.get();
+        long length = seekableSource.size();
+        if (!reserve(length)) {
+            return seekableSource;
+        }
+        try {
+            CachedContent content = read(key, seekableSource);
+            String id = seekableSource.id();
+            seekableSource.close();
+            return put(content).newSeekableSource(id);
+        } catch (IOException | RuntimeException e) {
+            closeQuietly(seekableSource);
+            throw e;
+        } finally {
+            release(length);
+        }
+    }
+
+    private synchronized boolean reserve(long length) {
+        if (length > maxSize - loading) {
+            LOG.trace("Not caching {} bytes, {} bytes are already being read", length, loading);
+            return false;
+        }
+        loading += length;
+        return true;
+    }
+
+    private synchronized void release(long length) {
+        loading -= length;
+    }
+
+    private synchronized SeekableSource cached(List<Object> key, String id) {
+        CachedContent content = contents.get(key);
+        if (nonNull(content)) {
+            return content.newSeekableSource(id);
+        }
+        return null;
+    }
+
+    private synchronized CachedContent put(CachedContent content) {
+        CachedContent existing = contents.get(content.key);
+        if (nonNull(existing)) {
+            return existing;
+        }
+        contents.put(content.key, content);
+        size += content.length;
+        Iterator<CachedContent> eldest = contents.values().iterator();
+        while (size > maxSize && eldest.hasNext()) {
+            CachedContent evicted = eldest.next();
+            if (evicted != content) {
+                eldest.remove();
+                size -= evicted.length;
+                LOG.trace("Evicted cached content of {}", evicted.key.get(0));
+            }
+        }
+        return content;
+    }
+
+    private static CachedContent read(List<Object> key, SeekableSource source) throws IOException {
+        List<ByteBuffer> chunks = new ArrayList<>();
+        long length = source.size();
+        source.position(0);
+        for (long remaining = length; remaining > 0; remaining -= CHUNK_SIZE) {
+            // the cache accounts for the content length, the last chunk is not allocated full size
+            ByteBuffer chunk = ByteBuffer.allocate((int) Math.min(CHUNK_SIZE, remaining));
+            while (chunk.hasRemaining()) {
+                if (source.read(chunk) < 0) {
+                    throw new IOException("Unexpected end of source " + source.id());
+                }
+            }
+            chunk.flip();
+            chunks.add(chunk.asReadOnlyBuffer());
+        }
+        return new CachedContent(key, Collections.unmodifiableList(chunks), length);
+    }
+
+    /**
+     * @return the number of bytes currently cached
+     */
+    public synchronized long size() {
+        return size;
+    }
+
+    /**
+     * Removes all the cached content
+     */
+    public synchronized void clear() {
+        contents.clear();
+        size = 0;
+    }
+
+    /**
+     * @return the process wide cache, whose max size is set by the {@link #MAX_SIZE_PROPERTY_NAME} system property
+     */
+    public static DocumentContentCache getInstance() {
+        return DocumentContentCacheHolder.INSTANCE;
+    }
+
+    private static final class DocumentContentCacheHolder {
+
+        private DocumentContentCacheHolder() {
+            // hide constructor
+        }
+
+        static final DocumentContentCache INSTANCE = new DocumentContentCache(Long.getLong(MAX_SIZE_PROPERTY_NAME, 0));
+    }
+
+    private static class CachedContent {
+        private final List<Object> key;
+        private final List<ByteBuffer> chunks;
+        private final long length;
+
+        CachedContent(List<Object> key, List<ByteBuffer> chunks, long length) {
+            this.key = key;
+            this.chunks = chunks;
+            this.length = length;
+        }
+
+        SeekableSource newSeekableSource(String id) {
+            return new PooledMemorySeekableSource(id, chunks, CHUNK_SIZE, 0, length, null);
+        }
+    }
+}
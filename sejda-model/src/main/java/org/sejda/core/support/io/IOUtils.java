@@ -28,16 +28,23 @@ import static org.apache.commons.lang3.SystemUtils.IS_OS_MAC;
 import static org.apache.commons.lang3.SystemUtils.IS_OS_WINDOWS;
 import static org.apache.commons.lang3.SystemUtils.JAVA_IO_TMPDIR;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Optional;
 
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.SystemUtils;
+import org.sejda.core.support.io.buffer.SpillableBuffer;
+import org.sejda.io.SeekableSource;
+import org.sejda.model.exception.TaskBudgetExceededException;
 import org.sejda.model.exception.TaskIOException;
 import org.sejda.model.exception.TaskOutputVisitException;
 import org.sejda.model.output.DirectoryTaskOutput;
@@ -45,6 +52,8 @@ import org.sejda.model.output.FileOrDirectoryTaskOutput;
 import org.sejda.model.output.FileTaskOutput;
 import org.sejda.model.output.TaskOutput;
 import org.sejda.model.output.TaskOutputDispatcher;
+import org.sejda.model.task.TaskExecutionContext;
+import org.sejda.model.task.ThreadLocalTaskExecutionContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -57,6 +66,11 @@ import org.slf4j.LoggerFactory;
 public final class IOUtils {
 
     public static final String TMP_BUFFER_PREFIX_PROPERTY_NAME = "sejda.tmp.buffer.prefix";
+    /**
+     * When set to true temporary buffers are always created next to the final destination, creating the destination directories if needed,
+     * so that outputs can be committed with an atomic rename instead of being copied across file systems.
+     */
+    public static final String DIRECT_OUTPUT_PROPERTY_NAME = "sejda.output.direct";
 
     private static final Logger LOG = LoggerFactory.getLogger(IOUtils.class);
 
@@ -75,28 +89,106 @@ public final class IOUtils {
      */
     public static File createTemporaryBuffer(TaskOutput taskOut) throws TaskIOException {
         TmpBufferLocationFinder bufferLocationFinder = new TmpBufferLocationFinder();
+        File buffer;
         try {
             taskOut.accept(bufferLocationFinder);
-            File buffer = tmpFile(bufferLocationFinder.bufferLocation).toFile();
-            buffer.deleteOnExit();
-            return buffer;
+            buffer = tmpFile(bufferLocationFinder.bufferLocation).toFile();
         } catch (TaskOutputVisitException | IOException e) {
             // sometimes the above fails, eg: java.nio.file.AccessDeniedException: C:\\Users\\edi\\OneDrive\\Docs\\.sejdaTmp123124312312312.tmp
             // so try again this time in the temp dir
             try {
                 return createTemporaryBuffer();
+            } catch (TaskBudgetExceededException ex) {
+                throw ex;
             } catch (TaskIOException ex) {
                 throw new TaskIOException("Unable to create temporary buffer", ex);
             }
         }
+        return accountedFor(buffer);
+    }
+
+    /**
+     * Accounts the buffer to the task executed by the current thread, if any, and schedules its deletion
+     */
+    private static File accountedFor(File buffer) throws TaskBudgetExceededException {
+        deleteWhenTaskEnds(buffer);
+        Optional<TaskExecutionContext> context = ThreadLocalTaskExecutionContext.get();
+        if (context.isPresent()) {
+            context.get().temporaryBufferCreated(buffer);
+        }
+        return buffer;
+    }
+
+    /**
+     * Schedules the deletion of the given temporary file or directory when the task executed by the current thread is over, no matter the
+     * outcome. If no task is executed by the current thread the file is deleted when the virtual machine terminates. Whoever binds the task
+     * context to the current thread must call {@link TaskExecutionContext#releaseTemporaryResources()} once the task is over, as the
+     * execution service does, or the file is never deleted.
+     * 
+     * @param file
+     * @return the given file
+     */
+    public static File deleteWhenTaskEnds(File file) {
+        Optional<TaskExecutionContext> context = ThreadLocalTaskExecutionContext.get();
+        if (context.isPresent()) {
+            context.get().temporaryResourceCreated(new TemporaryFile(file));
+        } else {
+            file.deleteOnExit();
+        }
+        return file;
     }
 
-    private static Path tmpFile(Path location) throws IOException {
+    /**
+     * Creates a hidden temporary file in the given location
+     */
+    static Path tmpFile(Path location) throws IOException {
         // don't add leading dot on Windows
         String prefix = (IS_OS_WINDOWS ? "" : ".") + System.getProperty(TMP_BUFFER_PREFIX_PROPERTY_NAME, BUFFER_NAME);
         return Files.createTempFile(location, prefix, null);
     }
 
+    /**
+     * Creates a buffer that holds small outputs in memory and spills to a temporary file, whose location is based on the task output, beyond the
+     * configured threshold. The buffer is released when the task executed by the current thread, if any, is over.
+     * 
+     * @param taskOut
+     *            the task output or null to spill to the system temporary directory
+     * @return the created {@link SpillableBuffer}
+     * @see SpillableBuffer
+     */
+    public static SpillableBuffer createSpillableBuffer(TaskOutput taskOut) {
+        SpillableBuffer buffer = SpillableBuffer.newInstance(() -> {
+            try {
+                return nonNull(taskOut) ? createTemporaryBuffer(taskOut) : createTemporaryBuffer();
+            } catch (TaskIOException e) {
+                throw new IOException("Unable to spill the buffer to a temporary file", e);
+            }
+        });
+        ThreadLocalTaskExecutionContext.get().ifPresent(c -> c.temporaryResourceCreated(buffer));
+        return buffer;
+    }
+
+    /**
+     * Reads the given stream, closing it, into a {@link SpillableBuffer} and returns a {@link SeekableSource} over its content. Small inputs are
+     * held in pooled memory and never touch the disk, inputs beyond the configured threshold are spooled to a temporary file.
+     * 
+     * @param stream
+     * @param name
+     *            name of the input, used as identifier of the source
+     * @return the source, closing it releases the buffer
+     * @throws IOException
+     */
+    public static SeekableSource spooledSeekableSourceFrom(InputStream stream, String name) throws IOException {
+        SpillableBuffer buffer = createSpillableBuffer(null);
+        try (InputStream in = stream) {
+            org.apache.commons.io.IOUtils.copy(in, buffer.getOutputStream());
+            return buffer.toSeekableSource(name);
+        } catch (IOException | RuntimeException e) {
+            buffer.close();
+            throw e;
+        }
+    }
+
     /**
      * @return a temporary file
      * @throws TaskIOException
@@ -106,28 +198,27 @@ public final class IOUtils {
     }
 
     public static File createTemporaryBuffer(String extension) throws TaskIOException {
+        File buffer;
         try {
-            File buffer = File.createTempFile(System.getProperty(TMP_BUFFER_PREFIX_PROPERTY_NAME, BUFFER_NAME),
-                    extension);
-            buffer.deleteOnExit();
-            return buffer;
+            buffer = File.createTempFile(System.getProperty(TMP_BUFFER_PREFIX_PROPERTY_NAME, BUFFER_NAME), extension);
         } catch (IOException e) {
             throw new TaskIOException("Unable to create temporary buffer", e);
         }
+        return accountedFor(buffer);
     }
 
     public static File createTemporaryBufferWithName(String filename) throws TaskIOException {
+        File buffer;
         try {
-            File tmpDir = createTemporaryFolder();
-            File buffer = new File(tmpDir, filename);
+            File tmpDir = deleteWhenTaskEnds(createTemporaryFolder());
+            buffer = new File(tmpDir, filename);
             boolean created = buffer.createNewFile();
             if (!created)
                 throw new IOException("Could not create new file: " + buffer.getAbsolutePath());
-            buffer.deleteOnExit();
-            return buffer;
         } catch (IllegalStateException | IOException e) {
             throw new TaskIOException("Unable to create temporary buffer", e);
         }
+        return accountedFor(buffer);
     }
 
     private static final int TEMP_DIR_ATTEMPTS = 1000;
@@ -236,26 +327,27 @@ public final class IOUtils {
      */
     private static class TmpBufferLocationFinder implements TaskOutputDispatcher {
 
+        private final boolean direct = Boolean.getBoolean(DIRECT_OUTPUT_PROPERTY_NAME);
         private Path bufferLocation = Paths.get(JAVA_IO_TMPDIR);
 
         @Override
-        public void dispatch(FileTaskOutput output) {
+        public void dispatch(FileTaskOutput output) throws IOException {
             Path dest = output.getDestination().toPath().getParent();
-            if (nonNull(dest) && Files.exists(dest)) {
+            if (nonNull(dest) && exists(dest)) {
                 bufferLocation = dest;
             }
         }
 
         @Override
-        public void dispatch(DirectoryTaskOutput output) {
+        public void dispatch(DirectoryTaskOutput output) throws IOException {
             Path dest = output.getDestination().toPath();
-            if (Files.exists(dest)) {
+            if (exists(dest)) {
                 bufferLocation = dest;
             }
         }
 
         @Override
-        public void dispatch(FileOrDirectoryTaskOutput output) {
+        public void dispatch(FileOrDirectoryTaskOutput output) throws IOException {
             Path dest = output.getDestination().toPath();
             if (Files.exists(dest)) {
                 if (Files.isDirectory(dest)) {
@@ -263,7 +355,48 @@ public final class IOUtils {
                 } else {
                     bufferLocation = dest.getParent();
                 }
+            } else if (nonNull(dest.getParent()) && exists(dest.getParent())) {
+                // we don't know yet if it's going to be a file or a directory but the parent is on the same file system anyway
+                bufferLocation = dest.getParent();
+            }
+        }
+
+        /**
+         * @return true if the given directory exists or, in direct output mode, if it has been created
+         */
+        private boolean exists(Path directory) throws IOException {
+            if (Files.exists(directory)) {
+                return true;
+            }
+            if (direct) {
+                Files.createDirectories(directory);
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * A temporary file or directory deleted when closed
+     */
+    private static class TemporaryFile implements Closeable {
+
+        private final File file;
+
+        TemporaryFile(File file) {
+            this.file = file;
+        }
+
+        @Override
+        public void close() {
+            if (file.exists() && !FileUtils.deleteQuietly(file)) {
+                LOG.warn("Unable to delete temporary file {}", file);
             }
         }
+
+        @Override
+        public String toString() {
+            return file.toString();
+        }
     }
 }
@@ -0,0 +1,97 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.support.io.buffer;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool of fixed size direct {@link ByteBuffer} chunks used by {@link SpillableBuffer}s to hold data off-heap. The pool never allocates more than
+ * its capacity, once the capacity is reached no chunk is available until some is released.
+ */
+final class DirectBufferPool {
+
+    static final int CHUNK_SIZE = 64 * 1024;
+
+    private final long capacity;
+    private final AtomicLong allocated = new AtomicLong();
+    private final Queue<ByteBuffer> free = new ConcurrentLinkedQueue<>();
+
+    DirectBufferPool(long capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * @return a cleared chunk or null if the pool capacity is exhausted
+     */
+    ByteBuffer acquire() {
+        ByteBuffer chunk = free.poll();
+        if (chunk != null) {
+            chunk.clear();
+            return chunk;
+        }
+        if (allocated.addAndGet(CHUNK_SIZE) <= capacity) {
+            return ByteBuffer.allocateDirect(CHUNK_SIZE);
+        }
+        allocated.addAndGet(-CHUNK_SIZE);
+        return null;
+    }
+
+    /**
+     * Gives the chunk back to the pool
+     * 
+     * @param chunk
+     */
+    void release(ByteBuffer chunk) {
+        free.offer(chunk);
+    }
+
+    /**
+     * @return the number of bytes allocated by the pool
+     */
+    long allocated() {
+        return allocated.get();
+    }
+
+    /**
+     * @return the number of bytes held by chunks available in the pool
+     */
+    long available() {
+        return (long) free.size() * CHUNK_SIZE;
+    }
+
+    /**
+     * @return the default pool, whose capacity is set by the {@link SpillableBuffer#MEMORY_POOL_SIZE_PROPERTY_NAME} system property
+     */
+    static DirectBufferPool getInstance() {
+        return DirectBufferPoolHolder.INSTANCE;
+    }
+
+    private static final class DirectBufferPoolHolder {
+
+        private DirectBufferPoolHolder() {
+            // hide constructor
+        }
+
+        static final DirectBufferPool INSTANCE = new DirectBufferPool(
+                Long.getLong(SpillableBuffer.MEMORY_POOL_SIZE_PROPERTY_NAME, 64 * 1024 * 1024));
+    }
+}
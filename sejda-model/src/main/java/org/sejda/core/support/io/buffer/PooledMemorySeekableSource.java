@@ -0,0 +1,149 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.support.io.buffer;
+
+import static java.util.stream.Collectors.toList;
+import static org.sejda.commons.util.RequireUtils.requireArg;
+import static org.sejda.commons.util.RequireUtils.requireState;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import org.sejda.io.BaseSeekableSource;
+import org.sejda.io.SeekableSource;
+
+/**
+ * A {@link SeekableSource} reading from the pooled memory chunks of a {@link SpillableBuffer}. Every instance reads through its own duplicates of
+ * the chunks, views included, and closing the source, but not its views, releases the buffer. Views cannot be read once the original source is
+ * closed, since its chunks might have been handed to some other buffer.
+ */
+public class PooledMemorySeekableSource extends BaseSeekableSource {
+
+    private final List<ByteBuffer> chunks;
+    private final int chunkSize;
+    private final long startingPosition;
+    private final long length;
+    private final Closeable owner;
+    private final PooledMemorySeekableSource parent;
+    private long position;
+
+    /**
+     * @param id
+     * @param chunks
+     *            the chunks, all of the given size, holding the content from position 0
+     * @param chunkSize
+     * @param length
+     * @param owner
+     *            closed when this source is closed, can be null
+     */
+    public PooledMemorySeekableSource(String id, List<ByteBuffer> chunks, int chunkSize, long startingPosition,
+            long length, Closeable owner) {
+        this(id, chunks, chunkSize, startingPosition, length, owner, null);
+    }
+
+    private PooledMemorySeekableSource(String id, List<ByteBuffer> chunks, int chunkSize, long startingPosition,
+            long length, Closeable owner, PooledMemorySeekableSource parent) {
+        super(id);
+        this.chunks = chunks.stream().map(ByteBuffer::duplicate).collect(toList());
+        this.chunkSize = chunkSize;
+        this.startingPosition = startingPosition;
+        this.length = length;
+        this.owner = owner;
+        this.parent = parent;
+    }
+
+    @Override
+    public void requireOpen() throws IOException {
+        super.requireOpen();
+        if (parent != null) {
+            requireState(parent.isOpen(), "The original SeekableSource has been closed");
+        }
+    }
+
+    @Override
+    public long position() {
+        return position;
+    }
+
+    @Override
+    public SeekableSource position(long position) {
+        requireArg(position >= 0, "Cannot set position to a negative value");
+        this.position = Math.min(position, length);
+        return this;
+    }
+
+    @Override
+    public long size() {
+        return length;
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        requireOpen();
+        if (position >= length) {
+            return -1;
+        }
+        int read = 0;
+        while (dst.hasRemaining() && position < length) {
+            long absolute = startingPosition + position;
+            ByteBuffer chunk = chunks.get((int) (absolute / chunkSize));
+            int offset = (int) (absolute % chunkSize);
+            int count = (int) Math.min(Math.min(dst.remaining(), chunkSize - offset), length - position);
+            chunk.clear();
+            chunk.position(offset);
+            chunk.limit(offset + count);
+            dst.put(chunk);
+            // single byte reads use absolute gets, restore the limit
+            chunk.clear();
+            position += count;
+            read += count;
+        }
+        return read;
+    }
+
+    @Override
+    public int read() throws IOException {
+        requireOpen();
+        if (position >= length) {
+            return -1;
+        }
+        long absolute = startingPosition + position;
+        position++;
+        return chunks.get((int) (absolute / chunkSize)).get((int) (absolute % chunkSize)) & 0xFF;
+    }
+
+    @Override
+    public SeekableSource view(long startingPosition, long length) throws IOException {
+        requireOpen();
+        requireArg(startingPosition >= 0 && length >= 0 && startingPosition + length <= this.length,
+                "Invalid view boundaries");
+        return new PooledMemorySeekableSource(id(), chunks, chunkSize, this.startingPosition + startingPosition,
+                length, null, parent != null ? parent : this);
+    }
+
+    @Override
+    public void close() throws IOException {
+        super.close();
+        if (owner != null) {
+            owner.close();
+        }
+    }
+}
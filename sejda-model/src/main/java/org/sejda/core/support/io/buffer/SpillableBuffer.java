@@ -0,0 +1,331 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.support.io.buffer;
+
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+import static org.sejda.commons.util.RequireUtils.requireState;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.sejda.io.FileChannelSeekableSource;
+import org.sejda.io.SeekableSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A temporary buffer for a task generated output, or a streamed input, that holds the written data in pooled off-heap memory up to a threshold and spills it to a
+ * temporary file beyond it. Small outputs never touch the disk until they are written to their final destination, sparing the creation, write and
+ * rename of a temporary file. The threshold is set by the {@link #MEMORY_THRESHOLD_PROPERTY_NAME} system property, a value of 0 makes every buffer
+ * a temporary file. The buffer spills to disk also when the pool memory, whose size is set by the {@link #MEMORY_POOL_SIZE_PROPERTY_NAME} system
+ * property, is exhausted.
+ * <p>
+ * Instances are not thread safe.
+ * </p>
+ * 
+ * @see org.sejda.core.support.io.IOUtils#createSpillableBuffer(org.sejda.model.output.TaskOutput)
+ * @see org.sejda.core.support.io.IOUtils#spooledSeekableSourceFrom(java.io.InputStream, String)
+ */
+public final class SpillableBuffer implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SpillableBuffer.class);
+
+    public static final String MEMORY_THRESHOLD_PROPERTY_NAME = "sejda.tmp.buffer.memory.threshold";
+    public static final String MEMORY_POOL_SIZE_PROPERTY_NAME = "sejda.tmp.buffer.memory.pool.size";
+    static final long DEFAULT_MEMORY_THRESHOLD = 4 * 1024 * 1024;
+
+    private final SpillFileSupplier spillFile;
+    private final long threshold;
+    private final DirectBufferPool pool;
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    private final BufferOutputStream outputStream = new BufferOutputStream();
+    private long size = 0;
+    private File file;
+    private OutputStream fileStream;
+    private boolean handedOver = false;
+    private boolean closed = false;
+    private boolean released = false;
+
+    SpillableBuffer(SpillFileSupplier spillFile, long threshold, DirectBufferPool pool) {
+        this.spillFile = requireNonNull(spillFile);
+        this.threshold = threshold;
+        this.pool = requireNonNull(pool);
+    }
+
+    /**
+     * Creates a buffer using the configured threshold and the default pool
+     * 
+     * @param spillFile
+     *            supplies the temporary file the buffer spills to
+     * @return the created buffer
+     */
+    public static SpillableBuffer newInstance(SpillFileSupplier spillFile) {
+        return new SpillableBuffer(spillFile, Long.getLong(MEMORY_THRESHOLD_PROPERTY_NAME, DEFAULT_MEMORY_THRESHOLD),
+                DirectBufferPool.getInstance());
+    }
+
+    /**
+     * @return the stream to write the buffer content to. Closing the stream doesn't release the buffer.
+     */
+    public OutputStream getOutputStream() {
+        return outputStream;
+    }
+
+    /**
+     * @return true if the content is held in memory, false if it has been spilled to a temporary file
+     */
+    public boolean isInMemory() {
+        return file == null;
+    }
+
+    /**
+     * @return the number of bytes written to the buffer
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Hands over the buffer content as a temporary file, spilling it to disk if it's held in memory. The caller becomes the owner of the file and
+     * is responsible for moving or deleting it.
+     * 
+     * @return the temporary file with the buffer content
+     * @throws IOException
+     * @throws IllegalStateException
+     *             if the content has already been handed over or the buffer has been closed
+     */
+    public File toFile() throws IOException {
+        requireContent();
+        if (isInMemory()) {
+            spill();
+        }
+        closeFileStream();
+        handedOver = true;
+        return file;
+    }
+
+    /**
+     * Hands over the in memory content writing it to the given destination, creating it or truncating it if it already exists, and releases the
+     * memory.
+     * 
+     * @param destination
+     * @throws IOException
+     * @throws IllegalStateException
+     *             if the content has been spilled to a temporary file, it has already been handed over or the buffer has been closed
+     */
+    public void writeTo(File destination) throws IOException {
+        requireContent();
+        if (!isInMemory()) {
+            throw new IllegalStateException("Buffer content has been spilled to " + file);
+        }
+        OpenOption[] options = { StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING };
+        try (FileChannel channel = FileChannel.open(destination.toPath(), options)) {
+            for (ByteBuffer chunk : chunks) {
+                ByteBuffer content = chunk.duplicate();
+                content.flip();
+                while (content.hasRemaining()) {
+                    channel.write(content);
+                }
+            }
+        }
+        releaseChunks();
+        closed = true;
+        handedOver = true;
+    }
+
+    /**
+     * Hands over the buffer content as a {@link SeekableSource}, no more content can be written. Content held in memory is read straight from the
+     * pooled memory, otherwise from the temporary file. Closing the source releases the buffer.
+     * 
+     * @param id
+     *            identifier of the returned source
+     * @return the source
+     * @throws IOException
+     * @throws IllegalStateException
+     *             if the content has already been handed over or the buffer has been closed
+     */
+    public SeekableSource toSeekableSource(String id) throws IOException {
+        requireContent();
+        outputStream.close();
+        if (isInMemory()) {
+            return new PooledMemorySeekableSource(id, chunks, DirectBufferPool.CHUNK_SIZE, 0, size, this);
+        }
+        return new SpilledSeekableSource(id, file, this);
+    }
+
+    private void requireContent() {
+        requireState(!handedOver && !released, "The buffer content has already been handed over or released");
+    }
+
+    private void spill() throws IOException {
+        file = spillFile.get();
+        LOG.trace("Spilling {} bytes to {}", size, file);
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            for (ByteBuffer chunk : chunks) {
+                chunk.flip();
+                while (chunk.hasRemaining()) {
+                    channel.write(chunk);
+                }
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        releaseChunks();
+        fileStream = new BufferedOutputStream(Channels.newOutputStream(channel));
+    }
+
+    private void releaseChunks() {
+        chunks.forEach(pool::release);
+        chunks.clear();
+    }
+
+    private void closeFileStream() throws IOException {
+        if (nonNull(fileStream)) {
+            fileStream.close();
+            fileStream = null;
+        }
+    }
+
+    /**
+     * Releases the memory and deletes the temporary file, unless it has been handed over
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        released = true;
+        releaseChunks();
+        closeFileStream();
+        if (nonNull(file) && !handedOver) {
+            Files.deleteIfExists(file.toPath());
+        }
+    }
+
+    /**
+     * Supplies the temporary file a buffer spills to
+     */
+    @FunctionalInterface
+    public interface SpillFileSupplier {
+        /**
+         * @return an existing temporary file
+         * @throws IOException
+         */
+        File get() throws IOException;
+    }
+
+    /**
+     * Source over the temporary file the buffer has been spilled to, releasing the buffer when closed
+     */
+    private static class SpilledSeekableSource extends FileChannelSeekableSource {
+        private final String id;
+        private final Closeable owner;
+
+        SpilledSeekableSource(String id, File file, Closeable owner) throws IOException {
+            super(file);
+            this.id = id;
+            this.owner = owner;
+        }
+
+        @Override
+        public String id() {
+            return id;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                owner.close();
+            }
+        }
+    }
+
+    private class BufferOutputStream extends OutputStream {
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (closed || handedOver) {
+                throw new IOException("Stream closed");
+            }
+            if (isInMemory() && size + len > threshold) {
+                spill();
+            }
+            int written = 0;
+            while (isInMemory() && written < len) {
+                ByteBuffer chunk = currentChunk();
+                if (chunk == null) {
+                    spill();
+                } else {
+                    int length = Math.min(chunk.remaining(), len - written);
+                    chunk.put(b, off + written, length);
+                    written += length;
+                }
+            }
+            if (written < len) {
+                fileStream.write(b, off + written, len - written);
+            }
+            size += len;
+        }
+
+        private ByteBuffer currentChunk() {
+            if (!chunks.isEmpty() && chunks.get(chunks.size() - 1).hasRemaining()) {
+                return chunks.get(chunks.size() - 1);
+            }
+            ByteBuffer chunk = pool.acquire();
+            if (nonNull(chunk)) {
+                chunks.add(chunk);
+            }
+            return chunk;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (nonNull(fileStream)) {
+                fileStream.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            closeFileStream();
+        }
+    }
+}
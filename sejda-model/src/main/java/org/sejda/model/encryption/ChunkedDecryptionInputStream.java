@@ -0,0 +1,125 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.model.encryption;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.crypto.Cipher;
+
+import org.apache.commons.io.IOUtils;
+import org.sejda.model.encryption.ChunkedEncryptionAtRest.Header;
+
+/**
+ * {@link InputStream} sequentially decrypting content in the {@link ChunkedEncryptionAtRest} format
+ */
+class ChunkedDecryptionInputStream extends InputStream {
+
+    private final InputStream in;
+    private final ChunkedEncryptionAtRest policy;
+    private final Cipher cipher = ChunkedEncryptionAtRest.newCipher();
+    private Header header;
+    private byte[] encrypted;
+    private byte[] plain;
+    private int position;
+    private int limit;
+    private long index;
+    private boolean last;
+    private int lookahead = -1;
+
+    ChunkedDecryptionInputStream(InputStream in, ChunkedEncryptionAtRest policy) {
+        this.in = requireNonNull(in);
+        this.policy = policy;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!fill()) {
+            return -1;
+        }
+        return plain[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!fill()) {
+            return -1;
+        }
+        int length = Math.min(len, limit - position);
+        System.arraycopy(plain, position, b, off, length);
+        position += length;
+        return length;
+    }
+
+    @Override
+    public int available() {
+        return limit - position;
+    }
+
+    /**
+     * @return true if there is decrypted content available to read
+     */
+    private boolean fill() throws IOException {
+        while (position == limit) {
+            if (last) {
+                return false;
+            }
+            readChunk();
+        }
+        return true;
+    }
+
+    private void readChunk() throws IOException {
+        if (header == null) {
+            byte[] bytes = new byte[ChunkedEncryptionAtRest.HEADER_LENGTH];
+            if (IOUtils.read(in, bytes) != bytes.length) {
+                throw new EOFException("Unable to read the chunked encryption header");
+            }
+            header = Header.fromBytes(bytes);
+            encrypted = new byte[header.encryptedChunkSize()];
+            plain = new byte[header.chunkSize];
+        }
+        int read = 0;
+        if (lookahead >= 0) {
+            encrypted[read++] = (byte) lookahead;
+            lookahead = -1;
+        }
+        read += IOUtils.read(in, encrypted, read, encrypted.length - read);
+        if (read < encrypted.length) {
+            last = true;
+        } else {
+            // a full chunk, it's the last one only if nothing follows
+            lookahead = in.read();
+            last = lookahead == -1;
+        }
+        limit = policy.crypt(cipher, Cipher.DECRYPT_MODE, header, index++, last, encrypted, read, plain);
+        position = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
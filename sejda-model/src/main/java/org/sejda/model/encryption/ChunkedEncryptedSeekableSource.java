@@ -0,0 +1,266 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.model.encryption;
+
+import static org.sejda.commons.util.RequireUtils.requireArg;
+import static org.sejda.commons.util.RequireUtils.requireState;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import javax.crypto.Cipher;
+
+import org.sejda.commons.util.IOUtils;
+import org.sejda.io.BaseSeekableSource;
+import org.sejda.io.SeekableSource;
+import org.sejda.io.SeekableSourceSupplier;
+import org.sejda.io.ThreadBoundCopiesSupplier;
+import org.sejda.model.encryption.ChunkedEncryptionAtRest.Header;
+
+/**
+ * A {@link SeekableSource} over a file in the {@link ChunkedEncryptionAtRest} format. Only the chunk containing the current position is
+ * decrypted and kept in memory, nothing is written to disk.
+ */
+class ChunkedEncryptedSeekableSource extends BaseSeekableSource {
+
+    private final File file;
+    private final ChunkedEncryptionAtRest policy;
+    private final FileChannel channel;
+    private final Cipher cipher = ChunkedEncryptionAtRest.newCipher();
+    private final Header header;
+    private final long chunks;
+    private final long encryptedSize;
+    private final long size;
+    private final byte[] encrypted;
+    private final byte[] plain;
+    private long plainIndex = -1;
+    private int plainLength;
+    private long position;
+    private final ThreadBoundCopiesSupplier<ChunkedEncryptedSeekableSource> localCopiesSupplier = new ThreadBoundCopiesSupplier<>(
+            this::copy);
+
+    ChunkedEncryptedSeekableSource(File file, ChunkedEncryptionAtRest policy) throws IOException {
+        super(file.getAbsolutePath());
+        this.file = file;
+        this.policy = policy;
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        try {
+            ByteBuffer headerBytes = ByteBuffer.allocate(ChunkedEncryptionAtRest.HEADER_LENGTH);
+            readFully(headerBytes, 0);
+            this.header = Header.fromBytes(headerBytes.array());
+            this.encryptedSize = channel.size();
+            long payload = encryptedSize - ChunkedEncryptionAtRest.HEADER_LENGTH;
+            int encryptedChunkSize = header.encryptedChunkSize();
+            this.chunks = (payload + encryptedChunkSize - 1) / encryptedChunkSize;
+            long lastChunkSize = payload - ((chunks - 1) * encryptedChunkSize);
+            if (chunks < 1 || lastChunkSize < ChunkedEncryptionAtRest.TAG_LENGTH) {
+                throw new IOException("Truncated chunked encrypted file " + file);
+            }
+            this.size = ((chunks - 1) * header.chunkSize) + lastChunkSize - ChunkedEncryptionAtRest.TAG_LENGTH;
+        } catch (IOException e) {
+            IOUtils.closeQuietly(channel);
+            throw e;
+        }
+        this.encrypted = new byte[header.encryptedChunkSize()];
+        this.plain = new byte[header.chunkSize];
+    }
+
+    private ChunkedEncryptedSeekableSource copy() throws IOException {
+        return new ChunkedEncryptedSeekableSource(file, policy);
+    }
+
+    @Override
+    public long position() {
+        return position;
+    }
+
+    @Override
+    public SeekableSource position(long position) throws IOException {
+        requireArg(position >= 0, "Cannot set position to a negative value");
+        this.position = Math.min(position, size);
+        return this;
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        requireOpen();
+        if (position >= size) {
+            return -1;
+        }
+        int read = 0;
+        while (dst.hasRemaining() && position < size) {
+            int offset = load(position);
+            int length = Math.min(dst.remaining(), plainLength - offset);
+            dst.put(plain, offset, length);
+            position += length;
+            read += length;
+        }
+        return read;
+    }
+
+    @Override
+    public int read() throws IOException {
+        requireOpen();
+        if (position >= size) {
+            return -1;
+        }
+        int offset = load(position);
+        position++;
+        return plain[offset] & 0xFF;
+    }
+
+    /**
+     * Decrypts the chunk containing the given position, unless already decrypted
+     * 
+     * @return the offset of the position in the decrypted chunk
+     */
+    private int load(long position) throws IOException {
+        long index = position / header.chunkSize;
+        if (index != plainIndex) {
+            plainIndex = -1;
+            long offset = ChunkedEncryptionAtRest.HEADER_LENGTH + (index * header.encryptedChunkSize());
+            ByteBuffer chunk = ByteBuffer.wrap(encrypted, 0, (int) Math.min(encrypted.length, encryptedSize - offset));
+            readFully(chunk, offset);
+            plainLength = policy.crypt(cipher, Cipher.DECRYPT_MODE, header, index, index == chunks - 1, encrypted,
+                    chunk.position(), plain);
+            plainIndex = index;
+        }
+        return (int) (position % header.chunkSize);
+    }
+
+    private void readFully(ByteBuffer dst, long offset) throws IOException {
+        long position = offset;
+        while (dst.hasRemaining()) {
+            int read = channel.read(dst, position);
+            if (read < 0) {
+                throw new EOFException("Unexpected end of chunked encrypted file " + file);
+            }
+            position += read;
+        }
+    }
+
+    @Override
+    public SeekableSource view(long startingPosition, long length) throws IOException {
+        requireOpen();
+        requireArg(startingPosition >= 0 && length >= 0 && startingPosition + length <= size,
+                "Invalid view boundaries");
+        return new View(this, startingPosition, length);
+    }
+
+    @Override
+    public void close() throws IOException {
+        super.close();
+        IOUtils.closeQuietly(localCopiesSupplier);
+        channel.close();
+    }
+
+    /**
+     * A read only view of a portion of the source, reading from a copy of the source bound to the current thread. It cannot be read once the
+     * original source is closed.
+     */
+    private static class View extends BaseSeekableSource {
+
+        private final ChunkedEncryptedSeekableSource parent;
+        private final SeekableSourceSupplier<? extends SeekableSource> supplier;
+        private final long startingPosition;
+        private final long length;
+        private long position;
+
+        View(ChunkedEncryptedSeekableSource parent, long startingPosition, long length) {
+            super(parent.id());
+            this.parent = parent;
+            this.supplier = parent.localCopiesSupplier;
+            this.startingPosition = startingPosition;
+            this.length = length;
+        }
+
+        @Override
+        public void requireOpen() throws IOException {
+            super.requireOpen();
+            requireState(parent.isOpen(), "The original SeekableSource has been closed");
+        }
+
+        @Override
+        public long position() {
+            return position;
+        }
+
+        @Override
+        public SeekableSource position(long position) {
+            requireArg(position >= 0, "Cannot set position to a negative value");
+            this.position = Math.min(position, length);
+            return this;
+        }
+
+        @Override
+        public long size() {
+            return length;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            requireOpen();
+            if (position >= length) {
+                return -1;
+            }
+            SeekableSource source = supplier.get().position(startingPosition + position);
+            int limit = dst.limit();
+            dst.limit(dst.position() + (int) Math.min(dst.remaining(), length - position));
+            try {
+                int read = source.read(dst);
+                if (read > 0) {
+                    position += read;
+                }
+                return read;
+            } finally {
+                dst.limit(limit);
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            requireOpen();
+            if (position >= length) {
+                return -1;
+            }
+            int read = supplier.get().position(startingPosition + position).read();
+            if (read >= 0) {
+                position++;
+            }
+            return read;
+        }
+
+        @Override
+        public SeekableSource view(long startingPosition, long length) throws IOException {
+            requireOpen();
+            requireArg(startingPosition >= 0 && length >= 0 && startingPosition + length <= this.length,
+                    "Invalid view boundaries");
+            return new View(parent, this.startingPosition + startingPosition, length);
+        }
+    }
+}
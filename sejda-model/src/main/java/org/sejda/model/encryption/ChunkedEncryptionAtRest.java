@@ -0,0 +1,242 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.model.encryption;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+
+import org.sejda.io.SeekableSource;
+
+/**
+ * A {@link SeekableEncryptionAtRestPolicy} encrypting the content in independent chunks of fixed size with AES/GCM. Every chunk is
+ * authenticated and bound to its position in the file, the last chunk is marked as such so that a truncated file is detected. The position of
+ * a chunk in the encrypted file is computed from the chunk size, this allows random access to the decrypted content.
+ * <p>
+ * Format: a header made of the magic number, the format version, the chunk size and a random nonce, followed by the encrypted chunks, each one
+ * with its authentication tag.
+ * </p>
+ * <p>
+ * Chunks are independent by design, optionally they are encrypted in parallel.
+ * </p>
+ */
+public class ChunkedEncryptionAtRest implements SeekableEncryptionAtRestPolicy {
+
+    public static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+    /**
+     * Max chunk size, both when encrypting and when reading the chunk size from the header of the encrypted content
+     */
+    public static final int MAX_CHUNK_SIZE = 16 * 1024 * 1024;
+
+    private static final byte[] MAGIC = { 'S', 'J', 'D', 'C' };
+    private static final byte VERSION = 1;
+    static final int NONCE_LENGTH = 12;
+    static final int TAG_LENGTH = 16;
+    static final int HEADER_LENGTH = MAGIC.length + 1 + Integer.BYTES + NONCE_LENGTH;
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+
+    private final SecureRandom random = new SecureRandom();
+    private final SecretKey key;
+    private final int chunkSize;
+    private final int parallelism;
+    private final Queue<Cipher> ciphers = new ConcurrentLinkedQueue<>();
+
+    public ChunkedEncryptionAtRest(SecretKey key) {
+        this(key, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param key
+     *            the AES key
+     * @param chunkSize
+     *            size of the plain text chunks used when encrypting, decryption uses the chunk size found in the encrypted content
+     */
+    public ChunkedEncryptionAtRest(SecretKey key, int chunkSize) {
+        this(key, chunkSize, 1);
+    }
+
+    /**
+     * @param key
+     *            the AES key
+     * @param chunkSize
+     *            size of the plain text chunks used when encrypting, decryption uses the chunk size found in the encrypted content
+     * @param parallelism
+     *            max number of chunks of a stream encrypted in parallel
+     */
+    public ChunkedEncryptionAtRest(SecretKey key, int chunkSize, int parallelism) {
+        if (chunkSize < 1 || chunkSize > MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("Chunk size must be a positive number not greater than " + MAX_CHUNK_SIZE);
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be a positive number");
+        }
+        this.key = requireNonNull(key, "Key cannot be null");
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+    }
+
+    @Override
+    public InputStream decrypt(InputStream in) {
+        return new ChunkedDecryptionInputStream(in, this);
+    }
+
+    @Override
+    public OutputStream encrypt(OutputStream out) {
+        byte[] nonce = new byte[NONCE_LENGTH];
+        random.nextBytes(nonce);
+        Header header = new Header(chunkSize, nonce);
+        if (parallelism > 1) {
+            return new ParallelChunkedEncryptionOutputStream(out, this, header, parallelism);
+        }
+        return new ChunkedEncryptionOutputStream(out, this, header);
+    }
+
+    @Override
+    public SeekableSource seekableSourceFrom(File file) throws IOException {
+        return new ChunkedEncryptedSeekableSource(file, this);
+    }
+
+    static Cipher newCipher() {
+        try {
+            return Cipher.getInstance(TRANSFORMATION);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to create " + TRANSFORMATION + " cipher", e);
+        }
+    }
+
+    /**
+     * Encrypts a single chunk with a pooled cipher, a GCM cipher can be reused as long as it's initialized with a different nonce and every chunk
+     * has its own.
+     * 
+     * @param header
+     * @param index
+     *            index of the chunk
+     * @param last
+     *            true if this is the last chunk of the content
+     * @param input
+     * @return the encrypted chunk
+     * @throws IOException
+     *             if the chunk cannot be encrypted
+     */
+    byte[] encrypt(Header header, long index, boolean last, byte[] input) throws IOException {
+        Cipher cipher = ciphers.poll();
+        if (cipher == null) {
+            cipher = newCipher();
+        }
+        byte[] output = new byte[input.length + TAG_LENGTH];
+        crypt(cipher, Cipher.ENCRYPT_MODE, header, index, last, input, input.length, output);
+        ciphers.offer(cipher);
+        return output;
+    }
+
+    /**
+     * Encrypts or decrypts a single chunk
+     * 
+     * @param cipher
+     * @param mode
+     *            {@link Cipher#ENCRYPT_MODE} or {@link Cipher#DECRYPT_MODE}
+     * @param header
+     * @param index
+     *            index of the chunk
+     * @param last
+     *            true if this is the last chunk of the content
+     * @param input
+     * @param length
+     *            number of bytes of the input to process
+     * @param output
+     * @return the number of bytes written to the output
+     * @throws IOException
+     *             if the chunk cannot be processed or it fails authentication
+     */
+    int crypt(Cipher cipher, int mode, Header header, long index, boolean last, byte[] input, int length,
+            byte[] output) throws IOException {
+        try {
+            cipher.init(mode, key, new GCMParameterSpec(TAG_LENGTH * 8, header.nonceFor(index)));
+            cipher.updateAAD(new byte[] { (byte) (last ? 1 : 0) });
+            return cipher.doFinal(input, 0, length, output, 0);
+        } catch (GeneralSecurityException e) {
+            throw new IOException(String.format("Unable to %s chunk %d", mode == Cipher.ENCRYPT_MODE ? "encrypt" : "decrypt", index), e);
+        }
+    }
+
+    /**
+     * Header of the encrypted content
+     */
+    static final class Header {
+        final int chunkSize;
+        private final byte[] nonce;
+
+        Header(int chunkSize, byte[] nonce) {
+            this.chunkSize = chunkSize;
+            this.nonce = nonce;
+        }
+
+        int encryptedChunkSize() {
+            return chunkSize + TAG_LENGTH;
+        }
+
+        /**
+         * @return the nonce for the chunk with the given index, the index is xored in the last 8 bytes of the random nonce
+         */
+        byte[] nonceFor(long index) {
+            byte[] chunkNonce = Arrays.copyOf(nonce, NONCE_LENGTH);
+            for (int i = 0; i < Long.BYTES; i++) {
+                chunkNonce[NONCE_LENGTH - 1 - i] ^= (byte) (index >>> (8 * i));
+            }
+            return chunkNonce;
+        }
+
+        byte[] toBytes() {
+            return ByteBuffer.allocate(HEADER_LENGTH).put(MAGIC).put(VERSION).putInt(chunkSize).put(nonce).array();
+        }
+
+        static Header fromBytes(byte[] bytes) throws IOException {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            byte[] magic = new byte[MAGIC.length];
+            buffer.get(magic);
+            if (!Arrays.equals(MAGIC, magic)) {
+                throw new IOException("Not a chunked encrypted content");
+            }
+            byte version = buffer.get();
+            if (version != VERSION) {
+                throw new IOException("Unsupported chunked encryption format version " + version);
+            }
+            int chunkSize = buffer.getInt();
+            if (chunkSize < 1 || chunkSize > MAX_CHUNK_SIZE) {
+                throw new IOException("Invalid chunk size " + chunkSize);
+            }
+            byte[] nonce = new byte[NONCE_LENGTH];
+            buffer.get(nonce);
+            return new Header(chunkSize, nonce);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.model.encryption;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import javax.crypto.Cipher;
+
+import org.sejda.model.encryption.ChunkedEncryptionAtRest.Header;
+
+/**
+ * {@link OutputStream} writing the content in the {@link ChunkedEncryptionAtRest} format. A chunk is encrypted only once it's known whether it's
+ * the last one or not, the last chunk is written when the stream is closed.
+ */
+class ChunkedEncryptionOutputStream extends OutputStream {
+
+    private final OutputStream out;
+    private final ChunkedEncryptionAtRest policy;
+    private final Header header;
+    private final Cipher cipher = ChunkedEncryptionAtRest.newCipher();
+    private final byte[] buffer;
+    private final byte[] encrypted;
+    private int count;
+    private long index;
+    private boolean headerWritten;
+    private boolean closed;
+
+    ChunkedEncryptionOutputStream(OutputStream out, ChunkedEncryptionAtRest policy, Header header) {
+        this.out = requireNonNull(out);
+        this.policy = policy;
+        this.header = header;
+        this.buffer = new byte[header.chunkSize];
+        this.encrypted = new byte[header.encryptedChunkSize()];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        requireOpen();
+        if (count == buffer.length) {
+            writeChunk(false);
+        }
+        buffer[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        requireOpen();
+        while (len > 0) {
+            if (count == buffer.length) {
+                writeChunk(false);
+            }
+            int length = Math.min(len, buffer.length - count);
+            System.arraycopy(b, off, buffer, count, length);
+            count += length;
+            off += length;
+            len -= length;
+        }
+    }
+
+    private void writeChunk(boolean last) throws IOException {
+        if (!headerWritten) {
+            out.write(header.toBytes());
+            headerWritten = true;
+        }
+        int length = policy.crypt(cipher, Cipher.ENCRYPT_MODE, header, index++, last, buffer, count, encrypted);
+        out.write(encrypted, 0, length);
+        count = 0;
+    }
+
+    private void requireOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            try {
+                writeChunk(true);
+            } finally {
+                out.close();
+            }
+        }
+    }
+}
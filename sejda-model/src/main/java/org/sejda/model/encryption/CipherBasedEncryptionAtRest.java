@@ -18,26 +18,136 @@
  */
 package org.sejda.model.encryption;
 
+import static java.util.Objects.nonNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
 import javax.crypto.Cipher;
 import javax.crypto.CipherInputStream;
 import javax.crypto.CipherOutputStream;
-import java.io.InputStream;
-import java.io.OutputStream;
 
+/**
+ * {@link EncryptionAtRestPolicy} encrypting and decrypting with the ciphers returned by a {@link CipherSupplier}, a new cipher is requested for
+ * every stream.
+ * <p>
+ * Pooling can be enabled for deterministic suppliers, always initializing ciphers with the same key and parameters. Pooled ciphers are reused
+ * once a stream is closed, at that point a cipher is back to the state it had when it was supplied, including its IV. Pooling a cipher that
+ * was initialized with a fresh IV would reuse that IV for every following stream. AEAD ciphers (GCM, CCM, Poly1305) cannot be reused with
+ * the same parameters and are never pooled.
+ * </p>
+ * <p>
+ * Content is encrypted in large buffers. Encryption is sequential, see {@link ChunkedEncryptionAtRest} for a format whose chunks can be
+ * encrypted in parallel.
+ * </p>
+ */
 public class CipherBasedEncryptionAtRest implements EncryptionAtRestPolicy {
-    private CipherSupplier cipherSupplier;
+
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    private final CipherSupplier cipherSupplier;
+    private final boolean pooling;
+    private final Queue<Cipher> encryptCiphers = new ConcurrentLinkedQueue<>();
+    private final Queue<Cipher> decryptCiphers = new ConcurrentLinkedQueue<>();
 
     public CipherBasedEncryptionAtRest(CipherSupplier cipherSupplier) {
+        this(cipherSupplier, false);
+    }
+
+    /**
+     * @param cipherSupplier
+     * @param pooling
+     *            true to pool and reuse the supplied ciphers. Only enable it if the supplier is deterministic, always initializing ciphers with
+     *            the same key and parameters, otherwise the parameters of the pooled ciphers (a random IV for example) end up being reused.
+     */
+    public CipherBasedEncryptionAtRest(CipherSupplier cipherSupplier, boolean pooling) {
         this.cipherSupplier = cipherSupplier;
+        this.pooling = pooling;
     }
 
     @Override
     public InputStream decrypt(InputStream in) {
-        return new CipherInputStream(in, cipherSupplier.get(Cipher.DECRYPT_MODE));
+        return new PooledCipherInputStream(new BufferedInputStream(in, BUFFER_SIZE), acquire(Cipher.DECRYPT_MODE));
     }
 
     @Override
     public OutputStream encrypt(OutputStream out) {
-        return new CipherOutputStream(out, cipherSupplier.get(Cipher.ENCRYPT_MODE));
+        return new BufferedOutputStream(new PooledCipherOutputStream(out, acquire(Cipher.ENCRYPT_MODE)), BUFFER_SIZE);
+    }
+
+    private Cipher acquire(int mode) {
+        Cipher cipher = pool(mode).poll();
+        if (nonNull(cipher)) {
+            return cipher;
+        }
+        return cipherSupplier.get(mode);
+    }
+
+    private void release(int mode, Cipher cipher) {
+        if (pooling && reusable(cipher)) {
+            pool(mode).offer(cipher);
+        }
+    }
+
+    private Queue<Cipher> pool(int mode) {
+        if (mode == Cipher.ENCRYPT_MODE) {
+            return encryptCiphers;
+        }
+        return decryptCiphers;
+    }
+
+    private static boolean reusable(Cipher cipher) {
+        String algorithm = cipher.getAlgorithm().toUpperCase(Locale.ROOT);
+        return !algorithm.contains("GCM") && !algorithm.contains("CCM") && !algorithm.contains("POLY1305");
+    }
+
+    /**
+     * {@link CipherOutputStream} returning the cipher to the pool once successfully closed
+     */
+    private class PooledCipherOutputStream extends CipherOutputStream {
+        private final Cipher cipher;
+        private boolean closed;
+
+        PooledCipherOutputStream(OutputStream out, Cipher cipher) {
+            super(out, cipher);
+            this.cipher = cipher;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                super.close();
+                release(Cipher.ENCRYPT_MODE, cipher);
+            }
+        }
+    }
+
+    /**
+     * {@link CipherInputStream} returning the cipher to the pool once successfully closed
+     */
+    private class PooledCipherInputStream extends CipherInputStream {
+        private final Cipher cipher;
+        private boolean closed;
+
+        PooledCipherInputStream(InputStream in, Cipher cipher) {
+            super(in, cipher);
+            this.cipher = cipher;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                super.close();
+                release(Cipher.DECRYPT_MODE, cipher);
+            }
+        }
     }
 }
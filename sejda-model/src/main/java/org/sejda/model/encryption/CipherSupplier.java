@@ -20,6 +20,16 @@ package org.sejda.model.encryption;
 
 import javax.crypto.Cipher;
 
+/**
+ * Supplier of the ciphers used by a {@link CipherBasedEncryptionAtRest}.
+ */
 public interface CipherSupplier {
+    /**
+     * @param mode
+     *            {@link Cipher#ENCRYPT_MODE} or {@link Cipher#DECRYPT_MODE}
+     * @return a new cipher, initialized for the given mode. Returned ciphers are not shared between streams, but they might be reused for
+     *         following streams when the {@link CipherBasedEncryptionAtRest} is pooling them. In that case every cipher is reused with the key
+     *         and parameters it was initialized with, so a supplier generating a fresh IV on every call must not be used with pooling.
+     */
     Cipher get(int mode);
 }
@@ -0,0 +1,149 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.model.encryption;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.sejda.model.encryption.ChunkedEncryptionAtRest.Header;
+
+/**
+ * {@link OutputStream} writing the content in the {@link ChunkedEncryptionAtRest} format, encrypting chunks in parallel and writing them in
+ * order. Chunks are encrypted on a shared pool but no more than the given parallelism chunks of a stream are pending at any time.
+ */
+class ParallelChunkedEncryptionOutputStream extends OutputStream {
+
+    private final OutputStream out;
+    private final ChunkedEncryptionAtRest policy;
+    private final Header header;
+    private final int parallelism;
+    private final Deque<Future<byte[]>> pending = new ArrayDeque<>();
+    private final byte[] buffer;
+    private int count;
+    private long index;
+    private boolean headerWritten;
+    private boolean closed;
+
+    ParallelChunkedEncryptionOutputStream(OutputStream out, ChunkedEncryptionAtRest policy, Header header, int parallelism) {
+        this.out = requireNonNull(out);
+        this.policy = policy;
+        this.header = header;
+        this.parallelism = parallelism;
+        this.buffer = new byte[header.chunkSize];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        requireOpen();
+        if (count == buffer.length) {
+            submit(false);
+        }
+        buffer[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        requireOpen();
+        while (len > 0) {
+            if (count == buffer.length) {
+                submit(false);
+            }
+            int length = Math.min(len, buffer.length - count);
+            System.arraycopy(b, off, buffer, count, length);
+            count += length;
+            off += length;
+            len -= length;
+        }
+    }
+
+    private void submit(boolean last) throws IOException {
+        if (!headerWritten) {
+            out.write(header.toBytes());
+            headerWritten = true;
+        }
+        while (pending.size() >= parallelism) {
+            writeNext();
+        }
+        byte[] chunk = Arrays.copyOf(buffer, count);
+        long chunkIndex = index++;
+        count = 0;
+        pending.add(ExecutorHolder.EXECUTOR.submit(() -> policy.encrypt(header, chunkIndex, last, chunk)));
+    }
+
+    private void writeNext() throws IOException {
+        try {
+            out.write(pending.poll().get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while encrypting");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Unable to encrypt", e.getCause());
+        }
+    }
+
+    private void requireOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            try {
+                submit(true);
+                while (!pending.isEmpty()) {
+                    writeNext();
+                }
+            } finally {
+                pending.forEach(f -> f.cancel(true));
+                out.close();
+            }
+        }
+    }
+
+    /**
+     * Lazy initialization holder for the executor encrypting the chunks, every stream limits the number of its pending chunks
+     */
+    private static final class ExecutorHolder {
+        static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(
+                new BasicThreadFactory.Builder().namingPattern("sejda-encryption-%d").daemon(true).build());
+    }
+}
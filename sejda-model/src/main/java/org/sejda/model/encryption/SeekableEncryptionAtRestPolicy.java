@@ -0,0 +1,39 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.model.encryption;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.sejda.io.SeekableSource;
+
+/**
+ * An {@link EncryptionAtRestPolicy} whose encrypted files can be read at random positions, decrypting only the portions that are actually read,
+ * without decrypting the whole file to a plain text temporary copy first.
+ */
+public interface SeekableEncryptionAtRestPolicy extends EncryptionAtRestPolicy {
+
+    /**
+     * @param file
+     *            a file encrypted with this policy
+     * @return a {@link SeekableSource} returning the decrypted content of the file
+     * @throws IOException
+     */
+    SeekableSource seekableSourceFrom(File file) throws IOException;
+}
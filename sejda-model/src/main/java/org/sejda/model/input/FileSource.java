@@ -21,6 +21,7 @@ package org.sejda.model.input;
 import org.sejda.io.SeekableSource;
 import org.sejda.io.SeekableSources;
 import org.sejda.model.encryption.NoEncryptionAtRest;
+import org.sejda.model.encryption.SeekableEncryptionAtRestPolicy;
 import org.sejda.model.exception.TaskIOException;
 import org.sejda.model.validation.constraint.IsFile;
 
@@ -65,6 +66,11 @@ public class FileSource extends AbstractSource<File> {
             return SeekableSources.seekableSourceFrom(file);
         }
 
+        if (getEncryptionAtRestPolicy() instanceof SeekableEncryptionAtRestPolicy) {
+            // decrypts only what's read, no plain text temp file
+            return ((SeekableEncryptionAtRestPolicy) getEncryptionAtRestPolicy()).seekableSourceFrom(file);
+        }
+
         return SeekableSources.onTempFileSeekableSourceFrom(
                 getEncryptionAtRestPolicy().decrypt(new FileInputStream(file)), file.getName());
     }
@@ -0,0 +1,412 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.model.input;
+
+import static java.util.Objects.nonNull;
+import static org.sejda.commons.util.RequireUtils.requireArg;
+import static org.sejda.commons.util.RequireUtils.requireState;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.sejda.io.BaseSeekableSource;
+import org.sejda.io.SeekableSource;
+import org.sejda.io.SeekableSources;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link SeekableSource} over a remote document served over HTTP, fetching only the byte ranges that are actually read using HTTP Range
+ * requests. Fetched blocks are kept in a bounded LRU cache, on a miss the following blocks are fetched in the same request (read-ahead). The
+ * last block, where the trailer and the xref are, is fetched right away since it's the first thing the parser reads.
+ */
+class HttpRangeSeekableSource extends BaseSeekableSource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HttpRangeSeekableSource.class);
+
+    static final int DEFAULT_BLOCK_SIZE = 64 * 1024;
+    static final int DEFAULT_READ_AHEAD = 4;
+    static final int DEFAULT_CACHED_BLOCKS = 256;
+    private static final Pattern CONTENT_RANGE = Pattern.compile("bytes\\s+(\\d+)-(\\d+)/(\\d+)");
+
+    private final RemoteBlocks blocks;
+    private final long startingPosition;
+    private final long length;
+    private final boolean view;
+    private long position;
+
+    private HttpRangeSeekableSource(String id, RemoteBlocks blocks, long startingPosition, long length, boolean view) {
+        super(id);
+        this.blocks = blocks;
+        this.startingPosition = startingPosition;
+        this.length = length;
+        this.view = view;
+    }
+
+    /**
+     * Creates a {@link SeekableSource} for the given HTTP(S) url. If the server doesn't support range requests the whole document is
+     * downloaded to a temporary file.
+     * 
+     * @param url
+     * @param name
+     *            name of the document, used as a hint for the temporary file
+     * @return the source
+     * @throws IOException
+     */
+    static SeekableSource open(URL url, String name) throws IOException {
+        return open(url, name, DEFAULT_BLOCK_SIZE, DEFAULT_READ_AHEAD, DEFAULT_CACHED_BLOCKS);
+    }
+
+    static SeekableSource open(URL url, String name, int blockSize, int readAhead, int cachedBlocks)
+            throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setRequestProperty("Range", String.format("bytes=0-%d", ((long) blockSize * readAhead) - 1));
+        int status = connection.getResponseCode();
+        if (status == HttpURLConnection.HTTP_PARTIAL) {
+            Matcher range = CONTENT_RANGE.matcher(String.valueOf(connection.getHeaderField("Content-Range")));
+            if (range.matches() && Long.parseLong(range.group(1)) == 0) {
+                long size = Long.parseLong(range.group(3));
+                RemoteBlocks blocks = new RemoteBlocks(url, size, blockSize, readAhead, cachedBlocks,
+                        validator(connection));
+                long served = blocks.served(connection.getHeaderField("Content-Range"), 0);
+                if (served >= 0) {
+                    try (InputStream in = connection.getInputStream()) {
+                        blocks.store(0, served, in);
+                    }
+                    LOG.debug("Range requests supported for {} of {} bytes", url, size);
+                    blocks.fetchLast();
+                    return new HttpRangeSeekableSource(url.toString(), blocks, 0, size, false);
+                }
+            }
+            connection.disconnect();
+            LOG.debug("Unexpected Content-Range for {}, downloading the whole document", url);
+            return SeekableSources.onTempFileSeekableSourceFrom(url.openStream(), name);
+        }
+        if (status == HttpURLConnection.HTTP_OK) {
+            LOG.debug("Range requests not supported for {}, downloading the whole document", url);
+            return SeekableSources.onTempFileSeekableSourceFrom(connection.getInputStream(), name);
+        }
+        connection.disconnect();
+        LOG.debug("Range request for {} failed with status {}, downloading the whole document", url, status);
+        return SeekableSources.onTempFileSeekableSourceFrom(url.openStream(), name);
+    }
+
+    /**
+     * @return the value to use in the If-Range header so that we fail instead of mixing blocks of different versions of the document
+     */
+    private static String validator(URLConnection connection) {
+        String etag = connection.getHeaderField("ETag");
+        if (nonNull(etag) && !etag.startsWith("W/")) {
+            return etag;
+        }
+        return connection.getHeaderField("Last-Modified");
+    }
+
+    @Override
+    public long position() {
+        return position;
+    }
+
+    @Override
+    public SeekableSource position(long position) {
+        requireArg(position >= 0, "Cannot set position to a negative value");
+        this.position = Math.min(position, length);
+        return this;
+    }
+
+    @Override
+    public long size() {
+        return length;
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        requireOpen();
+        if (position >= length) {
+            return -1;
+        }
+        int read = 0;
+        while (dst.hasRemaining() && position < length) {
+            long absolute = startingPosition + position;
+            byte[] block = blocks.block(absolute / blocks.blockSize);
+            int offset = (int) (absolute % blocks.blockSize);
+            int count = (int) Math.min(Math.min(dst.remaining(), block.length - offset), length - position);
+            dst.put(block, offset, count);
+            position += count;
+            read += count;
+        }
+        return read;
+    }
+
+    @Override
+    public int read() throws IOException {
+        requireOpen();
+        if (position >= length) {
+            return -1;
+        }
+        long absolute = startingPosition + position;
+        position++;
+        return blocks.block(absolute / blocks.blockSize)[(int) (absolute % blocks.blockSize)] & 0xFF;
+    }
+
+    @Override
+    public SeekableSource view(long startingPosition, long length) throws IOException {
+        requireOpen();
+        requireArg(startingPosition >= 0 && length >= 0 && startingPosition + length <= this.length,
+                "Invalid view boundaries");
+        return new HttpRangeSeekableSource(id(), blocks, this.startingPosition + startingPosition, length, true);
+    }
+
+    @Override
+    public void requireOpen() throws IOException {
+        super.requireOpen();
+        requireState(blocks.isOpen(), "The original SeekableSource has been closed");
+    }
+
+    @Override
+    public void close() throws IOException {
+        super.close();
+        if (!view) {
+            blocks.close();
+        }
+    }
+
+    /**
+     * Blocks of the remote document, fetched on demand and cached. Shared by a source and its views. Blocks are fetched outside the lock, a
+     * block that is already being fetched by some other thread is awaited instead of being fetched again.
+     */
+    static class RemoteBlocks {
+        private final URL url;
+        private final long size;
+        final int blockSize;
+        private final int readAhead;
+        private final String validator;
+        private final Map<Long, byte[]> cache;
+        private final Map<Long, CompletableFuture<byte[]>> inFlight = new HashMap<>();
+        private long fetchedBytes;
+        private boolean closed;
+
+        RemoteBlocks(URL url, long size, int blockSize, int readAhead, int cachedBlocks, String validator) {
+            requireArg(blockSize > 0 && readAhead > 0 && cachedBlocks > 0, "Invalid block cache configuration");
+            this.url = url;
+            this.size = size;
+            this.blockSize = blockSize;
+            this.readAhead = readAhead;
+            this.validator = validator;
+            this.cache = new LinkedHashMap<Long, byte[]>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, byte[]> eldest) {
+                    return size() > cachedBlocks;
+                }
+            };
+        }
+
+        byte[] block(long index) throws IOException {
+            while (true) {
+                CompletableFuture<byte[]> fetching;
+                long last;
+                synchronized (this) {
+                    requireState(!closed, "The original SeekableSource has been closed");
+                    byte[] block = cache.get(index);
+                    if (nonNull(block)) {
+                        return block;
+                    }
+                    fetching = inFlight.get(index);
+                    last = index;
+                    if (fetching == null) {
+                        while (last + 1 < Math.min(blocks(), index + readAhead) && !cache.containsKey(last + 1)
+                                && !inFlight.containsKey(last + 1)) {
+                            last++;
+                        }
+                        for (long i = index; i <= last; i++) {
+                            inFlight.put(i, new CompletableFuture<>());
+                        }
+                    }
+                }
+                if (fetching == null) {
+                    return fetch(index, last);
+                }
+                byte[] block = await(fetching, index);
+                // null if the server sent a shorter range than requested, we try again
+                if (nonNull(block)) {
+                    return block;
+                }
+            }
+        }
+
+        private byte[] await(CompletableFuture<byte[]> fetching, long index) throws IOException {
+            try {
+                return fetching.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for block " + index + " of " + url);
+            } catch (ExecutionException e) {
+                throw new IOException("Unable to fetch block " + index + " of " + url, e.getCause());
+            }
+        }
+
+        void fetchLast() throws IOException {
+            if (size > 0) {
+                block((size - 1) / blockSize);
+            }
+        }
+
+        private long blocks() {
+            return (size + blockSize - 1) / blockSize;
+        }
+
+        /**
+         * Fetches the blocks from first to last (inclusive) and completes their in flight futures
+         * 
+         * @return the first block
+         */
+        private byte[] fetch(long first, long last) throws IOException {
+            List<byte[]> fetched;
+            try {
+                fetched = request(first, last);
+            } catch (Throwable e) {
+                synchronized (this) {
+                    for (long i = first; i <= last; i++) {
+                        inFlight.remove(i).completeExceptionally(e);
+                    }
+                }
+                throw e;
+            }
+            synchronized (this) {
+                for (long i = first; i <= last; i++) {
+                    int fetchedIndex = (int) (i - first);
+                    inFlight.remove(i).complete(fetchedIndex < fetched.size() ? fetched.get(fetchedIndex) : null);
+                }
+            }
+            return fetched.get(0);
+        }
+
+        private List<byte[]> request(long first, long last) throws IOException {
+            long from = first * blockSize;
+            long to = Math.min(size, (last + 1) * blockSize);
+            LOG.trace("Fetching bytes {}-{} of {}", from, to - 1, url);
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            connection.setRequestProperty("Range", String.format("bytes=%d-%d", from, to - 1));
+            if (nonNull(validator)) {
+                connection.setRequestProperty("If-Range", validator);
+            }
+            try {
+                if (connection.getResponseCode() != HttpURLConnection.HTTP_PARTIAL) {
+                    throw new IOException(String.format("Unable to fetch bytes %d-%d of %s, status %d", from, to - 1,
+                            url, connection.getResponseCode()));
+                }
+                String contentRange = connection.getHeaderField("Content-Range");
+                long served = served(contentRange, from);
+                if (served <= from) {
+                    throw new IOException(String.format("Unexpected Content-Range %s fetching bytes %d-%d of %s",
+                            contentRange, from, to - 1, url));
+                }
+                try (InputStream in = connection.getInputStream()) {
+                    return store(from, Math.min(to, served), in);
+                }
+            } finally {
+                connection.disconnect();
+            }
+        }
+        /**
+         * Servers can respond to a range request with a shorter range than the requested one, only the whole blocks of the response are stored.
+         * 
+         * @param contentRange
+         *            the Content-Range header of a partial response to a request starting at the given position
+         * @param from
+         *            the beginning of a block
+         * @return the end (exclusive) of the whole blocks served by the response or -1 if the response doesn't match the request or the
+         *         document
+         */
+        long served(String contentRange, long from) {
+            Matcher range = CONTENT_RANGE.matcher(String.valueOf(contentRange));
+            if (!range.matches() || Long.parseLong(range.group(1)) != from || Long.parseLong(range.group(3)) != size) {
+                return -1;
+            }
+            long end = Long.parseLong(range.group(2)) + 1;
+            if (end <= from || end > size) {
+                return -1;
+            }
+            if (end == size) {
+                return end;
+            }
+            return from + ((end - from) / blockSize) * blockSize;
+        }
+
+        /**
+         * Reads the range [from, to) from the given stream into blocks and caches them, from must be at the beginning of a block
+         * 
+         * @return the blocks
+         */
+        List<byte[]> store(long from, long to, InputStream in) throws IOException {
+            List<byte[]> blocks = new ArrayList<>();
+            long position = from;
+            while (position < to) {
+                byte[] block = new byte[(int) Math.min(blockSize, size - position)];
+                int read = 0;
+                while (read < block.length) {
+                    int count = in.read(block, read, block.length - read);
+                    if (count < 0) {
+                        throw new EOFException("Unexpected end of response fetching " + url);
+                    }
+                    read += count;
+                }
+                blocks.add(block);
+                position += block.length;
+            }
+            synchronized (this) {
+                if (!closed) {
+                    for (int i = 0; i < blocks.size(); i++) {
+                        cache.put((from / blockSize) + i, blocks.get(i));
+                    }
+                }
+                fetchedBytes += to - from;
+            }
+            return blocks;
+        }
+
+        synchronized long fetchedBytes() {
+            return fetchedBytes;
+        }
+
+        synchronized boolean isOpen() {
+            return !closed;
+        }
+
+        synchronized void close() {
+            closed = true;
+            cache.clear();
+        }
+    }
+}
@@ -24,9 +24,11 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 
+import org.sejda.io.MemoryMappedSeekableSource;
 import org.sejda.io.SeekableSource;
 import org.sejda.io.SeekableSources;
 import org.sejda.model.encryption.NoEncryptionAtRest;
+import org.sejda.model.encryption.SeekableEncryptionAtRestPolicy;
 import org.sejda.model.exception.TaskIOException;
 import org.sejda.model.validation.constraint.PdfFile;
 
@@ -38,6 +40,13 @@ import org.sejda.model.validation.constraint.PdfFile;
  */
 public class PdfFileSource extends AbstractPdfSource<File> {
 
+    /**
+     * When set to true, not encrypted files are always read through a memory mapped source, regardless of their size. The mapping is segmented,
+     * so files larger than 2GB are supported, reads are served by the OS page cache without copying to an intermediate buffer and concurrent
+     * readers of the same source share the mapping. Ignored on 32 bit JVMs.
+     */
+    public static final String MEMORY_MAPPED_PROPERTY_NAME = "sejda.input.memory.mapped";
+
     @PdfFile
     private final File file;
 
@@ -59,10 +68,18 @@ public class PdfFileSource extends AbstractPdfSource<File> {
     @Override
     SeekableSource initializeSeekableSource() throws IOException {
         if(getEncryptionAtRestPolicy() instanceof NoEncryptionAtRest) {
+            if (Boolean.getBoolean(MEMORY_MAPPED_PROPERTY_NAME) && !"32".equals(System.getProperty("sun.arch.data.model"))) {
+                return new MemoryMappedSeekableSource(file);
+            }
             // optimization: avoid the temp file seekable source
             return SeekableSources.seekableSourceFrom(file);
         }
 
+        if (getEncryptionAtRestPolicy() instanceof SeekableEncryptionAtRestPolicy) {
+            // decrypts only what's read, no plain text temp file
+            return ((SeekableEncryptionAtRestPolicy) getEncryptionAtRestPolicy()).seekableSourceFrom(file);
+        }
+
         // passes a filename hint
         return SeekableSources.onTempFileSeekableSourceFrom(
                 getEncryptionAtRestPolicy().decrypt(new FileInputStream(file)), file.getName());
@@ -20,8 +20,8 @@
  */
 package org.sejda.model.input;
 
+import org.sejda.core.support.io.IOUtils;
 import org.sejda.io.SeekableSource;
-import org.sejda.io.SeekableSources;
 import org.sejda.model.exception.TaskIOException;
 
 import javax.validation.constraints.NotNull;
@@ -56,7 +56,7 @@ public final class PdfStreamSource extends AbstractPdfSource<InputStream> {
 
     @Override
     public SeekableSource initializeSeekableSource() throws IOException {
-        return SeekableSources.onTempFileSeekableSourceFrom(getEncryptionAtRestPolicy().decrypt(stream), getName());
+        return IOUtils.spooledSeekableSourceFrom(getEncryptionAtRestPolicy().decrypt(stream), getName());
     }
 
     /**
@@ -28,6 +28,7 @@ import javax.validation.constraints.NotNull;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.sejda.io.SeekableSource;
 import org.sejda.io.SeekableSources;
+import org.sejda.model.encryption.NoEncryptionAtRest;
 import org.sejda.model.exception.TaskIOException;
 
 /**
@@ -58,10 +59,18 @@ public final class PdfURLSource extends AbstractPdfSource<URL> {
 
     @Override
     public SeekableSource initializeSeekableSource() throws IOException {
+        if (getEncryptionAtRestPolicy() instanceof NoEncryptionAtRest && isHttp()) {
+            // fetches only what's read, when the server supports it
+            return HttpRangeSeekableSource.open(url, getName());
+        }
         return SeekableSources.onTempFileSeekableSourceFrom(
                 getEncryptionAtRestPolicy().decrypt(url.openStream()), getName());
     }
 
+    private boolean isHttp() {
+        return "http".equalsIgnoreCase(url.getProtocol()) || "https".equalsIgnoreCase(url.getProtocol());
+    }
+
     @Override
     public String toString() {
         return new ToStringBuilder(this).appendSuper(super.toString()).append(url).toString();
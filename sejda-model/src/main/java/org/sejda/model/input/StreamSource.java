@@ -23,8 +23,8 @@ import java.io.InputStream;
 
 import javax.validation.constraints.NotNull;
 
+import org.sejda.core.support.io.IOUtils;
 import org.sejda.io.SeekableSource;
-import org.sejda.io.SeekableSources;
 import org.sejda.model.exception.TaskIOException;
 
 /**
@@ -54,7 +54,7 @@ public class StreamSource extends AbstractSource<InputStream> {
 
     @Override
     public SeekableSource initializeSeekableSource() throws IOException {
-        return SeekableSources.onTempFileSeekableSourceFrom(getEncryptionAtRestPolicy().decrypt(stream), getName());
+        return IOUtils.spooledSeekableSourceFrom(getEncryptionAtRestPolicy().decrypt(stream), getName());
     }
 
     public static StreamSource newInstance(InputStream stream, String name) {
@@ -0,0 +1,44 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.model.notification.event;
+
+import org.sejda.model.task.NotifiableTaskMetadata;
+
+/**
+ * Event thrown when an execution is stopped because it has been cancelled or because its deadline expired. It's notified in place of the
+ * {@link TaskExecutionFailedEvent}.
+ */
+public class TaskExecutionCancelledEvent extends AbstractNotificationEvent {
+
+    private static final long serialVersionUID = -2405378409812342365L;
+
+    private boolean timedOut;
+
+    public TaskExecutionCancelledEvent(boolean timedOut, NotifiableTaskMetadata taskMetadata) {
+        super(taskMetadata);
+        this.timedOut = timedOut;
+    }
+
+    /**
+     * @return true if the task has been stopped because its deadline expired
+     */
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+}
@@ -22,6 +22,7 @@ package org.sejda.model.notification.event;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
 import org.sejda.model.task.NotifiableTaskMetadata;
+import org.sejda.model.task.TaskMetrics;
 
 /**
  * Event thrown when an execution completes without errors.
@@ -34,6 +35,7 @@ public class TaskExecutionCompletedEvent extends AbstractNotificationEvent {
     private static final long serialVersionUID = -2839444329684682481L;
 
     private long executionTime = -1;
+    private TaskMetrics metrics;
 
     /**
      * Creates an instance specifying the execution time, the number of millis from the task to complete.
@@ -46,6 +48,19 @@ public class TaskExecutionCompletedEvent extends AbstractNotificationEvent {
         this.executionTime = executionTime;
     }
 
+    /**
+     * Creates an instance specifying the execution time, the number of millis from the task to complete, and the metrics collected
+     * during the execution.
+     * 
+     * @param executionTime
+     * @param metrics
+     * @param taskMetadata
+     */
+    public TaskExecutionCompletedEvent(long executionTime, TaskMetrics metrics, NotifiableTaskMetadata taskMetadata) {
+        this(executionTime, taskMetadata);
+        this.metrics = metrics;
+    }
+
     /**
      * 
      * @return the number of millis from the task to complete or -1 if not specified.
@@ -54,10 +69,17 @@ public class TaskExecutionCompletedEvent extends AbstractNotificationEvent {
         return executionTime;
     }
 
+    /**
+     * @return the metrics collected during the execution or null if not specified.
+     */
+    public TaskMetrics getMetrics() {
+        return metrics;
+    }
+
     @Override
     public String toString() {
         return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).appendSuper(super.toString())
-                .append("executionTime", executionTime).toString();
+                .append("executionTime", executionTime).append("metrics", metrics).toString();
     }
 
 }
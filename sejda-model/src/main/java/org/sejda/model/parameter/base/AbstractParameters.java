@@ -19,6 +19,8 @@
  */
 package org.sejda.model.parameter.base;
 
+import static java.util.Optional.ofNullable;
+
 import javax.validation.constraints.NotNull;
 
 import org.apache.commons.lang3.builder.EqualsBuilder;
@@ -35,6 +37,7 @@ public abstract class AbstractParameters implements TaskParameters {
     @NotNull
     private ExistingOutputPolicy existingOutputPolicy = ExistingOutputPolicy.FAIL;
     private boolean lenient = false;
+    private TaskBudget budget = TaskBudget.UNLIMITED;
 
     @Override
     public ExistingOutputPolicy getExistingOutputPolicy() {
@@ -56,9 +59,19 @@ public abstract class AbstractParameters implements TaskParameters {
         this.lenient = lenient;
     }
 
+    @Override
+    public TaskBudget getBudget() {
+        return budget;
+    }
+
+    @Override
+    public void setBudget(TaskBudget budget) {
+        this.budget = ofNullable(budget).orElse(TaskBudget.UNLIMITED);
+    }
+
     @Override
     public int hashCode() {
-        return new HashCodeBuilder().append(existingOutputPolicy).append(lenient).toHashCode();
+        return new HashCodeBuilder().append(existingOutputPolicy).append(lenient).append(budget).toHashCode();
     }
 
     @Override
@@ -71,7 +84,7 @@ public abstract class AbstractParameters implements TaskParameters {
         }
         AbstractParameters parameter = (AbstractParameters) other;
         return new EqualsBuilder().append(existingOutputPolicy, parameter.existingOutputPolicy)
-                .append(lenient, parameter.lenient).isEquals();
+                .append(lenient, parameter.lenient).append(budget, parameter.budget).isEquals();
     }
 
     @Override
@@ -0,0 +1,118 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.model.parameter.base;
+
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+/**
+ * Limits to the resources a task can use. A task exceeding its budget fails as soon as the excess is detected. A zero value means no
+ * limit.
+ */
+public final class TaskBudget implements Serializable {
+
+    private static final long serialVersionUID = -3473806218370441580L;
+
+    /**
+     * A budget with no limits
+     */
+    public static final TaskBudget UNLIMITED = new TaskBudget(0, 0, 0);
+
+    private final long maxTempBytes;
+    private final int maxOutputFiles;
+    private final long maxWallTime;
+
+    private TaskBudget(long maxTempBytes, int maxOutputFiles, long maxWallTime) {
+        if (maxTempBytes < 0 || maxOutputFiles < 0 || maxWallTime < 0) {
+            throw new IllegalArgumentException("Budget limits cannot be negative");
+        }
+        this.maxTempBytes = maxTempBytes;
+        this.maxOutputFiles = maxOutputFiles;
+        this.maxWallTime = maxWallTime;
+    }
+
+    /**
+     * @param bytes
+     * @return a copy of this budget where the temporary buffers created by the task cannot exceed the given number of bytes
+     */
+    public TaskBudget maxTempBytes(long bytes) {
+        return new TaskBudget(bytes, maxOutputFiles, maxWallTime);
+    }
+
+    /**
+     * @param files
+     * @return a copy of this budget where the task cannot generate more than the given number of output files
+     */
+    public TaskBudget maxOutputFiles(int files) {
+        return new TaskBudget(maxTempBytes, files, maxWallTime);
+    }
+
+    /**
+     * @param time
+     * @param unit
+     * @return a copy of this budget where the task cannot run longer than the given time
+     */
+    public TaskBudget maxWallTime(long time, TimeUnit unit) {
+        return new TaskBudget(maxTempBytes, maxOutputFiles, unit.toMillis(time));
+    }
+
+    public long getMaxTempBytes() {
+        return maxTempBytes;
+    }
+
+    public int getMaxOutputFiles() {
+        return maxOutputFiles;
+    }
+
+    /**
+     * @return the max number of millis the task can run
+     */
+    public long getMaxWallTime() {
+        return maxWallTime;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).append("maxTempBytes", maxTempBytes)
+                .append("maxOutputFiles", maxOutputFiles).append("maxWallTime", maxWallTime).toString();
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder().append(maxTempBytes).append(maxOutputFiles).append(maxWallTime).toHashCode();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof TaskBudget)) {
+            return false;
+        }
+        TaskBudget budget = (TaskBudget) other;
+        return new EqualsBuilder().append(maxTempBytes, budget.maxTempBytes)
+                .append(maxOutputFiles, budget.maxOutputFiles).append(maxWallTime, budget.maxWallTime).isEquals();
+    }
+}
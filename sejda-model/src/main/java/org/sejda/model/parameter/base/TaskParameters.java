@@ -59,4 +59,21 @@ public interface TaskParameters {
      *            true if the task has to be executed in lenient mode, trying to overcome execution errors
      */
     void setLenient(boolean lenient);
+
+    /**
+     * @return the limits to the resources the task can use, never null. By default the task has no limits.
+     */
+    default TaskBudget getBudget() {
+        return TaskBudget.UNLIMITED;
+    }
+
+    /**
+     * @param budget
+     *            the limits to the resources the task can use, null means no limit
+     * @throws UnsupportedOperationException
+     *             by default, for parameters that don't support a budget
+     */
+    default void setBudget(TaskBudget budget) {
+        throw new UnsupportedOperationException("Parameters don't support a budget: " + getClass().getName());
+    }
 }
@@ -0,0 +1,77 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.model.task;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token used to cooperatively stop a running task. Tasks check the token between units of work (typically pages) through
+ * {@link TaskExecutionContext#assertNotCancelled()} and stop as soon as the token is cancelled or its deadline expires.
+ */
+public final class CancellationToken {
+
+    private volatile boolean cancelled = false;
+    private final boolean hasDeadline;
+    private final long deadline;
+
+    /**
+     * Creates a token with no deadline
+     */
+    public CancellationToken() {
+        this(false, 0);
+    }
+
+    private CancellationToken(boolean hasDeadline, long deadline) {
+        this.hasDeadline = hasDeadline;
+        this.deadline = deadline;
+    }
+
+    /**
+     * @param timeout
+     * @param unit
+     * @return a token that times out once the given timeout from now has elapsed
+     */
+    public static CancellationToken withTimeout(long timeout, TimeUnit unit) {
+        if (timeout < 0) {
+            throw new IllegalArgumentException("Timeout cannot be negative");
+        }
+        return new CancellationToken(true, System.nanoTime() + unit.toNanos(timeout));
+    }
+
+    /**
+     * Requests the cancellation of the task using this token
+     */
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    /**
+     * @return true if the cancellation has been requested
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * @return true if the token has a deadline and the deadline has expired
+     */
+    public boolean isTimedOut() {
+        return hasDeadline && System.nanoTime() - deadline >= 0;
+    }
+}
@@ -51,6 +51,8 @@ public class NotifiableTaskMetadata implements Serializable {
     private UUID taskIdentifier;
     private String qualifiedName;
     private List<File> taskOutput = new ArrayList<>();
+    private List<String> taskWarnings = new ArrayList<>();
+    private final ProgressThrottle progressThrottle = new ProgressThrottle();
 
     private NotifiableTaskMetadata() {
         // empty constructor
@@ -91,6 +93,26 @@ public class NotifiableTaskMetadata implements Serializable {
         return Collections.unmodifiableList(taskOutput);
     }
 
+    public void addTaskWarning(String warning) {
+        if (nonNull(warning)) {
+            taskWarnings.add(warning);
+        }
+    }
+
+    /**
+     * @return the list of warnings notified by the task during its execution
+     */
+    public List<String> taskWarnings() {
+        return Collections.unmodifiableList(taskWarnings);
+    }
+
+    /**
+     * @return the throttle deciding which progress notifications of the task are sent to listeners
+     */
+    public ProgressThrottle progressThrottle() {
+        return progressThrottle;
+    }
+
     @Override
     public int hashCode() {
         return new HashCodeBuilder().append(taskIdentifier).append(qualifiedName).toHashCode();
@@ -134,5 +156,20 @@ public class NotifiableTaskMetadata implements Serializable {
         public String getQualifiedName() {
             return StringUtils.EMPTY;
         }
+
+        @Override
+        public void addTaskOutput(File output) {
+            // nothing
+        }
+
+        @Override
+        public void addTaskWarning(String warning) {
+            // nothing
+        }
+
+        @Override
+        public ProgressThrottle progressThrottle() {
+            return ProgressThrottle.NONE;
+        }
     }
 }
@@ -0,0 +1,73 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.model.task;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * Decides which progress notifications of a task are worth sending to listeners. A progress is notified if it's the first one, if it
+ * reaches the max percentage or if it moved by at least one percentage point and enough time has passed since the last notified one.
+ */
+public class ProgressThrottle implements Serializable {
+
+    private static final long serialVersionUID = -2567924314960418371L;
+    // PercentageOfWorkDoneChangedEvent.MAX_PERGENTAGE, the event package depends on this one
+    private static final BigDecimal MAX_PERCENTAGE = new BigDecimal("100");
+
+    /**
+     * A throttle letting every progress through
+     */
+    public static final ProgressThrottle NONE = new ProgressThrottle() {
+
+        private static final long serialVersionUID = 3180525659512718302L;
+
+        @Override
+        public boolean tryAcquire(BigDecimal percentage, long minIntervalNanos) {
+            return true;
+        }
+    };
+
+    private BigDecimal lastPercentage;
+    private long lastNanos;
+
+    /**
+     * @param percentage
+     *            the progress to notify
+     * @param minIntervalNanos
+     *            min number of nanoseconds between two notified progresses, 0 to notify every progress
+     * @return true if the given progress should be notified
+     */
+    public synchronized boolean tryAcquire(BigDecimal percentage, long minIntervalNanos) {
+        long now = System.nanoTime();
+        if (minIntervalNanos <= 0 || lastPercentage == null || mustNotify(percentage)
+                || (percentage.subtract(lastPercentage).abs().compareTo(BigDecimal.ONE) >= 0
+                        && now - lastNanos >= minIntervalNanos)) {
+            lastPercentage = percentage;
+            lastNanos = now;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean mustNotify(BigDecimal percentage) {
+        return percentage.compareTo(MAX_PERCENTAGE) >= 0
+                && lastPercentage.compareTo(percentage) != 0;
+    }
+}
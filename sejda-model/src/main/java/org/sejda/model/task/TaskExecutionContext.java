@@ -19,10 +19,23 @@
 package org.sejda.model.task;
 
 import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Optional.ofNullable;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.apache.commons.lang3.time.DurationFormatUtils;
 import org.apache.commons.lang3.time.StopWatch;
+import org.sejda.model.exception.TaskBudgetExceededException;
+import org.sejda.model.exception.TaskCancelledException;
 import org.sejda.model.exception.TaskNonLenientExecutionException;
+import org.sejda.model.parameter.base.TaskBudget;
 import org.sejda.model.parameter.base.TaskParameters;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,14 +53,30 @@ public class TaskExecutionContext {
     private Task<? extends TaskParameters> task;
     private boolean lenient;
     private int outputDocumentsCounter = 0;
+    private CancellationToken cancellationToken;
+    private TaskBudget budget = TaskBudget.UNLIMITED;
+    private long accountedTempBytes = 0;
+    private final Map<File, Long> temporaryBuffers = new HashMap<>();
+    private File currentTemporaryBuffer;
+    private TaskMetrics metrics = new TaskMetrics();
+    private final Deque<Closeable> temporaryResources = new ArrayDeque<>();
 
     public TaskExecutionContext(Task<? extends TaskParameters> task, boolean lenient) {
+        this(task, lenient, new CancellationToken());
+    }
+
+    public TaskExecutionContext(Task<? extends TaskParameters> task, boolean lenient,
+            CancellationToken cancellationToken) {
         if (isNull(task)) {
             throw new IllegalArgumentException("Task cannot be null");
         }
+        if (isNull(cancellationToken)) {
+            throw new IllegalArgumentException("Cancellation token cannot be null");
+        }
         this.taskMetadata = new NotifiableTaskMetadata(task);
         this.task = task;
         this.lenient = lenient;
+        this.cancellationToken = cancellationToken;
     }
 
     public NotifiableTaskMetadata notifiableTaskMetadata() {
@@ -65,6 +94,7 @@ public class TaskExecutionContext {
 
     public void taskEnded() {
         stopWatch.stop();
+        metrics.executionTime(stopWatch.getTime());
         LOG.info("Task ({}) executed in {}", task,
                 DurationFormatUtils.formatDurationWords(stopWatch.getTime(), true, true));
     }
@@ -73,6 +103,10 @@ public class TaskExecutionContext {
         return stopWatch.getTime();
     }
 
+    public TaskMetrics metrics() {
+        return metrics;
+    }
+
     public int incrementAndGetOutputDocumentsCounter() {
         return ++outputDocumentsCounter;
     }
@@ -104,4 +138,148 @@ public class TaskExecutionContext {
             throw new TaskNonLenientExecutionException(message);
         }
     }
+
+    public CancellationToken cancellationToken() {
+        return cancellationToken;
+    }
+
+    /**
+     * Tasks are expected to call this between units of work (Ex. pages) so they can be stopped cooperatively
+     * 
+     * @throws TaskCancelledException
+     *             if the task has been cancelled or its deadline expired
+     */
+    public void assertNotCancelled() throws TaskCancelledException {
+        if (cancellationToken.isCancelled()) {
+            throw new TaskCancelledException("Task has been cancelled", false);
+        }
+        if (cancellationToken.isTimedOut()) {
+            throw new TaskCancelledException("Task deadline expired", true);
+        }
+        if (budget.getMaxWallTime() > 0 && stopWatch.isStarted() && stopWatch.getTime() > budget.getMaxWallTime()) {
+            throw new TaskCancelledException(
+                    String.format("Task exceeded its max wall time of %dms", budget.getMaxWallTime()), true);
+        }
+    }
+
+    public TaskBudget budget() {
+        return budget;
+    }
+
+    /**
+     * @param budget
+     *            the limits to the resources the task can use, null means no limit
+     */
+    public void budget(TaskBudget budget) {
+        this.budget = ofNullable(budget).orElse(TaskBudget.UNLIMITED);
+    }
+
+    /**
+     * Accounts for a temporary buffer created by the task. Buffers are written after they are created so the size of a buffer is
+     * accounted when the following one is created, this keeps the cost constant for tasks creating a large number of buffers. Buffers are
+     * measured again when they are written to the task output, see {@link #temporaryBufferWritten(File)}, and when the task ends, see
+     * {@link #assertTemporaryBuffersWithinBudget()}.
+     * 
+     * @param buffer
+     * @throws TaskBudgetExceededException
+     *             if the temporary buffers created so far exceed the task budget
+     */
+    public void temporaryBufferCreated(File buffer) throws TaskBudgetExceededException {
+        metrics.temporaryFileCreated();
+        if (budget.getMaxTempBytes() > 0) {
+            temporaryBuffers.put(buffer, 0L);
+            File previous = currentTemporaryBuffer;
+            currentTemporaryBuffer = buffer;
+            if (nonNull(previous)) {
+                account(previous);
+            }
+            assertTemporaryBytesWithinBudget();
+        }
+    }
+
+    /**
+     * Accounts for the content of a temporary buffer that has been completely written and is about to be moved to the task output, once moved
+     * the buffer cannot be measured anymore. Files that are not temporary buffers of the task are ignored.
+     * 
+     * @param buffer
+     * @throws TaskBudgetExceededException
+     *             if the temporary buffers created so far exceed the task budget
+     */
+    public void temporaryBufferWritten(File buffer) throws TaskBudgetExceededException {
+        if (budget.getMaxTempBytes() > 0) {
+            account(buffer);
+            assertTemporaryBytesWithinBudget();
+        }
+    }
+
+    /**
+     * Measures all the temporary buffers created by the task, this is expected to be called once the task is executed so that the budget is
+     * checked even for buffers written after the last one was created and never moved to the task output.
+     * 
+     * @throws TaskBudgetExceededException
+     *             if the temporary buffers created by the task exceed the task budget
+     */
+    public void assertTemporaryBuffersWithinBudget() throws TaskBudgetExceededException {
+        if (budget.getMaxTempBytes() > 0) {
+            temporaryBuffers.keySet().forEach(this::account);
+            assertTemporaryBytesWithinBudget();
+        }
+    }
+
+    /**
+     * The accounted size of a buffer never decreases, a buffer that has been moved or deleted measures 0 bytes
+     */
+    private void account(File buffer) {
+        Long accounted = temporaryBuffers.get(buffer);
+        if (nonNull(accounted)) {
+            long length = buffer.length();
+            if (length > accounted) {
+                temporaryBuffers.put(buffer, length);
+                accountedTempBytes += length - accounted;
+            }
+        }
+    }
+
+    private void assertTemporaryBytesWithinBudget() throws TaskBudgetExceededException {
+        if (accountedTempBytes > budget.getMaxTempBytes()) {
+            throw new TaskBudgetExceededException(String.format(
+                    "Task temporary buffers exceeded the budget of %d bytes", budget.getMaxTempBytes()));
+        }
+    }
+
+    /**
+     * Registers a temporary resource created by the task, the resource is closed when the task execution is over, no matter the outcome.
+     * 
+     * @param resource
+     */
+    public void temporaryResourceCreated(Closeable resource) {
+        temporaryResources.push(resource);
+    }
+
+    /**
+     * Closes the temporary resources created by the task in reverse creation order
+     */
+    public void releaseTemporaryResources() {
+        while (!temporaryResources.isEmpty()) {
+            Closeable resource = temporaryResources.pop();
+            try {
+                resource.close();
+            } catch (IOException | RuntimeException e) {
+                LOG.warn("Unable to release temporary resource " + resource, e);
+            }
+        }
+    }
+
+    /**
+     * @param outputs
+     *            number of output files the task is generating
+     * @throws TaskBudgetExceededException
+     *             if the number of outputs exceeds the task budget
+     */
+    public void assertOutputsWithinBudget(int outputs) throws TaskBudgetExceededException {
+        if (budget.getMaxOutputFiles() > 0 && outputs > budget.getMaxOutputFiles()) {
+            throw new TaskBudgetExceededException(
+                    String.format("Task output files exceeded the budget of %d files", budget.getMaxOutputFiles()));
+        }
+    }
 }
@@ -0,0 +1,148 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.model.task;
+
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+/**
+ * Metrics collected during a task execution: time spent in each {@link TaskPhase}, bytes read and written, pages processed and temporary
+ * files created. Phases can nest (Ex. pages import while opening a source) so the phases timings don't necessarily add up to the
+ * execution time.
+ */
+public class TaskMetrics implements Serializable {
+
+    private static final long serialVersionUID = 5113968473516207795L;
+
+    private final AtomicLongArray phases = new AtomicLongArray(TaskPhase.values().length);
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private final AtomicLong pagesProcessed = new AtomicLong();
+    private final AtomicLong temporaryFiles = new AtomicLong();
+    private volatile long executionTime = 0;
+
+    /**
+     * Starts timing the given phase, the returned timer adds the elapsed time to the phase once closed:
+     * <code>
+     * try (Timer timer = metrics.start(TaskPhase.SAVE)) {
+     *     ...
+     * }
+     * </code>
+     * 
+     * @param phase
+     * @return the started timer
+     */
+    public Timer start(TaskPhase phase) {
+        long start = System.nanoTime();
+        return () -> phases.addAndGet(phase.ordinal(), System.nanoTime() - start);
+    }
+
+    public void bytesRead(long bytes) {
+        bytesRead.addAndGet(bytes);
+    }
+
+    public void bytesWritten(long bytes) {
+        bytesWritten.addAndGet(bytes);
+    }
+
+    public void pageProcessed() {
+        pagesProcessed.incrementAndGet();
+    }
+
+    public void temporaryFileCreated() {
+        temporaryFiles.incrementAndGet();
+    }
+
+    /**
+     * @param executionTime
+     *            number of millis the task took to complete
+     */
+    public void executionTime(long executionTime) {
+        this.executionTime = executionTime;
+    }
+
+    /**
+     * @param phase
+     * @return the number of millis spent in the given phase
+     */
+    public long getPhaseTime(TaskPhase phase) {
+        return TimeUnit.NANOSECONDS.toMillis(phases.get(phase.ordinal()));
+    }
+
+    public long getBytesRead() {
+        return bytesRead.get();
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten.get();
+    }
+
+    public long getPagesProcessed() {
+        return pagesProcessed.get();
+    }
+
+    public long getTemporaryFiles() {
+        return temporaryFiles.get();
+    }
+
+    /**
+     * @return the number of millis the task took to complete
+     */
+    public long getExecutionTime() {
+        return executionTime;
+    }
+
+    /**
+     * @return the number of pages processed per second or 0 if the execution time is not known
+     */
+    public double getPagesPerSecond() {
+        if (executionTime <= 0) {
+            return 0;
+        }
+        return pagesProcessed.get() * 1000d / executionTime;
+    }
+
+    @Override
+    public String toString() {
+        ToStringBuilder builder = new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE);
+        for (TaskPhase phase : TaskPhase.values()) {
+            builder.append(phase.name().toLowerCase(), getPhaseTime(phase));
+        }
+        return builder.append("bytesRead", getBytesRead()).append("bytesWritten", getBytesWritten())
+                .append("pagesProcessed", getPagesProcessed()).append("temporaryFiles", getTemporaryFiles())
+                .append("executionTime", executionTime).toString();
+    }
+
+    /**
+     * Timer of a phase
+     */
+    @FunctionalInterface
+    public interface Timer extends AutoCloseable {
+        /**
+         * Stops the timer
+         */
+        @Override
+        void close();
+    }
+}
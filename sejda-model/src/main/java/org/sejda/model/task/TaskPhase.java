@@ -0,0 +1,45 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.model.task;
+
+/**
+ * Phases of a task execution whose timings are collected in the {@link TaskMetrics}
+ */
+public enum TaskPhase {
+    /**
+     * Opening and parsing of the sources
+     */
+    OPEN,
+    /**
+     * Import of pages into the documents being generated
+     */
+    IMPORT,
+    /**
+     * Optimization of the documents being generated
+     */
+    OPTIMIZE,
+    /**
+     * Save of the generated documents to the temporary buffers
+     */
+    SAVE,
+    /**
+     * Move of the temporary buffers to the task output
+     */
+    OUTPUT;
+}
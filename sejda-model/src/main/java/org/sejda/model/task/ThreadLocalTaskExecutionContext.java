@@ -0,0 +1,69 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.model.task;
+
+import static java.util.Optional.ofNullable;
+
+import java.util.Optional;
+
+/**
+ * Holds the {@link TaskExecutionContext} of the task being executed by the current thread, so that components that are not handed the
+ * context (Ex. temporary buffers creation) can still account for the task resources.
+ */
+public final class ThreadLocalTaskExecutionContext {
+
+    private static final ThreadLocal<TaskExecutionContext> CONTEXT = new ThreadLocal<>();
+
+    private ThreadLocalTaskExecutionContext() {
+        // hide
+    }
+
+    /**
+     * Binds the given context to the current thread. Temporary files and resources created while the context is bound are registered with it
+     * (see {@link org.sejda.core.support.io.IOUtils#deleteWhenTaskEnds(java.io.File)}) instead of being deleted when the virtual machine
+     * terminates, whoever binds the context is responsible for calling {@link TaskExecutionContext#releaseTemporaryResources()} once the task
+     * is over.
+     * 
+     * @param context
+     */
+    public static void bind(TaskExecutionContext context) {
+        CONTEXT.set(context);
+    }
+
+    /**
+     * Removes the context bound to the current thread
+     */
+    public static void unbind() {
+        CONTEXT.remove();
+    }
+
+    /**
+     * @return the context of the task executed by the current thread, if any
+     */
+    public static Optional<TaskExecutionContext> get() {
+        return ofNullable(CONTEXT.get());
+    }
+
+    /**
+     * @return the metrics of the task executed by the current thread or a new instance, that is not collected, if no task is bound
+     */
+    public static TaskMetrics metrics() {
+        return get().map(TaskExecutionContext::metrics).orElseGet(TaskMetrics::new);
+    }
+}
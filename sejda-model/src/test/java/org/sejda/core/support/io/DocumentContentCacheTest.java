@@ -0,0 +1,212 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.support.io;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Random;
+
+import javax.crypto.KeyGenerator;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sejda.io.ByteArraySeekableSource;
+import org.sejda.io.SeekableSource;
+import org.sejda.io.SeekableSources;
+import org.sejda.model.encryption.ChunkedEncryptionAtRest;
+import org.sejda.model.encryption.NoEncryptionAtRest;
+
+public class DocumentContentCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private ChunkedEncryptionAtRest policy;
+
+    @Before
+    public void setUp() throws Exception {
+        policy = new ChunkedEncryptionAtRest(KeyGenerator.getInstance("AES").generateKey());
+    }
+
+    @Test
+    public void disabled() throws IOException {
+        DocumentContentCache victim = new DocumentContentCache(0);
+        assertFalse(victim.isEnabled());
+        byte[] content = content(1024);
+        try (SeekableSource source = openFile(victim, encryptedFile(content))) {
+            assertArrayEquals(content, read(source));
+        }
+        assertEquals(0, victim.size());
+    }
+
+    @Test
+    public void encryptedFileIsServedFromTheCache() throws IOException {
+        DocumentContentCache victim = new DocumentContentCache(10 * 1024 * 1024);
+        byte[] content = content(DocumentContentCache.CHUNK_SIZE + 1000);
+        File file = encryptedFile(content);
+        try (SeekableSource source = openFile(victim, file)) {
+            assertArrayEquals(content, read(source));
+            assertEquals(file.getAbsolutePath(), source.id());
+        }
+        assertEquals(content.length, victim.size());
+        // same path, size and last modified, the file is not read again
+        long lastModified = file.lastModified();
+        Files.write(file.toPath(), encrypt(content(content.length)));
+        assertTrue(file.setLastModified(lastModified));
+        try (SeekableSource source = openFile(victim, file)) {
+            assertArrayEquals(content, read(source));
+        }
+    }
+
+    @Test
+    public void modifiedFileIsReadAgain() throws IOException {
+        DocumentContentCache victim = new DocumentContentCache(10 * 1024 * 1024);
+        File file = encryptedFile(content(1000));
+        openFile(victim, file).close();
+        byte[] content = content(1000);
+        Files.write(file.toPath(), encrypt(content));
+        assertTrue(file.setLastModified(file.lastModified() + 10000));
+        try (SeekableSource source = openFile(victim, file)) {
+            assertArrayEquals(content, read(source));
+        }
+    }
+
+    @Test
+    public void onlyFilesEncryptedAtRestAreCached() throws IOException {
+        DocumentContentCache victim = new DocumentContentCache(10 * 1024 * 1024);
+        byte[] content = content(2048);
+        File file = folder.newFile();
+        Files.write(file.toPath(), content);
+        try (SeekableSource source = victim.seekableSourceFor(file, NoEncryptionAtRest.INSTANCE,
+                () -> SeekableSources.seekableSourceFrom(file))) {
+            assertArrayEquals(content, read(source));
+        }
+        try (SeekableSource source = victim.seekableSourceFor(null, policy,
+                () -> SeekableSources.inMemorySeekableSourceFrom(content))) {
+            assertArrayEquals(content, read(source));
+        }
+        assertEquals(0, victim.size());
+    }
+
+    @Test
+    public void independentSources() throws IOException {
+        DocumentContentCache victim = new DocumentContentCache(10 * 1024 * 1024);
+        byte[] content = content(2048);
+        File file = encryptedFile(content);
+        openFile(victim, file).close();
+        try (SeekableSource first = openFile(victim, file);
+                SeekableSource second = openFile(victim, file)) {
+            first.position(100);
+            assertEquals(content[100] & 0xFF, first.read());
+            assertEquals(content[0] & 0xFF, second.read());
+        }
+    }
+
+    @Test
+    public void leastRecentlyUsedIsEvicted() throws IOException {
+        DocumentContentCache victim = new DocumentContentCache(2500);
+        openFile(victim, encryptedFile(content(1000))).close();
+        openFile(victim, encryptedFile(content(1000))).close();
+        assertEquals(2000, victim.size());
+        openFile(victim, encryptedFile(content(1000))).close();
+        assertEquals(2000, victim.size());
+    }
+
+    @Test
+    public void tooLargeIsNotCached() throws IOException {
+        DocumentContentCache victim = new DocumentContentCache(100);
+        byte[] content = content(1000);
+        try (SeekableSource source = openFile(victim, encryptedFile(content))) {
+            assertArrayEquals(content, read(source));
+        }
+        assertEquals(0, victim.size());
+    }
+
+    @Test
+    public void notCachedWhenConcurrentReadsExceedTheMaxSize() throws IOException {
+        DocumentContentCache victim = new DocumentContentCache(1500);
+        byte[] other = content(1000);
+        File otherFile = encryptedFile(other);
+        SeekableSource[] nested = new SeekableSource[1];
+        SeekableSource source = new ByteArraySeekableSource(content(1000)) {
+            @Override
+            public int read(ByteBuffer dst) throws IOException {
+                if (nested[0] == null) {
+                    // another thread asking for content while this one is being read into the cache
+                    nested[0] = openFile(victim, otherFile);
+                }
+                return super.read(dst);
+            }
+        };
+        victim.seekableSourceFor(encryptedFile(content(1000)), policy, () -> source).close();
+        assertArrayEquals(other, read(nested[0]));
+        assertEquals(1000, victim.size());
+        openFile(victim, otherFile).close();
+        assertEquals(1000, victim.size());
+    }
+
+    @Test
+    public void clear() throws IOException {
+        DocumentContentCache victim = new DocumentContentCache(10 * 1024);
+        openFile(victim, encryptedFile(content(1000))).close();
+        victim.clear();
+        assertEquals(0, victim.size());
+    }
+
+    private File encryptedFile(byte[] content) throws IOException {
+        File file = folder.newFile();
+        try (OutputStream out = policy.encrypt(new FileOutputStream(file))) {
+            out.write(content);
+        }
+        return file;
+    }
+
+    private byte[] encrypt(byte[] content) throws IOException {
+        File file = encryptedFile(content);
+        return Files.readAllBytes(file.toPath());
+    }
+
+    private SeekableSource openFile(DocumentContentCache cache, File file) throws IOException {
+        return cache.seekableSourceFor(file, policy, () -> policy.seekableSourceFrom(file));
+    }
+
+    private static byte[] read(SeekableSource source) throws IOException {
+        try (InputStream in = source.asNewInputStream()) {
+            return org.apache.commons.io.IOUtils.toByteArray(in);
+        }
+    }
+
+    private static byte[] content(int size) {
+        byte[] content = new byte[size];
+        new Random().nextBytes(content);
+        return content;
+    }
+}
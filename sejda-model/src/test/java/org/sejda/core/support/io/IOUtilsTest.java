@@ -26,22 +26,31 @@ import static org.hamcrest.Matchers.is;
 import static org.hamcrest.core.StringEndsWith.endsWith;
 import static org.hamcrest.core.StringStartsWith.startsWith;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.SystemUtils;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
+import org.sejda.model.exception.TaskBudgetExceededException;
 import org.sejda.model.exception.TaskIOException;
 import org.sejda.model.output.DirectoryTaskOutput;
 import org.sejda.model.output.FileOrDirectoryTaskOutput;
 import org.sejda.model.output.FileTaskOutput;
+import org.sejda.model.parameter.base.TaskBudget;
+import org.sejda.model.task.Task;
+import org.sejda.model.task.TaskExecutionContext;
+import org.sejda.model.task.ThreadLocalTaskExecutionContext;
 
 /**
  * @author Andrea Vacondio
@@ -161,6 +170,40 @@ public class IOUtilsTest {
         assertEquals(SystemUtils.getJavaIoTmpDir().getAbsolutePath(), tmp.getParent());
     }
 
+    @Test
+    public void testCreateBufferDirectoryOutNonExistingDirectMode() throws TaskIOException, IOException {
+        System.setProperty(IOUtils.DIRECT_OUTPUT_PROPERTY_NAME, "true");
+        try {
+            File dir = new File(folder.newFolder(), "not/yet");
+            File tmp = IOUtils.createTemporaryBuffer(new DirectoryTaskOutput(dir));
+            assertTrue(tmp.isFile());
+            assertEquals(dir.getAbsolutePath(), tmp.getParent());
+        } finally {
+            System.clearProperty(IOUtils.DIRECT_OUTPUT_PROPERTY_NAME);
+        }
+    }
+
+    @Test
+    public void testCreateBufferFileOutNonExistingParentDirectMode() throws TaskIOException, IOException {
+        System.setProperty(IOUtils.DIRECT_OUTPUT_PROPERTY_NAME, "true");
+        try {
+            File file = new File(folder.newFolder(), "not/yet/out.pdf");
+            File tmp = IOUtils.createTemporaryBuffer(new FileTaskOutput(file));
+            assertTrue(tmp.isFile());
+            assertEquals(file.getParent(), tmp.getParent());
+        } finally {
+            System.clearProperty(IOUtils.DIRECT_OUTPUT_PROPERTY_NAME);
+        }
+    }
+
+    @Test
+    public void testCreateBufferFileOrDirectoryOutNonExistingWithParent() throws TaskIOException, IOException {
+        File dir = folder.newFolder();
+        File tmp = IOUtils.createTemporaryBuffer(new FileOrDirectoryTaskOutput(new File(dir, "not.yet")));
+        assertTrue(tmp.isFile());
+        assertEquals(dir.getAbsolutePath(), tmp.getParent());
+    }
+
     @Test
     public void testCreateBufferFileOrDirectoryOutNonExisting() throws TaskIOException {
         FileOrDirectoryTaskOutput out = new FileOrDirectoryTaskOutput(new File("I dont exist"));
@@ -260,4 +303,49 @@ public class IOUtilsTest {
         assertEquals("", IOUtils.toSafeFilename(null));
         assertEquals("", IOUtils.toStrictFilename(null));
     }
+
+    @Test
+    public void temporaryBuffersBudget() throws TaskIOException, IOException {
+        TaskExecutionContext context = new TaskExecutionContext(mock(Task.class), true);
+        context.budget(TaskBudget.UNLIMITED.maxTempBytes(10));
+        ThreadLocalTaskExecutionContext.bind(context);
+        try {
+            File first = IOUtils.createTemporaryBuffer();
+            Files.write(first.toPath(), new byte[20]);
+            // the first buffer is accounted when the second is created
+            IOUtils.createTemporaryBuffer();
+            fail("Exception expected");
+        } catch (TaskBudgetExceededException e) {
+            // expected
+        } finally {
+            ThreadLocalTaskExecutionContext.unbind();
+        }
+    }
+
+    @Test
+    public void temporaryBuffersNoContext() throws TaskIOException, IOException {
+        File first = IOUtils.createTemporaryBuffer();
+        Files.write(first.toPath(), new byte[20]);
+        assertNotNull(IOUtils.createTemporaryBuffer());
+    }
+
+    @Test
+    public void temporaryBuffersDeletedWhenTaskEnds() throws TaskIOException {
+        TaskExecutionContext context = new TaskExecutionContext(mock(Task.class), true);
+        ThreadLocalTaskExecutionContext.bind(context);
+        File buffer;
+        File named;
+        try {
+            buffer = IOUtils.createTemporaryBuffer(new DirectoryTaskOutput(folder.getRoot()));
+            named = IOUtils.createTemporaryBufferWithName("chuck.norris");
+        } finally {
+            ThreadLocalTaskExecutionContext.unbind();
+        }
+        assertTrue(buffer.exists());
+        assertTrue(named.exists());
+        context.releaseTemporaryResources();
+        assertFalse(buffer.exists());
+        assertFalse(named.exists());
+        assertFalse(named.getParentFile().exists());
+    }
 }
@@ -0,0 +1,230 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.support.io.buffer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sejda.io.SeekableSource;
+
+public class SpillableBufferTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void inMemory() throws IOException {
+        DirectBufferPool pool = new DirectBufferPool(1024 * 1024);
+        byte[] content = content(200 * 1024);
+        File destination = new File(folder.getRoot(), "out.pdf");
+        try (SpillableBuffer victim = new SpillableBuffer(spillFile(), 1024 * 1024, pool)) {
+            try (OutputStream out = victim.getOutputStream()) {
+                out.write(content);
+            }
+            assertTrue(victim.isInMemory());
+            assertEquals(content.length, victim.size());
+            victim.writeTo(destination);
+        }
+        assertArrayEquals(content, Files.readAllBytes(destination.toPath()));
+        assertEquals(1, folder.getRoot().list().length);
+        assertEquals(pool.allocated(), pool.available());
+    }
+
+    @Test
+    public void spillsBeyondThreshold() throws IOException {
+        DirectBufferPool pool = new DirectBufferPool(1024 * 1024);
+        byte[] content = content(200 * 1024);
+        try (SpillableBuffer victim = new SpillableBuffer(spillFile(), 100 * 1024, pool)) {
+            try (OutputStream out = victim.getOutputStream()) {
+                out.write(content, 0, 50 * 1024);
+                assertTrue(victim.isInMemory());
+                out.write(content, 50 * 1024, content.length - 50 * 1024);
+            }
+            assertFalse(victim.isInMemory());
+            assertEquals(content.length, victim.size());
+            File file = victim.toFile();
+            assertEquals(folder.getRoot(), file.getParentFile());
+            assertArrayEquals(content, Files.readAllBytes(file.toPath()));
+        }
+        assertEquals(1, folder.getRoot().list().length);
+        assertEquals(pool.allocated(), pool.available());
+    }
+
+    @Test
+    public void spillsWhenPoolIsExhausted() throws IOException {
+        DirectBufferPool pool = new DirectBufferPool(DirectBufferPool.CHUNK_SIZE);
+        byte[] content = content(DirectBufferPool.CHUNK_SIZE + 10);
+        try (SpillableBuffer victim = new SpillableBuffer(spillFile(), 1024 * 1024, pool)) {
+            try (OutputStream out = victim.getOutputStream()) {
+                for (byte b : content) {
+                    out.write(b);
+                }
+            }
+            assertFalse(victim.isInMemory());
+            assertArrayEquals(content, Files.readAllBytes(victim.toFile().toPath()));
+        }
+        assertEquals(DirectBufferPool.CHUNK_SIZE, pool.available());
+    }
+
+    @Test
+    public void toFileSpills() throws IOException {
+        byte[] content = content(10);
+        try (SpillableBuffer victim = new SpillableBuffer(spillFile(), 1024, new DirectBufferPool(1024 * 1024))) {
+            victim.getOutputStream().write(content);
+            File file = victim.toFile();
+            assertFalse(victim.isInMemory());
+            assertArrayEquals(content, Files.readAllBytes(file.toPath()));
+        }
+        assertEquals(1, folder.getRoot().list().length);
+    }
+
+    @Test
+    public void closeDeletesSpilled() throws IOException {
+        SpillableBuffer victim = new SpillableBuffer(spillFile(), 0, new DirectBufferPool(1024 * 1024));
+        victim.getOutputStream().write(content(10));
+        assertFalse(victim.isInMemory());
+        assertEquals(1, folder.getRoot().list().length);
+        victim.close();
+        assertEquals(0, folder.getRoot().list().length);
+    }
+
+    @Test(expected = IOException.class)
+    public void writeAfterClose() throws IOException {
+        SpillableBuffer victim = new SpillableBuffer(spillFile(), 1024, new DirectBufferPool(1024 * 1024));
+        victim.getOutputStream().close();
+        victim.getOutputStream().write(1);
+    }
+
+    @Test
+    public void writeAfterBufferClose() throws IOException {
+        DirectBufferPool pool = new DirectBufferPool(1024 * 1024);
+        SpillableBuffer victim = new SpillableBuffer(spillFile(), 1024 * 1024, pool);
+        victim.getOutputStream().write(content(10));
+        victim.close();
+        assertThrows(IOException.class, () -> victim.getOutputStream().write(content(10)));
+        assertEquals(0, pool.allocated() - pool.available());
+    }
+
+    @Test
+    public void noHandOverAfterWriteTo() throws IOException {
+        try (SpillableBuffer victim = new SpillableBuffer(spillFile(), 1024, new DirectBufferPool(1024 * 1024))) {
+            victim.getOutputStream().write(content(10));
+            victim.writeTo(new File(folder.getRoot(), "out.pdf"));
+            assertThrows(IllegalStateException.class, () -> victim.toSeekableSource("id"));
+            assertThrows(IllegalStateException.class, () -> victim.toFile());
+        }
+    }
+
+    @Test
+    public void inMemorySeekableSource() throws IOException {
+        DirectBufferPool pool = new DirectBufferPool(1024 * 1024);
+        byte[] content = content(200 * 1024);
+        SpillableBuffer victim = new SpillableBuffer(spillFile(), 1024 * 1024, pool);
+        victim.getOutputStream().write(content);
+        try (SeekableSource source = victim.toSeekableSource("chuck")) {
+            assertTrue(victim.isInMemory());
+            assertEquals(content.length, source.size());
+            assertEquals(content[DirectBufferPool.CHUNK_SIZE] & 0xFF,
+                    source.position(DirectBufferPool.CHUNK_SIZE).read());
+            ByteBuffer dst = ByteBuffer.allocate(DirectBufferPool.CHUNK_SIZE * 2);
+            assertEquals(dst.capacity(), source.position(100).read(dst));
+            assertArrayEquals(Arrays.copyOfRange(content, 100, 100 + dst.capacity()), dst.array());
+            SeekableSource view = source.view(DirectBufferPool.CHUNK_SIZE - 10, 20);
+            assertEquals(content[DirectBufferPool.CHUNK_SIZE + 5] & 0xFF, view.position(15).read());
+            assertEquals(20, view.position(0).read(ByteBuffer.allocate(100)));
+            assertEquals(-1, source.position(content.length).read());
+        }
+        assertEquals(0, folder.getRoot().list().length);
+        assertEquals(pool.allocated(), pool.available());
+    }
+
+    @Test
+    public void singleByteReadsAfterBufferReads() throws IOException {
+        DirectBufferPool pool = new DirectBufferPool(1024 * 1024);
+        byte[] content = content(1024);
+        SpillableBuffer victim = new SpillableBuffer(spillFile(), 1024 * 1024, pool);
+        victim.getOutputStream().write(content);
+        try (SeekableSource source = victim.toSeekableSource("chuck")) {
+            assertEquals(10, source.read(ByteBuffer.allocate(10)));
+            assertEquals(content[500] & 0xFF, source.position(500).read());
+        }
+    }
+
+    @Test
+    public void viewCannotBeReadOnceTheSourceIsClosed() throws IOException {
+        DirectBufferPool pool = new DirectBufferPool(1024 * 1024);
+        SpillableBuffer victim = new SpillableBuffer(spillFile(), 1024 * 1024, pool);
+        victim.getOutputStream().write(content(1024));
+        SeekableSource source = victim.toSeekableSource("chuck");
+        SeekableSource view = source.view(10, 100);
+        SeekableSource viewOfView = view.view(10, 10);
+        view.read();
+        source.close();
+        assertEquals(pool.allocated(), pool.available());
+        assertThrows(IllegalStateException.class, view::read);
+        assertThrows(IllegalStateException.class, () -> viewOfView.read(ByteBuffer.allocate(10)));
+    }
+
+    @Test
+    public void spilledSeekableSource() throws IOException {
+        DirectBufferPool pool = new DirectBufferPool(1024 * 1024);
+        byte[] content = content(200 * 1024);
+        SpillableBuffer victim = new SpillableBuffer(spillFile(), 100 * 1024, pool);
+        victim.getOutputStream().write(content);
+        try (SeekableSource source = victim.toSeekableSource("chuck")) {
+            assertFalse(victim.isInMemory());
+            assertEquals(content.length, source.size());
+            assertEquals(content[150 * 1024] & 0xFF, source.position(150 * 1024).read());
+        }
+        assertEquals(0, folder.getRoot().list().length);
+        assertEquals(pool.allocated(), pool.available());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void writeToSpilled() throws IOException {
+        try (SpillableBuffer victim = new SpillableBuffer(spillFile(), 0, new DirectBufferPool(1024 * 1024))) {
+            victim.getOutputStream().write(content(10));
+            victim.writeTo(new File(folder.getRoot(), "out.pdf"));
+        }
+    }
+
+    private SpillableBuffer.SpillFileSupplier spillFile() {
+        return () -> folder.newFile();
+    }
+
+    private static byte[] content(int size) {
+        byte[] content = new byte[size];
+        new Random(1).nextBytes(content);
+        return content;
+    }
+}
@@ -0,0 +1,291 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.model.encryption;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sejda.io.SeekableSource;
+
+public class ChunkedEncryptionAtRestTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private SecretKey key;
+    private ChunkedEncryptionAtRest victim;
+    private byte[] content;
+
+    @Before
+    public void setUp() throws Exception {
+        KeyGenerator generator = KeyGenerator.getInstance("AES");
+        generator.init(128);
+        key = generator.generateKey();
+        victim = new ChunkedEncryptionAtRest(key, 1024);
+        content = new byte[10 * 1024 + 17];
+        new Random(42).nextBytes(content);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidChunkSize() throws Exception {
+        new ChunkedEncryptionAtRest(KeyGenerator.getInstance("AES").generateKey(), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void tooBigChunkSize() {
+        new ChunkedEncryptionAtRest(key, ChunkedEncryptionAtRest.MAX_CHUNK_SIZE + 1);
+    }
+
+    @Test
+    public void tooBigChunkSizeInHeader() throws IOException {
+        byte[] encrypted = encrypt(content);
+        ByteBuffer.wrap(encrypted).putInt(5, Integer.MAX_VALUE - 1);
+        try {
+            decrypt(encrypted);
+            fail("Exception expected");
+        } catch (IOException e) {
+            assertEquals("Invalid chunk size " + (Integer.MAX_VALUE - 1), e.getMessage());
+        }
+        File file = folder.newFile();
+        Files.write(file.toPath(), encrypted);
+        try (SeekableSource source = victim.seekableSourceFrom(file)) {
+            fail("Exception expected");
+        } catch (IOException e) {
+            assertEquals("Invalid chunk size " + (Integer.MAX_VALUE - 1), e.getMessage());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidParallelism() {
+        new ChunkedEncryptionAtRest(key, 1024, 0);
+    }
+
+    @Test
+    public void roundTrip() throws IOException {
+        byte[] encrypted = encrypt(content);
+        assertNotEquals(content.length, encrypted.length);
+        assertArrayEquals(content, decrypt(encrypted));
+    }
+
+    @Test
+    public void roundTripEmpty() throws IOException {
+        assertArrayEquals(new byte[0], decrypt(encrypt(new byte[0])));
+    }
+
+    @Test
+    public void roundTripExactChunks() throws IOException {
+        byte[] exact = Arrays.copyOf(content, 4096);
+        assertArrayEquals(exact, decrypt(encrypt(exact)));
+    }
+
+    @Test
+    public void roundTripSingleBytes() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (OutputStream encrypting = victim.encrypt(out)) {
+            for (byte b : content) {
+                encrypting.write(b);
+            }
+        }
+        try (InputStream decrypting = victim.decrypt(new ByteArrayInputStream(out.toByteArray()))) {
+            for (byte b : content) {
+                assertEquals(b & 0xFF, decrypting.read());
+            }
+            assertEquals(-1, decrypting.read());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void tamperedIsDetected() throws IOException {
+        byte[] encrypted = encrypt(content);
+        encrypted[ChunkedEncryptionAtRest.HEADER_LENGTH + 2000] ^= 1;
+        decrypt(encrypted);
+    }
+
+    @Test(expected = IOException.class)
+    public void truncatedIsDetected() throws IOException {
+        byte[] encrypted = encrypt(content);
+        decrypt(Arrays.copyOf(encrypted, ChunkedEncryptionAtRest.HEADER_LENGTH + (1024 + 16) * 3));
+    }
+
+    @Test(expected = IOException.class)
+    public void notEncrypted() throws IOException {
+        decrypt(content);
+    }
+
+    @Test
+    public void randomAccess() throws IOException {
+        File file = encryptToFile(content);
+        try (SeekableSource source = victim.seekableSourceFrom(file)) {
+            assertEquals(content.length, source.size());
+            Random random = new Random(7);
+            for (int i = 0; i < 50; i++) {
+                int position = random.nextInt(content.length);
+                source.position(position);
+                assertEquals(content[position] & 0xFF, source.read());
+                ByteBuffer dst = ByteBuffer.allocate(3000);
+                int read = source.position(position).read(dst);
+                assertEquals(Math.min(3000, content.length - position), read);
+                assertArrayEquals(Arrays.copyOfRange(content, position, position + read),
+                        Arrays.copyOf(dst.array(), read));
+            }
+            source.position(content.length);
+            assertEquals(-1, source.read());
+        }
+    }
+
+    @Test
+    public void view() throws IOException {
+        File file = encryptToFile(content);
+        try (SeekableSource source = victim.seekableSourceFrom(file)) {
+            SeekableSource view = source.view(1000, 2500);
+            assertEquals(2500, view.size());
+            ByteBuffer dst = ByteBuffer.allocate(3000);
+            assertEquals(2500, view.read(dst));
+            assertArrayEquals(Arrays.copyOfRange(content, 1000, 3500), Arrays.copyOf(dst.array(), 2500));
+            assertEquals(-1, view.read());
+            assertEquals(content[1500] & 0xFF, view.position(500).read());
+        }
+    }
+
+    @Test
+    public void nestedView() throws IOException {
+        File file = encryptToFile(content);
+        try (SeekableSource source = victim.seekableSourceFrom(file)) {
+            SeekableSource view = source.view(1000, 2500).view(500, 1000);
+            assertEquals(1000, view.size());
+            assertEquals(content[1500] & 0xFF, view.read());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nestedViewOutsideTheEnclosingView() throws IOException {
+        File file = encryptToFile(content);
+        try (SeekableSource source = victim.seekableSourceFrom(file)) {
+            source.view(1000, 2500).view(2000, 1000);
+        }
+    }
+
+    @Test
+    public void viewOfClosedSource() throws IOException {
+        File file = encryptToFile(content);
+        SeekableSource source = victim.seekableSourceFrom(file);
+        SeekableSource view = source.view(1000, 2500);
+        SeekableSource nested = view.view(10, 100);
+        source.close();
+        for (SeekableSource closed : Arrays.asList(view, nested)) {
+            try {
+                closed.read();
+                fail("Exception expected");
+            } catch (IllegalStateException e) {
+                assertEquals("The original SeekableSource has been closed", e.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void truncatedFileRandomAccess() throws IOException {
+        File file = encryptToFile(content);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(ChunkedEncryptionAtRest.HEADER_LENGTH + (1024 + 16) * 3);
+        }
+        try (SeekableSource source = victim.seekableSourceFrom(file)) {
+            assertEquals(content[0] & 0xFF, source.read());
+            source.position(source.size() - 1);
+            source.read();
+            fail("Exception expected");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void parallelRoundTrip() throws IOException {
+        ChunkedEncryptionAtRest parallel = new ChunkedEncryptionAtRest(key, 1024, 4);
+        byte[] encrypted = encrypt(parallel, content);
+        assertEquals(encrypt(victim, content).length, encrypted.length);
+        assertArrayEquals(content, decrypt(encrypted));
+        assertArrayEquals(content, decrypt(encrypt(parallel, content)));
+        File file = folder.newFile();
+        Files.write(file.toPath(), encrypted);
+        try (SeekableSource source = victim.seekableSourceFrom(file)) {
+            assertEquals(content.length, source.size());
+            assertEquals(content[5000] & 0xFF, source.position(5000).read());
+        }
+    }
+
+    @Test
+    public void parallelRoundTripExactChunksAndEmpty() throws IOException {
+        ChunkedEncryptionAtRest parallel = new ChunkedEncryptionAtRest(key, 1024, 3);
+        byte[] exact = Arrays.copyOf(content, 8192);
+        assertArrayEquals(exact, decrypt(encrypt(parallel, exact)));
+        assertArrayEquals(new byte[0], decrypt(encrypt(parallel, new byte[0])));
+    }
+
+    @Test(expected = IOException.class)
+    public void parallelTruncatedIsDetected() throws IOException {
+        byte[] encrypted = encrypt(new ChunkedEncryptionAtRest(key, 1024, 4), content);
+        decrypt(Arrays.copyOf(encrypted, ChunkedEncryptionAtRest.HEADER_LENGTH + (1024 + 16) * 3));
+    }
+
+    private File encryptToFile(byte[] plain) throws IOException {
+        File file = folder.newFile();
+        Files.write(file.toPath(), encrypt(plain));
+        return file;
+    }
+
+    private byte[] encrypt(byte[] plain) throws IOException {
+        return encrypt(victim, plain);
+    }
+
+    private static byte[] encrypt(ChunkedEncryptionAtRest policy, byte[] plain) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (OutputStream encrypting = policy.encrypt(out)) {
+            encrypting.write(plain);
+        }
+        return out.toByteArray();
+    }
+
+    private byte[] decrypt(byte[] encrypted) throws IOException {
+        try (InputStream decrypting = victim.decrypt(new ByteArrayInputStream(encrypted))) {
+            return IOUtils.toByteArray(decrypting);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.model.encryption;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.GeneralSecurityException;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CipherBasedEncryptionAtRestTest {
+
+    private static final SecretKeySpec KEY = new SecretKeySpec(new byte[16], "AES");
+
+    private AtomicInteger supplied;
+    private byte[] content;
+
+    @Before
+    public void setUp() {
+        supplied = new AtomicInteger();
+        content = new byte[(3 * CipherBasedEncryptionAtRest.BUFFER_SIZE) + 1234];
+        new Random(42).nextBytes(content);
+    }
+
+    @Test
+    public void roundTrip() throws IOException {
+        CipherBasedEncryptionAtRest victim = new CipherBasedEncryptionAtRest(supplier("AES/CBC/PKCS5Padding"));
+        assertArrayEquals(content, decrypt(victim, encrypt(victim, content)));
+    }
+
+    @Test
+    public void ciphersAreNotPooledByDefault() throws IOException {
+        CipherBasedEncryptionAtRest victim = new CipherBasedEncryptionAtRest(supplier("AES/CTR/NoPadding"));
+        byte[] encrypted = encrypt(victim, content);
+        assertArrayEquals(content, decrypt(victim, encrypted));
+        assertArrayEquals(content, decrypt(victim, encrypt(victim, content)));
+        assertEquals(4, supplied.get());
+    }
+
+    @Test
+    public void ciphersArePooled() throws IOException {
+        CipherBasedEncryptionAtRest victim = new CipherBasedEncryptionAtRest(supplier("AES/CBC/PKCS5Padding"), true);
+        byte[] first = encrypt(victim, content);
+        byte[] second = encrypt(victim, content);
+        assertArrayEquals(first, second);
+        assertArrayEquals(content, decrypt(victim, first));
+        assertArrayEquals(content, decrypt(victim, second));
+        assertEquals(2, supplied.get());
+    }
+
+    @Test
+    public void aeadCiphersAreNotPooled() throws IOException {
+        CipherBasedEncryptionAtRest victim = new CipherBasedEncryptionAtRest(supplier("AES/GCM/NoPadding"), true);
+        byte[] encrypted = encrypt(victim, content);
+        assertArrayEquals(encrypted, encrypt(victim, content));
+        assertArrayEquals(content, decrypt(victim, encrypted));
+        assertEquals(3, supplied.get());
+    }
+
+    private CipherSupplier supplier(String transformation) {
+        return mode -> {
+            supplied.incrementAndGet();
+            try {
+                Cipher cipher = Cipher.getInstance(transformation);
+                if (transformation.contains("GCM")) {
+                    cipher.init(mode, KEY, new GCMParameterSpec(128, new byte[12]));
+                } else {
+                    cipher.init(mode, KEY, new IvParameterSpec(new byte[16]));
+                }
+                return cipher;
+            } catch (GeneralSecurityException e) {
+                throw new RuntimeException(e);
+            }
+        };
+    }
+
+    private static byte[] encrypt(EncryptionAtRestPolicy policy, byte[] plain) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (OutputStream encrypting = policy.encrypt(out)) {
+            int split = plain.length / 3;
+            encrypting.write(plain, 0, split);
+            encrypting.write(plain, split, plain.length - split);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] decrypt(EncryptionAtRestPolicy policy, byte[] encrypted) throws IOException {
+        try (InputStream decrypting = policy.decrypt(new ByteArrayInputStream(encrypted))) {
+            return IOUtils.toByteArray(decrypting);
+        }
+    }
+}
@@ -24,14 +24,26 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import java.io.File;
+import java.io.OutputStream;
+import java.nio.file.Files;
 
+import javax.crypto.KeyGenerator;
+
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sejda.io.SeekableSource;
+import org.sejda.model.encryption.ChunkedEncryptionAtRest;
 
 /**
  * @author Andrea Vacondio
  *
  */
 public class FileSourceTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     @Test(expected = IllegalArgumentException.class)
     public void testNullFile() {
         FileSource.newInstance(null);
@@ -54,4 +66,19 @@ public class FileSourceTest {
         assertEquals("Chuck", instance.getName());
         assertEquals(file, instance.getSource());
     }
+
+    @Test
+    public void seekableEncryptionAtRest() throws Exception {
+        ChunkedEncryptionAtRest policy = new ChunkedEncryptionAtRest(KeyGenerator.getInstance("AES").generateKey());
+        File file = folder.newFile("chuck.txt");
+        try (OutputStream out = policy.encrypt(Files.newOutputStream(file.toPath()))) {
+            out.write("Chuck Norris".getBytes());
+        }
+        FileSource instance = FileSource.newInstance(file);
+        instance.setEncryptionAtRestPolicy(policy);
+        try (SeekableSource source = instance.initializeSeekableSource()) {
+            assertEquals(12, source.size());
+            assertEquals('N', source.position(6).read());
+        }
+    }
 }
@@ -0,0 +1,264 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.model.input;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sejda.io.SeekableSource;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+public class HttpRangeSeekableSourceTest {
+
+    private static final Pattern RANGE = Pattern.compile("bytes=(\\d+)-(\\d+)");
+
+    private HttpServer server;
+    private byte[] content;
+    private final AtomicLong served = new AtomicLong();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final CountDownLatch blocked = new CountDownLatch(1);
+    private final CountDownLatch unblock = new CountDownLatch(1);
+    private ExecutorService executor;
+    private String etag = "\"v1\"";
+
+    @Before
+    public void setUp() throws IOException {
+        content = new byte[1024 * 1024 + 123];
+        new Random(42).nextBytes(content);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/ranged", e -> serve(e, true, Integer.MAX_VALUE, 0));
+        server.createContext("/plain", e -> serve(e, false, Integer.MAX_VALUE, 0));
+        server.createContext("/short", e -> serve(e, true, 2500, 0));
+        server.createContext("/shifted", e -> serve(e, true, Integer.MAX_VALUE, -1));
+        server.createContext("/blocking", e -> {
+            if (requests.get() >= 2) {
+                blocked.countDown();
+                try {
+                    unblock.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            serve(e, true, Integer.MAX_VALUE, 0);
+        });
+        executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    @After
+    public void tearDown() {
+        unblock.countDown();
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * @param maxLength
+     *            max length of the served ranges
+     * @param shift
+     *            how much the served ranges are shifted from the requested ones, except for the first one
+     */
+    private void serve(HttpExchange exchange, boolean ranges, int maxLength, int shift) throws IOException {
+        String range = exchange.getRequestHeaders().getFirst("Range");
+        String ifRange = exchange.getRequestHeaders().getFirst("If-Range");
+        Matcher matcher = RANGE.matcher(String.valueOf(range));
+        boolean partial = ranges && matcher.matches() && (ifRange == null || ifRange.equals(etag));
+        byte[] body = content;
+        exchange.getResponseHeaders().add("ETag", etag);
+        if (partial) {
+            int from = Integer.parseInt(matcher.group(1));
+            if (from > 0) {
+                from += shift;
+            }
+            int to = (int) Math.min(Math.min(content.length - 1, Integer.parseInt(matcher.group(2))),
+                    (long) from + maxLength - 1);
+            body = Arrays.copyOfRange(content, from, to + 1);
+            exchange.getResponseHeaders().add("Content-Range",
+                    String.format("bytes %d-%d/%d", from, to, content.length));
+            exchange.sendResponseHeaders(206, body.length);
+        } else {
+            exchange.sendResponseHeaders(200, body.length);
+        }
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+        served.addAndGet(body.length);
+        requests.incrementAndGet();
+    }
+
+    private URL url(String path) throws IOException {
+        return new URL("http://127.0.0.1:" + server.getAddress().getPort() + path);
+    }
+
+    @Test
+    public void fetchesOnlyWhatIsRead() throws IOException {
+        try (SeekableSource source = HttpRangeSeekableSource.open(url("/ranged"), "test.pdf", 1024, 2, 8)) {
+            assertThat(source, instanceOf(HttpRangeSeekableSource.class));
+            assertEquals(content.length, source.size());
+            assertEquals(content[content.length - 1] & 0xFF, source.position(content.length - 1).read());
+            int position = content.length / 2;
+            ByteBuffer dst = ByteBuffer.allocate(3000);
+            assertEquals(3000, source.position(position).read(dst));
+            assertArrayEquals(Arrays.copyOfRange(content, position, position + 3000), dst.array());
+            assertThat(served.get(), lessThan(10 * 1024L));
+        }
+    }
+
+    @Test
+    public void randomReads() throws IOException {
+        try (SeekableSource source = HttpRangeSeekableSource.open(url("/ranged"), "test.pdf", 4096, 3, 4)) {
+            Random random = new Random(7);
+            for (int i = 0; i < 100; i++) {
+                int position = random.nextInt(content.length);
+                assertEquals(content[position] & 0xFF, source.position(position).read());
+            }
+            source.position(content.length);
+            assertEquals(-1, source.read());
+        }
+    }
+
+    @Test
+    public void view() throws IOException {
+        try (SeekableSource source = HttpRangeSeekableSource.open(url("/ranged"), "test.pdf")) {
+            SeekableSource view = source.view(5000, 100);
+            assertEquals(100, view.size());
+            ByteBuffer dst = ByteBuffer.allocate(200);
+            assertEquals(100, view.read(dst));
+            assertArrayEquals(Arrays.copyOfRange(content, 5000, 5100), Arrays.copyOf(dst.array(), 100));
+            assertEquals(-1, view.read());
+            assertEquals(content[5050] & 0xFF, view.position(50).read());
+        }
+    }
+
+    @Test
+    public void fallbackToDownload() throws IOException {
+        try (SeekableSource source = HttpRangeSeekableSource.open(url("/plain"), "test.pdf")) {
+            assertThat(source, not(instanceOf(HttpRangeSeekableSource.class)));
+            assertEquals(content.length, source.size());
+            assertEquals(content[1000] & 0xFF, source.position(1000).read());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void changedRemoteDocument() throws IOException {
+        try (SeekableSource source = HttpRangeSeekableSource.open(url("/ranged"), "test.pdf", 1024, 1, 8)) {
+            etag = "\"v2\"";
+            source.position(content.length / 2).read();
+        }
+    }
+
+    @Test
+    public void shorterRanges() throws IOException {
+        try (SeekableSource source = HttpRangeSeekableSource.open(url("/short"), "test.pdf", 1024, 4, 8)) {
+            assertThat(source, instanceOf(HttpRangeSeekableSource.class));
+            assertEquals(content[content.length - 1] & 0xFF, source.position(content.length - 1).read());
+            Random random = new Random(7);
+            for (int i = 0; i < 100; i++) {
+                int position = random.nextInt(content.length - 5000);
+                ByteBuffer dst = ByteBuffer.allocate(5000);
+                assertEquals(5000, source.position(position).read(dst));
+                assertArrayEquals(Arrays.copyOfRange(content, position, position + 5000), dst.array());
+            }
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void unexpectedContentRange() throws IOException {
+        try (SeekableSource source = HttpRangeSeekableSource.open(url("/shifted"), "test.pdf", 1024, 1, 8)) {
+            source.position(content.length / 2).read();
+        }
+    }
+
+    @Test
+    public void urlSource() throws IOException {
+        PdfURLSource instance = PdfURLSource.newInstanceNoPassword(url("/ranged"), "test.pdf");
+        try (SeekableSource source = instance.initializeSeekableSource()) {
+            assertThat(source, instanceOf(HttpRangeSeekableSource.class));
+            assertEquals(content[10] & 0xFF, source.position(10).read());
+        }
+    }
+
+    @Test
+    public void fetchesOutsideTheLock() throws Exception {
+        // the first two requests fetch the first and the last blocks, the following ones block until released
+        try (SeekableSource source = HttpRangeSeekableSource.open(url("/blocking"), "test.pdf", 1024, 1, 8)) {
+            int position = content.length / 2;
+            ExecutorService readers = Executors.newFixedThreadPool(2);
+            try {
+                Future<Integer> first = readers.submit(() -> source.view(0, content.length).position(position).read());
+                assertTrue(blocked.await(5, TimeUnit.SECONDS));
+                Future<Integer> second = readers.submit(() -> source.view(0, content.length).position(position).read());
+                // cached blocks can be read while some other block is being fetched
+                assertEquals(content[10] & 0xFF, source.position(10).read());
+                assertEquals(content[content.length - 1] & 0xFF, source.position(content.length - 1).read());
+                unblock.countDown();
+                assertEquals(content[position] & 0xFF, (int) first.get(5, TimeUnit.SECONDS));
+                assertEquals(content[position] & 0xFF, (int) second.get(5, TimeUnit.SECONDS));
+                assertEquals(3, requests.get());
+            } finally {
+                readers.shutdownNow();
+            }
+        }
+    }
+
+    @Test
+    public void viewsOfClosedSource() throws IOException {
+        SeekableSource source = HttpRangeSeekableSource.open(url("/ranged"), "test.pdf", 1024, 1, 8);
+        SeekableSource view = source.view(5000, 100);
+        SeekableSource nested = view.view(10, 10);
+        source.close();
+        for (SeekableSource closed : Arrays.asList(view, nested)) {
+            try {
+                closed.read();
+                fail("Exception expected");
+            } catch (IllegalStateException e) {
+                assertEquals("The original SeekableSource has been closed", e.getMessage());
+            }
+        }
+    }
+}
@@ -19,7 +19,10 @@
  */
 package org.sejda.model.input;
 
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.core.StringEndsWith.endsWith;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -30,6 +33,8 @@ import java.io.File;
 import java.io.IOException;
 
 import org.junit.Test;
+import org.sejda.io.MemoryMappedSeekableSource;
+import org.sejda.io.SeekableSource;
 import org.sejda.model.exception.TaskIOException;
 
 /**
@@ -70,6 +75,27 @@ public class PdfFileSourceTest {
         verify(opener).open(instance);
     }
     
+    @Test
+    public void memoryMapped() throws IOException {
+        File file = new File(this.getClass().getClassLoader().getResource("pdf/test_file.pdf").getFile());
+        System.setProperty(PdfFileSource.MEMORY_MAPPED_PROPERTY_NAME, "true");
+        try (SeekableSource source = PdfFileSource.newInstanceNoPassword(file).initializeSeekableSource()) {
+            assertThat(source, instanceOf(MemoryMappedSeekableSource.class));
+            assertEquals(file.length(), source.size());
+            assertEquals('%', source.read());
+        } finally {
+            System.clearProperty(PdfFileSource.MEMORY_MAPPED_PROPERTY_NAME);
+        }
+    }
+
+    @Test
+    public void notMemoryMappedByDefault() throws IOException {
+        File file = new File(this.getClass().getClassLoader().getResource("pdf/test_file.pdf").getFile());
+        try (SeekableSource source = PdfFileSource.newInstanceNoPassword(file).initializeSeekableSource()) {
+            assertThat(source, not(instanceOf(MemoryMappedSeekableSource.class)));
+        }
+    }
+
     @Test
     public void encryptedAtRestKeepsOriginalFilename_stream() throws IOException {
         PdfStreamSource source = encryptedAtRest(
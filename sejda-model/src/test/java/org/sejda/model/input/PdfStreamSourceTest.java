@@ -19,13 +19,17 @@
  */
 package org.sejda.model.input;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 
 import org.junit.Test;
+import org.sejda.io.SeekableSource;
 import org.sejda.model.exception.TaskIOException;
 
 /**
@@ -61,4 +65,14 @@ public class PdfStreamSourceTest {
         instance.open(opener);
         verify(opener).open(instance);
     }
+
+    @Test
+    public void seekableSource() throws IOException {
+        PdfStreamSource instance = PdfStreamSource.newInstanceNoPassword(
+                new ByteArrayInputStream("%PDF-1.4 Chuck".getBytes()), "chuck.pdf");
+        try (SeekableSource source = instance.initializeSeekableSource()) {
+            assertEquals(14, source.size());
+            assertEquals('C', source.position(9).read());
+        }
+    }
 }
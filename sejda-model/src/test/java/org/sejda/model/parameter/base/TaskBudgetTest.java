@@ -0,0 +1,53 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.model.parameter.base;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.sejda.TestUtils;
+
+public class TaskBudgetTest {
+
+    @Test
+    public void limits() {
+        TaskBudget victim = TaskBudget.UNLIMITED.maxTempBytes(10).maxOutputFiles(2).maxWallTime(1,
+                TimeUnit.SECONDS);
+        assertEquals(10, victim.getMaxTempBytes());
+        assertEquals(2, victim.getMaxOutputFiles());
+        assertEquals(1000, victim.getMaxWallTime());
+        assertEquals(0, TaskBudget.UNLIMITED.getMaxTempBytes());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negative() {
+        TaskBudget.UNLIMITED.maxOutputFiles(-1);
+    }
+
+    @Test
+    public void testEqualsAndHashCodes() {
+        TaskBudget eq1 = TaskBudget.UNLIMITED.maxOutputFiles(2);
+        TaskBudget eq2 = TaskBudget.UNLIMITED.maxOutputFiles(2);
+        TaskBudget eq3 = TaskBudget.UNLIMITED.maxOutputFiles(2);
+        TaskBudget diff = TaskBudget.UNLIMITED.maxOutputFiles(3);
+        TestUtils.testEqualsAndHashCodes(eq1, eq2, eq3, diff);
+    }
+}
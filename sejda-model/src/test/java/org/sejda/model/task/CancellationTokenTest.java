@@ -0,0 +1,54 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.model.task;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class CancellationTokenTest {
+
+    @Test
+    public void cancel() {
+        CancellationToken victim = new CancellationToken();
+        assertFalse(victim.isCancelled());
+        victim.cancel();
+        assertTrue(victim.isCancelled());
+        assertFalse(victim.isTimedOut());
+    }
+
+    @Test
+    public void noDeadline() {
+        assertFalse(new CancellationToken().isTimedOut());
+    }
+
+    @Test
+    public void deadline() {
+        assertFalse(CancellationToken.withTimeout(1, TimeUnit.HOURS).isTimedOut());
+        assertTrue(CancellationToken.withTimeout(0, TimeUnit.SECONDS).isTimedOut());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeTimeout() {
+        CancellationToken.withTimeout(-1, TimeUnit.SECONDS);
+    }
+}
@@ -19,6 +19,9 @@
  */
 package org.sejda.model.task;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
 import org.junit.Test;
 import org.sejda.TestUtils;
 
@@ -34,4 +37,19 @@ public class NotifiableTakMetadataTest {
         TestUtils.testEqualsAndHashCodes(eq, eq, eq, diff);
         TestUtils.testEqualsAndHashCodes(eq, eq, eq, NotifiableTaskMetadata.NULL);
     }
+
+    @Test
+    public void warnings() {
+        NotifiableTaskMetadata victim = new NotifiableTaskMetadata(new TestTask());
+        victim.addTaskWarning("Warning");
+        victim.addTaskWarning(null);
+        assertEquals(1, victim.taskWarnings().size());
+        assertEquals("Warning", victim.taskWarnings().get(0));
+    }
+
+    @Test
+    public void nullObjectDoesntCollect() {
+        NotifiableTaskMetadata.NULL.addTaskWarning("Warning");
+        assertTrue(NotifiableTaskMetadata.NULL.taskWarnings().isEmpty());
+    }
 }
@@ -0,0 +1,75 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.model.task;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class ProgressThrottleTest {
+
+    private static final long INTERVAL = TimeUnit.SECONDS.toNanos(10);
+
+    @Test
+    public void firstIsAcquired() {
+        assertTrue(new ProgressThrottle().tryAcquire(new BigDecimal("3"), INTERVAL));
+    }
+
+    @Test
+    public void coalesced() {
+        ProgressThrottle victim = new ProgressThrottle();
+        assertTrue(victim.tryAcquire(new BigDecimal("3"), INTERVAL));
+        assertFalse(victim.tryAcquire(new BigDecimal("3.5"), INTERVAL));
+        assertFalse(victim.tryAcquire(new BigDecimal("50"), INTERVAL));
+    }
+
+    @Test
+    public void lessThanAPointIsCoalesced() throws InterruptedException {
+        ProgressThrottle victim = new ProgressThrottle();
+        assertTrue(victim.tryAcquire(new BigDecimal("3"), 1));
+        Thread.sleep(1);
+        assertFalse(victim.tryAcquire(new BigDecimal("3.5"), 1));
+        assertTrue(victim.tryAcquire(new BigDecimal("4"), 1));
+    }
+
+    @Test
+    public void completionIsAcquired() {
+        ProgressThrottle victim = new ProgressThrottle();
+        assertTrue(victim.tryAcquire(new BigDecimal("3"), INTERVAL));
+        assertTrue(victim.tryAcquire(new BigDecimal("100"), INTERVAL));
+        assertFalse(victim.tryAcquire(new BigDecimal("100"), INTERVAL));
+    }
+
+    @Test
+    public void disabled() {
+        ProgressThrottle victim = new ProgressThrottle();
+        assertTrue(victim.tryAcquire(new BigDecimal("3"), 0));
+        assertTrue(victim.tryAcquire(new BigDecimal("3"), 0));
+    }
+
+    @Test
+    public void none() {
+        assertTrue(ProgressThrottle.NONE.tryAcquire(new BigDecimal("3"), INTERVAL));
+        assertTrue(ProgressThrottle.NONE.tryAcquire(new BigDecimal("3"), INTERVAL));
+    }
+}
@@ -18,11 +18,30 @@
  */
 package org.sejda.model.task;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.InOrder;
+import org.sejda.model.exception.TaskBudgetExceededException;
+import org.sejda.model.exception.TaskCancelledException;
 import org.sejda.model.exception.TaskExecutionException;
 import org.sejda.model.exception.TaskNonLenientExecutionException;
+import org.sejda.model.parameter.base.TaskBudget;
 
 /**
  * @author Andrea Vacondio
@@ -30,6 +49,9 @@ import org.sejda.model.exception.TaskNonLenientExecutionException;
  */
 public class TaskExecutionContextTest {
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     @Test(expected = IllegalArgumentException.class)
     public void testTaskExecutionContext() {
         new TaskExecutionContext(null, true);
@@ -46,4 +68,141 @@ public class TaskExecutionContextTest {
         TaskExecutionContext victim = new TaskExecutionContext(mock(Task.class), false);
         victim.assertTaskIsLenient(new Exception("Test"));
     }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullToken() {
+        new TaskExecutionContext(mock(Task.class), true, null);
+    }
+
+    @Test
+    public void notCancelled() throws TaskCancelledException {
+        new TaskExecutionContext(mock(Task.class), true).assertNotCancelled();
+    }
+
+    @Test
+    public void cancelled() {
+        CancellationToken token = new CancellationToken();
+        TaskExecutionContext victim = new TaskExecutionContext(mock(Task.class), true, token);
+        token.cancel();
+        try {
+            victim.assertNotCancelled();
+            fail("Exception expected");
+        } catch (TaskCancelledException e) {
+            assertFalse(e.isTimedOut());
+        }
+    }
+
+    @Test
+    public void timedOut() {
+        TaskExecutionContext victim = new TaskExecutionContext(mock(Task.class), true,
+                CancellationToken.withTimeout(0, TimeUnit.MILLISECONDS));
+        try {
+            victim.assertNotCancelled();
+            fail("Exception expected");
+        } catch (TaskCancelledException e) {
+            assertTrue(e.isTimedOut());
+        }
+    }
+
+    @Test
+    public void wallTimeBudget() throws InterruptedException {
+        TaskExecutionContext victim = new TaskExecutionContext(mock(Task.class), true);
+        victim.budget(TaskBudget.UNLIMITED.maxWallTime(1, TimeUnit.MILLISECONDS));
+        victim.taskStart();
+        Thread.sleep(20);
+        try {
+            victim.assertNotCancelled();
+            fail("Exception expected");
+        } catch (TaskCancelledException e) {
+            assertTrue(e.isTimedOut());
+        }
+    }
+
+    @Test
+    public void nullBudget() {
+        TaskExecutionContext victim = new TaskExecutionContext(mock(Task.class), true);
+        victim.budget(null);
+        assertEquals(TaskBudget.UNLIMITED, victim.budget());
+    }
+
+    @Test
+    public void outputsWithinBudget() throws TaskBudgetExceededException {
+        TaskExecutionContext victim = new TaskExecutionContext(mock(Task.class), true);
+        victim.assertOutputsWithinBudget(Integer.MAX_VALUE);
+        victim.budget(TaskBudget.UNLIMITED.maxOutputFiles(2));
+        victim.assertOutputsWithinBudget(2);
+    }
+
+    @Test(expected = TaskBudgetExceededException.class)
+    public void outputsExceedBudget() throws TaskBudgetExceededException {
+        TaskExecutionContext victim = new TaskExecutionContext(mock(Task.class), true);
+        victim.budget(TaskBudget.UNLIMITED.maxOutputFiles(2));
+        victim.assertOutputsWithinBudget(3);
+    }
+
+    @Test
+    public void releaseTemporaryResources() throws IOException {
+        TaskExecutionContext victim = new TaskExecutionContext(mock(Task.class), true);
+        Closeable first = mock(Closeable.class);
+        Closeable second = mock(Closeable.class);
+        doThrow(IOException.class).when(second).close();
+        victim.temporaryResourceCreated(first);
+        victim.temporaryResourceCreated(second);
+        victim.releaseTemporaryResources();
+        InOrder inOrder = inOrder(second, first);
+        inOrder.verify(second).close();
+        inOrder.verify(first).close();
+        victim.releaseTemporaryResources();
+        verify(first).close();
+    }
+
+    @Test(expected = TaskBudgetExceededException.class)
+    public void singleTemporaryBufferExceedsBudgetWhenWritten() throws IOException, TaskBudgetExceededException {
+        TaskExecutionContext victim = new TaskExecutionContext(mock(Task.class), true);
+        victim.budget(TaskBudget.UNLIMITED.maxTempBytes(10));
+        File buffer = folder.newFile();
+        victim.temporaryBufferCreated(buffer);
+        Files.write(buffer.toPath(), new byte[20]);
+        victim.temporaryBufferWritten(buffer);
+    }
+
+    @Test(expected = TaskBudgetExceededException.class)
+    public void temporaryBuffersExceedBudgetWhenTaskEnds() throws IOException, TaskBudgetExceededException {
+        TaskExecutionContext victim = new TaskExecutionContext(mock(Task.class), true);
+        victim.budget(TaskBudget.UNLIMITED.maxTempBytes(10));
+        File buffer = folder.newFile();
+        victim.temporaryBufferCreated(buffer);
+        Files.write(buffer.toPath(), new byte[20]);
+        victim.assertTemporaryBuffersWithinBudget();
+    }
+
+    @Test
+    public void movedTemporaryBuffersStayAccounted() throws IOException, TaskBudgetExceededException {
+        TaskExecutionContext victim = new TaskExecutionContext(mock(Task.class), true);
+        victim.budget(TaskBudget.UNLIMITED.maxTempBytes(30));
+        File first = folder.newFile();
+        victim.temporaryBufferCreated(first);
+        Files.write(first.toPath(), new byte[20]);
+        victim.temporaryBufferWritten(first);
+        Files.delete(first.toPath());
+        File second = folder.newFile();
+        victim.temporaryBufferCreated(second);
+        Files.write(second.toPath(), new byte[20]);
+        try {
+            victim.assertTemporaryBuffersWithinBudget();
+            fail("Exception expected");
+        } catch (TaskBudgetExceededException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void unknownFilesAreNotAccounted() throws IOException, TaskBudgetExceededException {
+        TaskExecutionContext victim = new TaskExecutionContext(mock(Task.class), true);
+        victim.budget(TaskBudget.UNLIMITED.maxTempBytes(10));
+        File file = folder.newFile();
+        Files.write(file.toPath(), new byte[20]);
+        victim.temporaryBufferWritten(file);
+        victim.assertTemporaryBuffersWithinBudget();
+    }
 }
@@ -0,0 +1,75 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.model.task;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.sejda.model.task.TaskMetrics.Timer;
+
+public class TaskMetricsTest {
+
+    @Test
+    public void phaseTime() throws InterruptedException {
+        TaskMetrics victim = new TaskMetrics();
+        try (Timer timer = victim.start(TaskPhase.SAVE)) {
+            Thread.sleep(20);
+        }
+        assertTrue(victim.getPhaseTime(TaskPhase.SAVE) >= 20);
+        assertEquals(0, victim.getPhaseTime(TaskPhase.OPEN));
+    }
+
+    @Test
+    public void phaseTimeAccumulates() throws InterruptedException {
+        TaskMetrics victim = new TaskMetrics();
+        for (int i = 0; i < 2; i++) {
+            try (Timer timer = victim.start(TaskPhase.IMPORT)) {
+                Thread.sleep(10);
+            }
+        }
+        assertTrue(victim.getPhaseTime(TaskPhase.IMPORT) >= 20);
+    }
+
+    @Test
+    public void counters() {
+        TaskMetrics victim = new TaskMetrics();
+        victim.bytesRead(10);
+        victim.bytesRead(5);
+        victim.bytesWritten(7);
+        victim.pageProcessed();
+        victim.pageProcessed();
+        victim.temporaryFileCreated();
+        assertEquals(15, victim.getBytesRead());
+        assertEquals(7, victim.getBytesWritten());
+        assertEquals(2, victim.getPagesProcessed());
+        assertEquals(1, victim.getTemporaryFiles());
+    }
+
+    @Test
+    public void pagesPerSecond() {
+        TaskMetrics victim = new TaskMetrics();
+        assertEquals(0, victim.getPagesPerSecond(), 0);
+        for (int i = 0; i < 10; i++) {
+            victim.pageProcessed();
+        }
+        victim.executionTime(2000);
+        assertEquals(5, victim.getPagesPerSecond(), 0);
+    }
+}
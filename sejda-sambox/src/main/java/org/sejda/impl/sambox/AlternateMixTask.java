@@ -19,12 +19,11 @@
 package org.sejda.impl.sambox;
 
 import static org.sejda.commons.util.IOUtils.closeQuietly;
-import static org.sejda.core.support.io.IOUtils.createTemporaryBuffer;
-
-import java.io.File;
+import static org.sejda.core.support.io.IOUtils.createSpillableBuffer;
 
 import org.sejda.core.support.io.OutputWriters;
 import org.sejda.core.support.io.SingleOutputWriter;
+import org.sejda.core.support.io.buffer.SpillableBuffer;
 import org.sejda.impl.sambox.component.PdfAlternateMixer;
 import org.sejda.model.exception.TaskException;
 import org.sejda.model.parameter.AlternateMixMultipleInputParameters;
@@ -61,12 +60,11 @@ public class AlternateMixTask extends BaseTask<AlternateMixMultipleInputParamete
         mixer.setVersionOnPDDocument(parameters.getVersion());
         mixer.setCompress(parameters.isCompress());
 
-        File tmpFile = createTemporaryBuffer(parameters.getOutput());
-        outputWriter.taskOutput(tmpFile);
-        LOG.debug("Temporary output set to {}", tmpFile);
-        mixer.savePDDocument(tmpFile, parameters.getOutput().getEncryptionAtRestPolicy());
+        SpillableBuffer tmpBuffer = createSpillableBuffer(parameters.getOutput());
+        mixer.savePDDocument(tmpBuffer, parameters.getOutput().getEncryptionAtRestPolicy());
         closeQuietly(mixer);
 
+        outputWriter.taskOutput(tmpBuffer);
         parameters.getOutput().accept(outputWriter);
 
         LOG.debug("Alternate mix of {} files completed", parameters.getInputList().size());
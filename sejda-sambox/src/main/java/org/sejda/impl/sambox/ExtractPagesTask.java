@@ -21,16 +21,16 @@ package org.sejda.impl.sambox;
 import static java.util.Optional.ofNullable;
 import static org.sejda.commons.util.IOUtils.closeQuietly;
 import static org.sejda.core.notification.dsl.ApplicationEventsNotifier.notifyEvent;
-import static org.sejda.core.support.io.IOUtils.createTemporaryBuffer;
-import static org.sejda.core.support.io.model.FileOutput.file;
+import static org.sejda.core.support.io.IOUtils.createSpillableBuffer;
+import static org.sejda.core.support.io.model.FileOutput.buffer;
 import static org.sejda.core.support.prefix.NameGenerator.nameGenerator;
 import static org.sejda.core.support.prefix.model.NameGenerationRequest.nameRequest;
 
-import java.io.File;
 import java.util.Set;
 
 import org.sejda.core.support.io.MultipleOutputWriter;
 import org.sejda.core.support.io.OutputWriters;
+import org.sejda.core.support.io.buffer.SpillableBuffer;
 import org.sejda.impl.sambox.component.DefaultPdfSourceOpener;
 import org.sejda.impl.sambox.component.PDDocumentHandler;
 import org.sejda.impl.sambox.component.PagesExtractor;
@@ -63,7 +63,8 @@ public class ExtractPagesTask extends BaseTask<ExtractPagesParameters> {
     public void before(ExtractPagesParameters parameters, TaskExecutionContext executionContext) throws TaskException {
         super.before(parameters, executionContext);
         documentLoader = new DefaultPdfSourceOpener();
-        outputWriter = OutputWriters.newMultipleOutputWriter(parameters.getExistingOutputPolicy(), executionContext);
+        outputWriter = OutputWriters.newStreamingMultipleOutputWriter(parameters.getExistingOutputPolicy(),
+                executionContext, parameters.getOutput());
     }
 
     @Override
@@ -88,8 +89,8 @@ public class ExtractPagesTask extends BaseTask<ExtractPagesParameters> {
                 try (PagesExtractor extractor = new PagesExtractor(sourceDocumentHandler.getUnderlyingPDDocument())) {
                     for (Set<Integer> pageSets : parameters.getPagesSets(sourceDocumentHandler.getNumberOfPages())) {
                         if (!pageSets.isEmpty()) {
-                            File tmpFile = createTemporaryBuffer(parameters.getOutput());
-                            LOG.debug("Created output temporary buffer {}", tmpFile);
+                            SpillableBuffer tmpBuffer = createSpillableBuffer(parameters.getOutput());
+                            LOG.debug("Created output temporary buffer");
 
                             int fileNumber = executionContext().incrementAndGetOutputDocumentsCounter();
 
@@ -100,7 +101,7 @@ public class ExtractPagesTask extends BaseTask<ExtractPagesParameters> {
                                                         .fileNumber(fileNumber).page(pageSets.iterator().next()));
                                     });
 
-                            outputWriter.addOutput(file(tmpFile).name(outName));
+                            outputWriter.addOutput(buffer(tmpBuffer).name(outName));
 
                             LOG.trace("Extracting pages {}", pageSets);
                             extractor.retain(pageSets, executionContext());
@@ -110,9 +111,10 @@ public class ExtractPagesTask extends BaseTask<ExtractPagesParameters> {
                             }
                             extractor.setVersion(parameters.getVersion());
                             extractor.setCompress(parameters.isCompress());
-                            extractor.save(tmpFile, parameters.discardOutline(),
+                            extractor.save(tmpBuffer, parameters.discardOutline(),
                                     parameters.getOutput().getEncryptionAtRestPolicy());
                             extractor.reset();
+                            outputWriter.flush();
                         }
                     }
                 }
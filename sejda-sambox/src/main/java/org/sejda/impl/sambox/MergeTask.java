@@ -24,7 +24,6 @@ import static org.sejda.core.notification.dsl.ApplicationEventsNotifier.notifyEv
 import static org.sejda.impl.sambox.component.SignatureClipper.clipSignatures;
 
 import java.io.Closeable;
-import java.io.File;
 import java.util.LinkedList;
 import java.util.Queue;
 import java.util.Set;
@@ -35,6 +34,7 @@ import org.sejda.commons.LookupTable;
 import org.sejda.core.support.io.IOUtils;
 import org.sejda.core.support.io.OutputWriters;
 import org.sejda.core.support.io.SingleOutputWriter;
+import org.sejda.core.support.io.buffer.SpillableBuffer;
 import org.sejda.impl.sambox.component.AcroFormsMerger;
 import org.sejda.impl.sambox.component.AnnotationsDistiller;
 import org.sejda.impl.sambox.component.CatalogPageLabelsMerger;
@@ -42,18 +42,20 @@ import org.sejda.impl.sambox.component.DefaultPdfSourceOpener;
 import org.sejda.impl.sambox.component.FilenameFooterWriter;
 import org.sejda.impl.sambox.component.OutlineMerger;
 import org.sejda.impl.sambox.component.PDDocumentHandler;
+import org.sejda.impl.sambox.component.PDDocumentHandlerCache;
 import org.sejda.impl.sambox.component.PdfRotator;
 import org.sejda.impl.sambox.component.PdfScaler;
 import org.sejda.impl.sambox.component.TableOfContentsCreator;
 import org.sejda.impl.sambox.component.image.ImagesToPdfDocumentConverter;
 import org.sejda.model.exception.TaskException;
 import org.sejda.model.input.PdfMergeInput;
-import org.sejda.model.input.PdfSourceOpener;
 import org.sejda.model.parameter.MergeParameters;
 import org.sejda.model.rotation.Rotation;
 import org.sejda.model.scale.ScaleType;
 import org.sejda.model.task.BaseTask;
 import org.sejda.model.task.TaskExecutionContext;
+import org.sejda.model.task.TaskMetrics.Timer;
+import org.sejda.model.task.TaskPhase;
 import org.sejda.model.toc.ToCPolicy;
 import org.sejda.sambox.pdmodel.PDPage;
 import org.sejda.sambox.pdmodel.PageNotFoundException;
@@ -73,9 +75,10 @@ public class MergeTask extends BaseTask<MergeParameters> {
     private static final Logger LOG = LoggerFactory.getLogger(MergeTask.class);
 
     private SingleOutputWriter outputWriter;
-    private PdfSourceOpener<PDDocumentHandler> sourceOpener;
+    private PDDocumentHandlerCache sourceDocuments;
     private int totalSteps;
     private PDDocumentHandler destinationDocument;
+    private SpillableBuffer tmpBuffer;
     private Queue<Closeable> toClose = new LinkedList<>();
     private OutlineMerger outlineMerger;
     private CatalogPageLabelsMerger catalogPageLabelsMerger;
@@ -91,7 +94,7 @@ public class MergeTask extends BaseTask<MergeParameters> {
     public void before(MergeParameters parameters, TaskExecutionContext executionContext) throws TaskException {
         super.before(parameters, executionContext);
         totalSteps = parameters.getInputList().size();
-        sourceOpener = new DefaultPdfSourceOpener();
+        sourceDocuments = new PDDocumentHandlerCache(new DefaultPdfSourceOpener());
         outputWriter = OutputWriters.newSingleOutputWriter(parameters.getExistingOutputPolicy(), executionContext);
         outlineMerger = new OutlineMerger(parameters.getOutlinePolicy());
     }
@@ -99,9 +102,7 @@ public class MergeTask extends BaseTask<MergeParameters> {
     @Override
     public void execute(MergeParameters parameters) throws TaskException {
         int currentStep = 0;
-        File tmpFile = IOUtils.createTemporaryBuffer(parameters.getOutput());
-        outputWriter.taskOutput(tmpFile);
-        LOG.debug("Temporary output set to {}", tmpFile);
+        tmpBuffer = IOUtils.createSpillableBuffer(parameters.getOutput());
 
         this.destinationDocument = new PDDocumentHandler();
         this.destinationDocument.setCreatorOnPDDocument();
@@ -117,10 +118,12 @@ public class MergeTask extends BaseTask<MergeParameters> {
         ImagesToPdfDocumentConverter.convertImageMergeInputToPdf(parameters, executionContext());
 
         for (PdfMergeInput input : parameters.getPdfInputList()) {
+            executionContext().assertNotCancelled();
             inputsCounter++;
             LOG.debug("Opening {}", input.getSource());
-            PDDocumentHandler sourceDocumentHandler = input.getSource().open(sourceOpener);
-            toClose.add(sourceDocumentHandler);
+            // the same file can be merged multiple times with different page selections, we parse it only once
+            PDDocumentHandler sourceDocumentHandler = sourceDocuments.open(input.getSource());
+            toClose.add(() -> sourceDocuments.release(sourceDocumentHandler));
 
             if (inputsCounter == 1) {
                 firstInputNumberOfPages = sourceDocumentHandler.getNumberOfPages();
@@ -131,6 +134,7 @@ public class MergeTask extends BaseTask<MergeParameters> {
             long relativePagesCounter = 0;
             Set<Integer> pagesToImport = input.getPages(sourceDocumentHandler.getNumberOfPages());
             for (Integer currentPage : pagesToImport) {
+                executionContext().assertNotCancelled();
                 pagesCounter++;
                 relativePagesCounter++;
                 try {
@@ -139,8 +143,12 @@ public class MergeTask extends BaseTask<MergeParameters> {
                     currentPageSize = page.getMediaBox().rotate(page.getRotation());
                     // we don't use the original page because once added to the new tree we loose inheritable attributes
                     // so we use a page duplicate to explicitly assign inheritable resources
-                    PDPage importedPage = destinationDocument.importPage(page);
+                    PDPage importedPage;
+                    try (Timer timer = executionContext().metrics().start(TaskPhase.IMPORT)) {
+                        importedPage = destinationDocument.importPage(page);
+                    }
                     pagesLookup.addLookupEntry(page, importedPage);
+                    executionContext().metrics().pageProcessed();
 
                     // rotate
                     Rotation rotation = parameters.getRotation(inputsCounter - 1);
@@ -236,9 +244,10 @@ public class MergeTask extends BaseTask<MergeParameters> {
                     .setPageLabels(catalogPageLabelsMerger.getMergedPageLabels());
         }
 
-        destinationDocument.savePDDocument(tmpFile, parameters.getOutput().getEncryptionAtRestPolicy());
+        destinationDocument.savePDDocument(tmpBuffer, parameters.getOutput().getEncryptionAtRestPolicy());
         closeResources();
 
+        outputWriter.taskOutput(tmpBuffer);
         parameters.getOutput().accept(outputWriter);
         LOG.debug("Input documents merged correctly and written to {}", parameters.getOutput());
 
@@ -249,12 +258,16 @@ public class MergeTask extends BaseTask<MergeParameters> {
         while ((current = toClose.poll()) != null) {
             closeQuietly(current);
         }
+        closeQuietly(sourceDocuments);
         closeQuietly(destinationDocument);
     }
 
     @Override
     public void after() {
         closeResources();
+        // if the task didn't complete the temporary buffer is still there
+        closeQuietly(tmpBuffer);
+        tmpBuffer = null;
         outputWriter = null;
     }
 
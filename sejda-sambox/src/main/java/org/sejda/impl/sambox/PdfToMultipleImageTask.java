@@ -82,6 +82,7 @@ public class PdfToMultipleImageTask<T extends AbstractPdfToMultipleImageParamete
                     LOG.trace("Found {} pages to convert", totalSteps);
 
                     for (int currentPage : requestedPages) {
+                        executionContext().assertNotCancelled();
 
                         if (Boolean.getBoolean(Sejda.PERFORM_MEMORY_OPTIMIZATIONS_PROPERTY_NAME)) {
                             int percentageMemoryUsed = RuntimeUtils.getPercentageMemoryUsed();
@@ -105,6 +106,7 @@ public class PdfToMultipleImageTask<T extends AbstractPdfToMultipleImageParamete
                             getWriter().openDestination(tmpFile, parameters);
                             getWriter().write(pageImage, parameters);
                             getWriter().closeDestination();
+                            executionContext().metrics().pageProcessed();
 
                             String outName = ofNullable(parameters.getSpecificResultFilename(fileNumber,
                                     "." + parameters.getOutputImageType().getExtension()))
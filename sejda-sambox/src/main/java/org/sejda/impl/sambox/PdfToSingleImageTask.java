@@ -77,11 +77,13 @@ public class PdfToSingleImageTask<T extends AbstractPdfToSingleImageParameters>
 
         getWriter().openDestination(tmpFile, parameters);
         for (int page = 1; page <= numberOfPages; page++) {
+            executionContext().assertNotCancelled();
             LOG.trace("Converting page {}", page);
             try {
                 BufferedImage pageImage = documentHandler.renderImage(page, parameters.getResolutionInDpi(),
                         parameters.getOutputImageColorType());
                 getWriter().write(pageImage, parameters);
+                executionContext().metrics().pageProcessed();
             } catch (TaskException e) {
                 executionContext().assertTaskIsLenient(e);
                 notifyEvent(executionContext().notifiableTaskMetadata())
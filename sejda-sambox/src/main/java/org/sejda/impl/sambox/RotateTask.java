@@ -86,6 +86,7 @@ public class RotateTask extends BaseTask<RotateParameters> {
 
                 PdfRotator rotator = new PdfRotator(documentHandler.getUnderlyingPDDocument());
                 for (int page = 1; page <= documentHandler.getNumberOfPages(); page++) {
+                    executionContext().assertNotCancelled();
                     Rotation rotation = parameters.getRotation(sourceIndex, page);
 
                     if (rotation != Rotation.DEGREES_0) {
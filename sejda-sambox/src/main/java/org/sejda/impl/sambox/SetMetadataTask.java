@@ -20,14 +20,14 @@ package org.sejda.impl.sambox;
 
 import static org.sejda.commons.util.IOUtils.closeQuietly;
 import static org.sejda.core.notification.dsl.ApplicationEventsNotifier.notifyEvent;
-import static org.sejda.core.support.io.IOUtils.createTemporaryBuffer;
+import static org.sejda.core.support.io.IOUtils.createSpillableBuffer;
 
-import java.io.File;
 import java.io.IOException;
 import java.util.Map.Entry;
 
 import org.sejda.core.support.io.OutputWriters;
 import org.sejda.core.support.io.SingleOutputWriter;
+import org.sejda.core.support.io.buffer.SpillableBuffer;
 import org.sejda.impl.sambox.component.DefaultPdfSourceOpener;
 import org.sejda.impl.sambox.component.PDDocumentHandler;
 import org.sejda.model.exception.TaskException;
@@ -71,9 +71,7 @@ public class SetMetadataTask extends BaseTask<SetMetadataParameters> {
         documentHandler = source.open(documentLoader);
         documentHandler.setCreatorOnPDDocument();
 
-        File tmpFile = createTemporaryBuffer(parameters.getOutput());
-        outputWriter.taskOutput(tmpFile);
-        LOG.debug("Temporary output set to {}", tmpFile);
+        SpillableBuffer tmpBuffer = createSpillableBuffer(parameters.getOutput());
 
         PDDocument doc = documentHandler.getUnderlyingPDDocument();
         doc.setOnBeforeWriteAction(new PDDocument.OnBeforeWrite() {
@@ -90,9 +88,10 @@ public class SetMetadataTask extends BaseTask<SetMetadataParameters> {
 
         documentHandler.setVersionOnPDDocument(parameters.getVersion());
         documentHandler.setCompress(parameters.isCompress());
-        documentHandler.savePDDocument(tmpFile, parameters.getOutput().getEncryptionAtRestPolicy());
+        documentHandler.savePDDocument(tmpBuffer, parameters.getOutput().getEncryptionAtRestPolicy());
         closeQuietly(documentHandler);
 
+        outputWriter.taskOutput(tmpBuffer);
         parameters.getOutput().accept(outputWriter);
 
         LOG.debug("Metadata set on {}", parameters.getOutput());
@@ -20,12 +20,11 @@ package org.sejda.impl.sambox;
 
 import static org.sejda.commons.util.IOUtils.closeQuietly;
 import static org.sejda.core.notification.dsl.ApplicationEventsNotifier.notifyEvent;
-import static org.sejda.core.support.io.IOUtils.createTemporaryBuffer;
-
-import java.io.File;
+import static org.sejda.core.support.io.IOUtils.createSpillableBuffer;
 
 import org.sejda.core.support.io.OutputWriters;
 import org.sejda.core.support.io.SingleOutputWriter;
+import org.sejda.core.support.io.buffer.SpillableBuffer;
 import org.sejda.impl.sambox.component.DefaultPdfSourceOpener;
 import org.sejda.impl.sambox.component.PDDocumentHandler;
 import org.sejda.model.exception.TaskException;
@@ -66,9 +65,7 @@ public class SetPagesLabelTask extends BaseTask<SetPagesLabelParameters> {
         LOG.debug("Opening {}", source);
         documentHandler = source.open(documentLoader);
 
-        File tmpFile = createTemporaryBuffer(parameters.getOutput());
-        outputWriter.taskOutput(tmpFile);
-        LOG.debug("Temporary output set to {}", tmpFile);
+        SpillableBuffer tmpBuffer = createSpillableBuffer(parameters.getOutput());
 
         LOG.debug("Applying {} labels ", parameters.getLabels().size());
         documentHandler.setPageLabelsOnDocument(parameters.getLabels());
@@ -76,9 +73,10 @@ public class SetPagesLabelTask extends BaseTask<SetPagesLabelParameters> {
         documentHandler.setCreatorOnPDDocument();
         documentHandler.setVersionOnPDDocument(parameters.getVersion());
         documentHandler.setCompress(parameters.isCompress());
-        documentHandler.savePDDocument(tmpFile, parameters.getOutput().getEncryptionAtRestPolicy());
+        documentHandler.savePDDocument(tmpBuffer, parameters.getOutput().getEncryptionAtRestPolicy());
         closeQuietly(documentHandler);
 
+        outputWriter.taskOutput(tmpBuffer);
         parameters.getOutput().accept(outputWriter);
         LOG.debug("Labels applied to {}", parameters.getOutput());
     }
@@ -21,16 +21,15 @@ package org.sejda.impl.sambox;
 import static java.util.Optional.ofNullable;
 import static org.sejda.commons.util.IOUtils.closeQuietly;
 import static org.sejda.core.notification.dsl.ApplicationEventsNotifier.notifyEvent;
-import static org.sejda.core.support.io.IOUtils.createTemporaryBuffer;
+import static org.sejda.core.support.io.IOUtils.createSpillableBuffer;
 import static org.sejda.impl.sambox.util.TransitionUtils.getTransition;
 import static org.sejda.impl.sambox.util.TransitionUtils.initTransitionDimension;
 import static org.sejda.impl.sambox.util.TransitionUtils.initTransitionDirection;
 import static org.sejda.impl.sambox.util.TransitionUtils.initTransitionMotion;
 
-import java.io.File;
-
 import org.sejda.core.support.io.OutputWriters;
 import org.sejda.core.support.io.SingleOutputWriter;
+import org.sejda.core.support.io.buffer.SpillableBuffer;
 import org.sejda.impl.sambox.component.DefaultPdfSourceOpener;
 import org.sejda.impl.sambox.component.PDDocumentHandler;
 import org.sejda.model.exception.TaskException;
@@ -76,9 +75,7 @@ public class SetPagesTransitionTask extends BaseTask<SetPagesTransitionParameter
         LOG.debug("Opening {}", source);
         documentHandler = source.open(documentLoader);
 
-        File tmpFile = createTemporaryBuffer(parameters.getOutput());
-        outputWriter.taskOutput(tmpFile);
-        LOG.debug("Temporary output set to {}", tmpFile);
+        SpillableBuffer tmpBuffer = createSpillableBuffer(parameters.getOutput());
 
         LOG.debug("Applying transitions");
         int current = 0;
@@ -103,9 +100,10 @@ public class SetPagesTransitionTask extends BaseTask<SetPagesTransitionParameter
         documentHandler.setCreatorOnPDDocument();
         documentHandler.setVersionOnPDDocument(parameters.getVersion());
         documentHandler.setCompress(parameters.isCompress());
-        documentHandler.savePDDocument(tmpFile, parameters.getOutput().getEncryptionAtRestPolicy());
+        documentHandler.savePDDocument(tmpBuffer, parameters.getOutput().getEncryptionAtRestPolicy());
         closeQuietly(documentHandler);
 
+        outputWriter.taskOutput(tmpBuffer);
         parameters.getOutput().accept(outputWriter);
         LOG.debug("Transitions set on {}", parameters.getOutput());
     }
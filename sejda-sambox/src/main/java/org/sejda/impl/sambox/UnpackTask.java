@@ -20,6 +20,7 @@ package org.sejda.impl.sambox;
 
 import static java.util.Objects.nonNull;
 import static java.util.Optional.ofNullable;
+import static java.util.stream.Collectors.toList;
 import static org.sejda.commons.util.IOUtils.closeQuietly;
 import static org.sejda.core.notification.dsl.ApplicationEventsNotifier.notifyEvent;
 import static org.sejda.core.support.io.IOUtils.createTemporaryBuffer;
@@ -29,6 +30,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
 
@@ -37,6 +39,7 @@ import org.sejda.core.support.io.MultipleOutputWriter;
 import org.sejda.core.support.io.OutputWriters;
 import org.sejda.impl.sambox.component.DefaultPdfSourceOpener;
 import org.sejda.impl.sambox.component.PDDocumentHandler;
+import org.sejda.model.exception.TaskBudgetExceededException;
 import org.sejda.model.exception.TaskException;
 import org.sejda.model.exception.TaskIOException;
 import org.sejda.model.input.PdfSource;
@@ -47,6 +50,7 @@ import org.sejda.model.task.TaskExecutionContext;
 import org.sejda.sambox.pdmodel.PDEmbeddedFilesNameTreeNode;
 import org.sejda.sambox.pdmodel.common.PDNameTreeNode;
 import org.sejda.sambox.pdmodel.common.filespecification.PDComplexFileSpecification;
+import org.sejda.sambox.pdmodel.common.filespecification.PDEmbeddedFile;
 import org.sejda.sambox.pdmodel.interactive.annotation.PDAnnotationFileAttachment;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -88,11 +92,16 @@ public class UnpackTask extends BaseTask<UnpackParameters> {
                         sourceDocumentHandler.getUnderlyingPDDocument().getDocumentCatalog().getNames())
                                 .map(n -> n.getEmbeddedFiles()).orElse(null);
                 collectNamesVisitingTree(ef, names);
-                Stream.concat(names.values().stream(), sourceDocumentHandler.getPages().stream()
-                        .flatMap(p -> p.getAnnotations().stream()).filter(a -> a instanceof PDAnnotationFileAttachment)
-                        .map(a -> (PDAnnotationFileAttachment) a).map(PDAnnotationFileAttachment::getFile)
-                        .filter(f -> f instanceof PDComplexFileSpecification).map(f -> (PDComplexFileSpecification) f))
-                        .forEach(f -> unpack(f));
+                List<PDComplexFileSpecification> files = Stream.concat(names.values().stream(),
+                        sourceDocumentHandler.getPages().stream().flatMap(p -> p.getAnnotations().stream())
+                                .filter(a -> a instanceof PDAnnotationFileAttachment)
+                                .map(a -> (PDAnnotationFileAttachment) a).map(PDAnnotationFileAttachment::getFile)
+                                .filter(f -> f instanceof PDComplexFileSpecification)
+                                .map(f -> (PDComplexFileSpecification) f))
+                        .collect(toList());
+                for (PDComplexFileSpecification file : files) {
+                    unpack(file);
+                }
 
             } finally {
                 closeQuietly(sourceDocumentHandler);
@@ -105,21 +114,24 @@ public class UnpackTask extends BaseTask<UnpackParameters> {
         LOG.debug("Attachments unpacked and written to {}", parameters.getOutput());
     }
 
-    private void unpack(PDComplexFileSpecification file) {
-
-        ofNullable(file.getBestEmbeddedFile()).ifPresent(e -> {
+    private void unpack(PDComplexFileSpecification file) throws TaskBudgetExceededException {
+        PDEmbeddedFile embedded = file.getBestEmbeddedFile();
+        if (nonNull(embedded)) {
             try {
                 File tmpFile = createTemporaryBuffer();
                 LOG.debug("Created output temporary buffer {}", tmpFile);
-                try (InputStream is = e.createInputStream()) {
+                try (InputStream is = embedded.createInputStream()) {
                     FileUtils.copyInputStreamToFile(is, tmpFile);
                     LOG.debug("Attachment '{}' unpacked to temporary buffer", file.getFilename());
                 }
                 outputWriter.addOutput(file(tmpFile).name(file.getFilename()));
+            } catch (TaskBudgetExceededException e) {
+                // budget violations fail the task
+                throw e;
             } catch (IOException | TaskIOException ioe) {
                 LOG.error("Unable to extract file", ioe);
             }
-        });
+        }
     }
 
     private void collectNamesVisitingTree(PDNameTreeNode<PDComplexFileSpecification> node,
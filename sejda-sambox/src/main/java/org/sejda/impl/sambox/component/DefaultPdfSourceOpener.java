@@ -17,8 +17,11 @@
  */
 package org.sejda.impl.sambox.component;
 
+import java.io.File;
 import java.io.IOException;
 
+import org.sejda.core.support.io.DocumentContentCache;
+import org.sejda.io.SeekableSource;
 import org.sejda.model.exception.TaskIOException;
 import org.sejda.model.exception.TaskWrongPasswordException;
 import org.sejda.model.input.PdfFileSource;
@@ -26,12 +29,17 @@ import org.sejda.model.input.PdfSource;
 import org.sejda.model.input.PdfSourceOpener;
 import org.sejda.model.input.PdfStreamSource;
 import org.sejda.model.input.PdfURLSource;
+import org.sejda.model.task.TaskMetrics;
+import org.sejda.model.task.TaskMetrics.Timer;
+import org.sejda.model.task.TaskPhase;
+import org.sejda.model.task.ThreadLocalTaskExecutionContext;
 import org.sejda.sambox.input.PDFParser;
 import org.sejda.sambox.pdmodel.PDDocument;
 import org.sejda.sambox.pdmodel.encryption.InvalidPasswordException;
 
 /**
- * SAMBox component able to open a PdfSource and return the corresponding {@link PDDocumentHandler}.
+ * SAMBox component able to open a PdfSource and return the corresponding {@link PDDocumentHandler}. Content of files encrypted at rest is read
+ * through the {@link DocumentContentCache}, when enabled.
  * 
  * @author Andrea Vacondio
  * 
@@ -41,24 +49,38 @@ public class DefaultPdfSourceOpener implements PdfSourceOpener<PDDocumentHandler
     private static final String WRONG_PWD_MESSAGE = "Unable to open '%s' due to a wrong password.";
     private static final String ERROR_MESSAGE = "An error occurred opening the source: %s.";
 
+    private final DocumentContentCache cache;
+
+    public DefaultPdfSourceOpener() {
+        this(DocumentContentCache.getInstance());
+    }
+
+    DefaultPdfSourceOpener(DocumentContentCache cache) {
+        this.cache = cache;
+    }
+
     @Override
     public PDDocumentHandler open(PdfURLSource source) throws TaskIOException {
-        return openGeneric(source);
+        return openGeneric(source, null);
     }
 
     @Override
     public PDDocumentHandler open(PdfFileSource source) throws TaskIOException {
-        return openGeneric(source);
+        return openGeneric(source, source.getSource());
     }
 
     @Override
     public PDDocumentHandler open(PdfStreamSource source) throws TaskIOException {
-        return openGeneric(source);
+        return openGeneric(source, null);
     }
 
-    private PDDocumentHandler openGeneric(PdfSource<?> source) throws TaskIOException {
-        try {
-            PDDocument document = PDFParser.parse(source.getSeekableSource(), source.getPassword());
+    private PDDocumentHandler openGeneric(PdfSource<?> source, File file) throws TaskIOException {
+        TaskMetrics metrics = ThreadLocalTaskExecutionContext.metrics();
+        try (Timer timer = metrics.start(TaskPhase.OPEN)) {
+            SeekableSource seekableSource = cache.seekableSourceFor(file, source.getEncryptionAtRestPolicy(),
+                    source::getSeekableSource);
+            PDDocument document = PDFParser.parse(seekableSource, source.getPassword());
+            metrics.bytesRead(seekableSource.size());
             return new PDDocumentHandler(document);
         } catch (InvalidPasswordException ipe) {
             throw new TaskWrongPasswordException(String.format(WRONG_PWD_MESSAGE, source.getName()), ipe);
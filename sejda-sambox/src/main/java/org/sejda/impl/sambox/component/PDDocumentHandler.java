@@ -27,12 +27,14 @@ import java.io.Closeable;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Calendar;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
 import org.sejda.core.Sejda;
+import org.sejda.core.support.io.buffer.SpillableBuffer;
 import org.sejda.impl.sambox.util.FontUtils;
 import org.sejda.impl.sambox.util.PageLabelUtils;
 import org.sejda.model.encryption.EncryptionAtRestPolicy;
@@ -44,6 +46,11 @@ import org.sejda.model.pdf.PdfVersion;
 import org.sejda.model.pdf.label.PdfPageLabel;
 import org.sejda.model.pdf.viewerpreference.PdfPageLayout;
 import org.sejda.model.pdf.viewerpreference.PdfPageMode;
+import org.sejda.model.task.TaskMetrics.Timer;
+import org.sejda.model.task.TaskPhase;
+import org.sejda.model.task.ThreadLocalTaskExecutionContext;
+import org.sejda.sambox.cos.COSArray;
+import org.sejda.sambox.cos.COSBase;
 import org.sejda.sambox.cos.COSDictionary;
 import org.sejda.sambox.cos.COSName;
 import org.sejda.sambox.encryption.StandardSecurity;
@@ -253,7 +260,7 @@ public class PDDocumentHandler implements Closeable {
      */
     public void savePDDocument(File file, StandardSecurity security, EncryptionAtRestPolicy encryptionAtRestSecurity)
             throws TaskException {
-        try {
+        try (Timer timer = ThreadLocalTaskExecutionContext.metrics().start(TaskPhase.SAVE)) {
             if (Boolean.getBoolean(SAMBOX_USE_ASYNC_WRITER)) {
                 this.addWriteOption(WriteOption.ASYNC_BODY_WRITE);
             }
@@ -270,6 +277,39 @@ public class PDDocumentHandler implements Closeable {
         }
     }
 
+    /**
+     * Saves the underlying {@link PDDocument} to the given buffer.
+     *
+     * @param buffer
+     * @throws TaskException
+     */
+    public void savePDDocument(SpillableBuffer buffer, EncryptionAtRestPolicy encryptionAtRestSecurity)
+            throws TaskException {
+        savePDDocument(buffer, null, encryptionAtRestSecurity);
+    }
+
+    /**
+     * Saves the underlying {@link PDDocument} to the given buffer and using the given standard security.
+     *
+     * @param buffer
+     * @param security
+     * @throws TaskException
+     */
+    public void savePDDocument(SpillableBuffer buffer, StandardSecurity security,
+            EncryptionAtRestPolicy encryptionAtRestSecurity) throws TaskException {
+        try (Timer timer = ThreadLocalTaskExecutionContext.metrics().start(TaskPhase.SAVE)) {
+            if (Boolean.getBoolean(SAMBOX_USE_ASYNC_WRITER)) {
+                this.addWriteOption(WriteOption.ASYNC_BODY_WRITE);
+            }
+            LOG.trace("Saving document to temporary buffer using options {}", writeOptions);
+            try (OutputStream out = encryptionAtRestSecurity.encrypt(buffer.getOutputStream())) {
+                document.writeTo(out, security, writeOptions.stream().toArray(WriteOption[]::new));
+            }
+        } catch (IOException e) {
+            throw new TaskIOException("Unable to save to temporary buffer.", e);
+        }
+    }
+
     public int getNumberOfPages() {
         return document.getNumberOfPages();
     }
@@ -290,6 +330,13 @@ public class PDDocumentHandler implements Closeable {
      */
     public PDPage importPage(PDPage page) {
         PDPage imported = new PDPage(page.getCOSObject().duplicate());
+        // the same page can be imported multiple times, we don't want content appended to one of the copies to end up in the others
+        COSBase contents = page.getCOSObject().getDictionaryObject(COSName.CONTENTS);
+        if (contents instanceof COSArray) {
+            COSArray contentsCopy = new COSArray();
+            contentsCopy.addAll((COSArray) contents);
+            imported.getCOSObject().setItem(COSName.CONTENTS, contentsCopy);
+        }
         imported.setCropBox(page.getCropBox());
         imported.setMediaBox(page.getMediaBox());
         imported.setBleedBox(page.getBleedBox());
@@ -0,0 +1,142 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.requireNonNull;
+import static org.sejda.commons.util.IOUtils.closeQuietly;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.sejda.model.exception.TaskIOException;
+import org.sejda.model.input.PdfFileSource;
+import org.sejda.model.input.PdfSource;
+import org.sejda.model.input.PdfSourceOpener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A per task cache of opened documents, so that a physical input used multiple times by a task is parsed only once. File sources are identified
+ * by their path, size and last modified time, along with the password and encryption at rest policy, other sources by their identity. Documents
+ * are reference counted and closed when the last reference is released or when the cache is closed.
+ * <p>
+ * The same document is returned to every input with the same key, callers should not modify it. Tasks importing pages already work on copies of
+ * pages, annotations and form fields, leaving the source document untouched.
+ * </p>
+ * <p>
+ * Instances are not thread safe.
+ * </p>
+ */
+public class PDDocumentHandlerCache implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PDDocumentHandlerCache.class);
+
+    private final PdfSourceOpener<PDDocumentHandler> opener;
+    private final Map<Object, CachedDocument> documents = new HashMap<>();
+    private final Map<PDDocumentHandler, CachedDocument> byHandler = new IdentityHashMap<>();
+
+    public PDDocumentHandlerCache(PdfSourceOpener<PDDocumentHandler> opener) {
+        this.opener = requireNonNull(opener);
+    }
+
+    /**
+     * Opens the given source or returns the already opened document for it, incrementing its references count
+     * 
+     * @param source
+     * @return the document handler, to be released with {@link #release(PDDocumentHandler)}
+     * @throws TaskIOException
+     */
+    public PDDocumentHandler open(PdfSource<?> source) throws TaskIOException {
+        Object key = keyFor(source);
+        CachedDocument cached = documents.get(key);
+        if (isNull(cached)) {
+            cached = new CachedDocument(key, source.open(opener));
+            documents.put(key, cached);
+            byHandler.put(cached.handler, cached);
+        } else {
+            LOG.debug("Reusing already opened document for {}", source);
+        }
+        cached.references++;
+        return cached.handler;
+    }
+
+    /**
+     * Releases a reference to the given document, closing it if it was the last one
+     * 
+     * @param handler
+     */
+    public void release(PDDocumentHandler handler) {
+        CachedDocument cached = byHandler.get(handler);
+        if (cached != null && --cached.references == 0) {
+            byHandler.remove(handler);
+            documents.remove(cached.key);
+            closeQuietly(handler);
+        }
+    }
+
+    /**
+     * @return the number of documents currently opened
+     */
+    public int size() {
+        return documents.size();
+    }
+
+    private static Object keyFor(PdfSource<?> source) {
+        if (source instanceof PdfFileSource) {
+            File file = ((PdfFileSource) source).getSource();
+            String path;
+            try {
+                path = file.getCanonicalPath();
+            } catch (IOException e) {
+                path = file.getAbsolutePath();
+            }
+            return Arrays.asList(path, file.length(), file.lastModified(), source.getPassword(),
+                    source.getEncryptionAtRestPolicy());
+        }
+        // streams can be consumed only once and URLs can change, we only reuse the very same source instance
+        return source;
+    }
+
+    /**
+     * Closes all the opened documents, regardless of their references count
+     */
+    @Override
+    public void close() {
+        byHandler.keySet().forEach(h -> closeQuietly(h));
+        byHandler.clear();
+        documents.clear();
+    }
+
+    private static class CachedDocument {
+        private final Object key;
+        private final PDDocumentHandler handler;
+        private int references;
+
+        CachedDocument(Object key, PDDocumentHandler handler) {
+            this.key = key;
+            this.handler = handler;
+        }
+    }
+}
@@ -28,6 +28,7 @@ import java.util.Objects;
 import java.util.Set;
 
 import org.sejda.commons.LookupTable;
+import org.sejda.core.support.io.buffer.SpillableBuffer;
 import org.sejda.impl.sambox.component.optimization.ResourceDictionaryCleaner;
 import org.sejda.impl.sambox.component.optimization.ResourcesHitter;
 import org.sejda.model.encryption.EncryptionAtRestPolicy;
@@ -36,6 +37,9 @@ import org.sejda.model.exception.TaskExecutionException;
 import org.sejda.model.pdf.PdfVersion;
 import org.sejda.model.pdf.form.AcroFormPolicy;
 import org.sejda.model.task.TaskExecutionContext;
+import org.sejda.model.task.TaskMetrics.Timer;
+import org.sejda.model.task.TaskPhase;
+import org.sejda.model.task.ThreadLocalTaskExecutionContext;
 import org.sejda.sambox.cos.COSDictionary;
 import org.sejda.sambox.cos.COSName;
 import org.sejda.sambox.pdmodel.PDDocument;
@@ -79,15 +83,17 @@ public class PagesExtractor implements Closeable {
     public void retain(Set<Integer> pages, TaskExecutionContext executionContext) throws TaskExecutionException {
         int currentStep = 0;
         for (Integer page : pages) {
+            executionContext.assertNotCancelled();
             retain(page, executionContext);
             notifyEvent(executionContext.notifiableTaskMetadata()).stepsCompleted(++currentStep).outOf(pages.size());
         }
     }
 
     public void retain(int page, TaskExecutionContext executionContext) throws TaskExecutionException {
-        try {
+        try (Timer timer = executionContext.metrics().start(TaskPhase.IMPORT)) {
             PDPage existingPage = origin.getPage(page - 1);
             pagesLookup.addLookupEntry(existingPage, destinationDocument.importPage(existingPage));
+            executionContext.metrics().pageProcessed();
             LOG.trace("Imported page number {}", page);
         } catch (PageNotFoundException e) {
             executionContext.assertTaskIsLenient(e);
@@ -106,6 +112,12 @@ public class PagesExtractor implements Closeable {
 
     public void optimize() {
         LOG.trace("Optimizing document");
+        try (Timer timer = ThreadLocalTaskExecutionContext.metrics().start(TaskPhase.OPTIMIZE)) {
+            doOptimize();
+        }
+    }
+
+    private void doOptimize() {
         ResourcesHitter hitter = new ResourcesHitter();
         pagesLookup.values().forEach(p -> {
             // each page must have it's own resource dic and it's own xobject and font name dic
@@ -125,6 +137,17 @@ public class PagesExtractor implements Closeable {
 
     public void save(File file, boolean discardOutline, EncryptionAtRestPolicy encryptionAtRestSecurity)
             throws TaskException {
+        prepareForSave(discardOutline);
+        destinationDocument.savePDDocument(file, encryptionAtRestSecurity);
+    }
+
+    public void save(SpillableBuffer buffer, boolean discardOutline, EncryptionAtRestPolicy encryptionAtRestSecurity)
+            throws TaskException {
+        prepareForSave(discardOutline);
+        destinationDocument.savePDDocument(buffer, encryptionAtRestSecurity);
+    }
+
+    private void prepareForSave(boolean discardOutline) {
         if (!discardOutline) {
             createOutline();
         }
@@ -138,8 +161,6 @@ public class PagesExtractor implements Closeable {
             LOG.debug("Adding generated AcroForm");
             destinationDocument.setDocumentAcroForm(f);
         });
-
-        destinationDocument.savePDDocument(file, encryptionAtRestSecurity);
     }
 
     private void createOutline() {
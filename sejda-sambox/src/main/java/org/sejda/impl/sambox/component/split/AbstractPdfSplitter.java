@@ -20,15 +20,14 @@ package org.sejda.impl.sambox.component.split;
 
 import static org.apache.commons.lang3.StringUtils.isBlank;
 import static org.sejda.core.notification.dsl.ApplicationEventsNotifier.notifyEvent;
-import static org.sejda.core.support.io.IOUtils.createTemporaryBuffer;
-import static org.sejda.core.support.io.model.FileOutput.file;
+import static org.sejda.core.support.io.IOUtils.createSpillableBuffer;
+import static org.sejda.core.support.io.model.FileOutput.buffer;
 import static org.sejda.core.support.prefix.NameGenerator.nameGenerator;
 import static org.sejda.core.support.prefix.model.NameGenerationRequest.nameRequest;
 
-import java.io.File;
-
 import org.sejda.core.support.io.MultipleOutputWriter;
 import org.sejda.core.support.io.OutputWriters;
+import org.sejda.core.support.io.buffer.SpillableBuffer;
 import org.sejda.core.support.prefix.NameGenerator;
 import org.sejda.core.support.prefix.model.NameGenerationRequest;
 import org.sejda.core.support.util.HumanReadableSize;
@@ -72,17 +71,18 @@ public abstract class AbstractPdfSplitter<T extends MultiplePdfSourceMultipleOut
             throws TaskException {
         nextOutputStrategy().ensureIsValid();
 
-        this.outputWriter = OutputWriters.newMultipleOutputWriter(parameters.getExistingOutputPolicy(),
-                executionContext);
+        this.outputWriter = OutputWriters.newStreamingMultipleOutputWriter(parameters.getExistingOutputPolicy(),
+                executionContext, parameters.getOutput());
         NameGenerator nameGen = nameGenerator(outputPrefix);
         try (PagesExtractor extractor = supplyPagesExtractor(document)) {
-            File tmpFile = null;
+            SpillableBuffer tmpBuffer = null;
             for (int page = 1; page <= totalPages; page++) {
+                executionContext.assertNotCancelled();
                 if (nextOutputStrategy().isOpening(page)) {
                     LOG.debug("Starting split at page {} of the original document", page);
                     onOpen(page);
-                    tmpFile = createTemporaryBuffer(parameters.getOutput());
-                    LOG.debug("Created output temporary buffer {}", tmpFile);
+                    tmpBuffer = createSpillableBuffer(parameters.getOutput());
+                    LOG.debug("Created output temporary buffer");
 
                     int fileNumber = executionContext.incrementAndGetOutputDocumentsCounter();
 
@@ -93,7 +93,7 @@ public abstract class AbstractPdfSplitter<T extends MultiplePdfSourceMultipleOut
                                 .fileNumber(fileNumber)));
                     }
 
-                    outputWriter.addOutput(file(tmpFile).name(outName));
+                    outputWriter.addOutput(buffer(tmpBuffer).name(outName));
                 }
                 LOG.trace("Retaining page {} of the original document", page);
                 onRetain(page);
@@ -107,11 +107,12 @@ public abstract class AbstractPdfSplitter<T extends MultiplePdfSourceMultipleOut
                     if (optimize) {
                         extractor.optimize();
                     }
-                    extractor.save(tmpFile, discardOutline, parameters.getOutput()
+                    extractor.save(tmpBuffer, discardOutline, parameters.getOutput()
                             .getEncryptionAtRestPolicy());
                     extractor.reset();
+                    outputWriter.flush();
                     LOG.debug("Ending split at page {} of the original document, generated document size is {}", page,
-                            HumanReadableSize.toString(tmpFile.length()));
+                            HumanReadableSize.toString(tmpBuffer.size()));
                 }
             }
         }
@@ -18,15 +18,14 @@ package org.sejda.impl.sambox.component.split;
 
 import static org.apache.commons.lang3.StringUtils.isBlank;
 import static org.sejda.core.notification.dsl.ApplicationEventsNotifier.notifyEvent;
-import static org.sejda.core.support.io.IOUtils.createTemporaryBuffer;
-import static org.sejda.core.support.io.model.FileOutput.file;
+import static org.sejda.core.support.io.IOUtils.createSpillableBuffer;
+import static org.sejda.core.support.io.model.FileOutput.buffer;
 import static org.sejda.core.support.prefix.NameGenerator.nameGenerator;
 import static org.sejda.core.support.prefix.model.NameGenerationRequest.nameRequest;
 
-import java.io.File;
-
 import org.sejda.core.support.io.MultipleOutputWriter;
 import org.sejda.core.support.io.OutputWriters;
+import org.sejda.core.support.io.buffer.SpillableBuffer;
 import org.sejda.impl.sambox.component.PagesExtractor;
 import org.sejda.impl.sambox.component.optimization.OptimizationRuler;
 import org.sejda.model.exception.TaskException;
@@ -63,8 +62,8 @@ public class PageDestinationsLevelPdfExtractor {
     public void extract(TaskExecutionContext executionContext) throws TaskException {
         int outputDocumentsCounter = 0;
 
-        this.outputWriter = OutputWriters.newMultipleOutputWriter(parameters.getExistingOutputPolicy(),
-                executionContext);
+        this.outputWriter = OutputWriters.newStreamingMultipleOutputWriter(parameters.getExistingOutputPolicy(),
+                executionContext, parameters.getOutput());
         try (PagesExtractor extractor = new PagesExtractor(document)) {
 
             int totalExtractions = outlineDestinations.sections.size();
@@ -81,8 +80,8 @@ public class PageDestinationsLevelPdfExtractor {
                 LOG.debug("Starting extracting {} pages {} {}", section.title, section.startPage, section.endPage);
 
                 outputDocumentsCounter++;
-                File tmpFile = createTemporaryBuffer(parameters.getOutput());
-                LOG.debug("Created output temporary buffer {}", tmpFile);
+                SpillableBuffer tmpBuffer = createSpillableBuffer(parameters.getOutput());
+                LOG.debug("Created output temporary buffer");
 
                 String outName = parameters
                         .getSpecificResultFilename(executionContext.incrementAndGetOutputDocumentsCounter());
@@ -91,9 +90,10 @@ public class PageDestinationsLevelPdfExtractor {
                             .originalName(source.getName()).fileNumber(outputDocumentsCounter).bookmark(section.title));
                 }
 
-                outputWriter.addOutput(file(tmpFile).name(outName));
+                outputWriter.addOutput(buffer(tmpBuffer).name(outName));
 
                 for (; page <= section.endPage; page++) {
+                    executionContext.assertNotCancelled();
 
                     // retain
                     LOG.trace("Retaining page {} of the original document", page);
@@ -106,8 +106,9 @@ public class PageDestinationsLevelPdfExtractor {
                 if (optimize) {
                     extractor.optimize();
                 }
-                extractor.save(tmpFile, parameters.discardOutline(), parameters.getOutput().getEncryptionAtRestPolicy());
+                extractor.save(tmpBuffer, parameters.discardOutline(), parameters.getOutput().getEncryptionAtRestPolicy());
                 extractor.reset();
+                outputWriter.flush();
                 LOG.debug("Ending extracting {}", section.title);
 
                 notifyEvent(executionContext.notifiableTaskMetadata()).stepsCompleted(s).outOf(totalExtractions);
@@ -18,6 +18,7 @@
  */
 package org.sejda.impl.sambox;
 
+import static java.util.Objects.nonNull;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.Matchers.containsString;
 import static org.junit.Assert.assertEquals;
@@ -35,7 +36,10 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 import org.junit.Test;
@@ -49,6 +53,7 @@ import org.sejda.model.exception.InvalidTaskParametersException;
 import org.sejda.model.exception.TaskIOException;
 import org.sejda.model.input.ImageMergeInput;
 import org.sejda.model.input.MergeInput;
+import org.sejda.model.input.PdfFileSource;
 import org.sejda.model.input.PdfMergeInput;
 import org.sejda.model.outline.CatalogPageLabelsPolicy;
 import org.sejda.model.outline.OutlinePolicy;
@@ -60,11 +65,15 @@ import org.sejda.model.pdf.page.PageRange;
 import org.sejda.model.rotation.Rotation;
 import org.sejda.model.task.Task;
 import org.sejda.model.toc.ToCPolicy;
+import org.sejda.sambox.cos.COSDictionary;
 import org.sejda.sambox.pdmodel.PDDocument;
 import org.sejda.sambox.pdmodel.PDPage;
 import org.sejda.sambox.pdmodel.common.PDPageLabelRange;
 import org.sejda.sambox.pdmodel.common.PDPageLabels;
 import org.sejda.sambox.pdmodel.common.PDRectangle;
+import org.sejda.sambox.pdmodel.interactive.annotation.PDAnnotation;
+import org.sejda.sambox.pdmodel.interactive.form.PDField;
+import org.sejda.sambox.pdmodel.interactive.form.PDTerminalField;
 import org.sejda.sambox.text.PDFTextStripperByArea;
 
 /**
@@ -318,6 +327,66 @@ public class MergeSamboxTaskTest extends BaseTaskTest<MergeParameters> {
         doExecuteMergeRanges(parameters);
     }
 
+    @Test
+    public void mergeSameFileMultipleTimes() throws IOException {
+        MergeParameters parameters = new MergeParameters();
+        parameters.setExistingOutputPolicy(ExistingOutputPolicy.OVERWRITE);
+        PdfFileSource source = customInputAsFileSource("pdf/test-pdf.pdf");
+        PdfMergeInput first = new PdfMergeInput(source);
+        first.addPageRange(new PageRange(1, 2));
+        PdfMergeInput second = new PdfMergeInput(PdfFileSource.newInstanceNoPassword(source.getSource()));
+        second.addPageRange(new PageRange(2, 3));
+        parameters.addInput(first);
+        parameters.addInput(second);
+        testContext.pdfOutputTo(parameters);
+        execute(parameters);
+        testContext.assertTaskCompleted();
+        testContext.assertPages(4);
+    }
+
+    @Test
+    public void mergeSameFileWithFormsAndAnnotationsMultipleTimes() throws IOException {
+        MergeParameters parameters = new MergeParameters();
+        parameters.setExistingOutputPolicy(ExistingOutputPolicy.OVERWRITE);
+        parameters.setAcroFormPolicy(AcroFormPolicy.MERGE_RENAMING_EXISTING_FIELDS);
+        parameters.setFilenameFooter(true);
+        PdfFileSource form = customInputAsFileSource("pdf/forms/simple_form.pdf");
+        PdfFileSource annotations = customInputAsFileSource("pdf/attachments_as_annots.pdf");
+        parameters.addInput(new PdfMergeInput(form));
+        parameters.addInput(new PdfMergeInput(annotations));
+        parameters.addInput(new PdfMergeInput(PdfFileSource.newInstanceNoPassword(form.getSource())));
+        parameters.addInput(new PdfMergeInput(PdfFileSource.newInstanceNoPassword(annotations.getSource())));
+        testContext.pdfOutputTo(parameters);
+        execute(parameters);
+        testContext.assertTaskCompleted();
+        testContext.assertHasAcroforms(true);
+        testContext.forEachPdfOutput(d -> {
+            int formPages = (d.getNumberOfPages() / 2) - 3;
+            Set<COSDictionary> annots = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (int i = 0; i < d.getNumberOfPages(); i++) {
+                PDPage page = d.getPage(i);
+                for (PDAnnotation annotation : page.getAnnotations()) {
+                    assertTrue("Annotation shared between pages", annots.add(annotation.getCOSObject()));
+                    if (nonNull(annotation.getPage())) {
+                        assertEquals(page, annotation.getPage());
+                    }
+                }
+                // pages of the same document imported twice carry the same annotations
+                int other = i < d.getNumberOfPages() / 2 ? i + formPages + 3 : i - formPages - 3;
+                assertEquals(page.getAnnotations().size(), d.getPage(other).getAnnotations().size());
+            }
+            List<PDField> fields = new ArrayList<>();
+            d.getDocumentCatalog().getAcroForm().getFieldTree().forEach(fields::add);
+            assertFalse(fields.isEmpty());
+            Set<String> names = fields.stream().map(PDField::getFullyQualifiedName).collect(Collectors.toSet());
+            assertEquals(fields.size(), names.size());
+            fields.stream().filter(PDField::isTerminal).flatMap(f -> ((PDTerminalField) f).getWidgets().stream())
+                    .forEach(w -> assertTrue("Form widget shared between pages", annots.contains(w.getCOSObject())));
+            assertFooterHasText(d.getPage(0), "simple_form 1");
+            assertFooterHasText(d.getPage(formPages + 3), "simple_form " + (formPages + 4));
+        });
+    }
+
     @Test
     public void executeMergeRanges() throws IOException {
         MergeParameters parameters = setUpParameters(getInputWithOutline());
@@ -20,7 +20,10 @@ package org.sejda.impl.sambox.component;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.sejda.TestUtils.encryptedAtRest;
 
 import java.io.File;
 import java.io.FileOutputStream;
@@ -30,6 +33,7 @@ import java.io.OutputStream;
 
 import org.junit.Test;
 import org.sejda.core.service.BaseTaskTest;
+import org.sejda.core.support.io.DocumentContentCache;
 import org.sejda.core.support.io.IOUtils;
 import org.sejda.model.exception.TaskIOException;
 import org.sejda.model.exception.TaskWrongPasswordException;
@@ -115,4 +119,36 @@ public class DefaultPdfSourceOpenerTest {
             assertNotNull(handler.getUnderlyingPDDocument());
         }
     }
+
+    @Test
+    public void openThroughTheContentCache() throws TaskIOException, IOException {
+        DocumentContentCache cache = new DocumentContentCache(10 * 1024 * 1024);
+        PdfFileSource source = encryptedAtRest(BaseTaskTest.customInputAsFileSource("pdf/test_file.pdf"));
+        try (PDDocumentHandler handler = new DefaultPdfSourceOpener(cache).open(source)) {
+            assertTrue(cache.size() > 0);
+        }
+        long cached = cache.size();
+        try (PDDocumentHandler first = new DefaultPdfSourceOpener(cache).open(source);
+                PDDocumentHandler second = new DefaultPdfSourceOpener(cache).open(source)) {
+            assertNotSame(first.getUnderlyingPDDocument(), second.getUnderlyingPDDocument());
+            assertEquals(first.getNumberOfPages(), second.getNumberOfPages());
+            first.getUnderlyingPDDocument().removePage(0);
+            assertEquals(first.getNumberOfPages() + 1, second.getNumberOfPages());
+        }
+        assertEquals(cached, cache.size());
+    }
+
+    @Test
+    public void notEncryptedAtRestIsNotCached() throws TaskIOException, IOException {
+        DocumentContentCache cache = new DocumentContentCache(10 * 1024 * 1024);
+        try (PDDocumentHandler handler = new DefaultPdfSourceOpener(cache)
+                .open(BaseTaskTest.customInputAsFileSource("pdf/test_file.pdf"))) {
+            assertNotNull(handler.getUnderlyingPDDocument());
+        }
+        try (PDDocumentHandler handler = new DefaultPdfSourceOpener(cache).open(PdfStreamSource.newInstanceNoPassword(
+                getClass().getClassLoader().getResourceAsStream("pdf/test_file.pdf"), "my source"))) {
+            assertNotNull(handler.getUnderlyingPDDocument());
+        }
+        assertEquals(0, cache.size());
+    }
 }
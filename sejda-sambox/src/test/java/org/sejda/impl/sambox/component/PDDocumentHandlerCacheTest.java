@@ -0,0 +1,118 @@
+/*
+ * Created on 17 ott 2026
+ * Copyright 2026 Sober Lemur S.a.s. di Vacondio Andrea and Sejda BV
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sejda.model.exception.TaskException;
+import org.sejda.model.input.PdfFileSource;
+import org.sejda.model.input.PdfSourceOpener;
+import org.sejda.model.input.PdfStreamSource;
+
+public class PDDocumentHandlerCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private PdfSourceOpener<PDDocumentHandler> opener;
+    private PDDocumentHandlerCache victim;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws TaskException {
+        opener = mock(PdfSourceOpener.class);
+        when(opener.open(any(PdfFileSource.class))).thenAnswer(a -> mock(PDDocumentHandler.class));
+        when(opener.open(any(PdfStreamSource.class))).thenAnswer(a -> mock(PDDocumentHandler.class));
+        victim = new PDDocumentHandlerCache(opener);
+    }
+
+    @Test
+    public void sameFileIsOpenedOnce() throws TaskException, IOException {
+        File file = folder.newFile("file.pdf");
+        PDDocumentHandler first = victim.open(PdfFileSource.newInstanceNoPassword(file));
+        PDDocumentHandler second = victim.open(PdfFileSource.newInstanceNoPassword(file));
+        assertSame(first, second);
+        assertEquals(1, victim.size());
+        verify(opener, times(1)).open(any(PdfFileSource.class));
+    }
+
+    @Test
+    public void closedWhenLastReferenceIsReleased() throws TaskException, IOException {
+        File file = folder.newFile("file.pdf");
+        PDDocumentHandler handler = victim.open(PdfFileSource.newInstanceNoPassword(file));
+        victim.open(PdfFileSource.newInstanceNoPassword(file));
+        victim.release(handler);
+        verify(handler, never()).close();
+        victim.release(handler);
+        verify(handler).close();
+        assertEquals(0, victim.size());
+    }
+
+    @Test
+    public void differentFilesAreOpenedSeparately() throws TaskException, IOException {
+        PDDocumentHandler first = victim.open(PdfFileSource.newInstanceNoPassword(folder.newFile("first.pdf")));
+        PDDocumentHandler second = victim.open(PdfFileSource.newInstanceNoPassword(folder.newFile("second.pdf")));
+        assertNotSame(first, second);
+        assertEquals(2, victim.size());
+    }
+
+    @Test
+    public void differentPasswordsAreOpenedSeparately() throws TaskException, IOException {
+        File file = folder.newFile("file.pdf");
+        PDDocumentHandler first = victim.open(PdfFileSource.newInstanceNoPassword(file));
+        PDDocumentHandler second = victim.open(PdfFileSource.newInstanceWithPassword(file, "pwd"));
+        assertNotSame(first, second);
+    }
+
+    @Test
+    public void streamsAreNotShared() throws TaskException {
+        PDDocumentHandler first = victim.open(
+                PdfStreamSource.newInstanceNoPassword(new ByteArrayInputStream(new byte[0]), "stream.pdf"));
+        PDDocumentHandler second = victim.open(
+                PdfStreamSource.newInstanceNoPassword(new ByteArrayInputStream(new byte[0]), "stream.pdf"));
+        assertNotSame(first, second);
+        verify(opener, times(2)).open(any(PdfStreamSource.class));
+    }
+
+    @Test
+    public void closeClosesEverything() throws TaskException, IOException {
+        File file = folder.newFile("file.pdf");
+        PDDocumentHandler handler = victim.open(PdfFileSource.newInstanceNoPassword(file));
+        victim.open(PdfFileSource.newInstanceNoPassword(file));
+        victim.close();
+        verify(handler).close();
+        assertEquals(0, victim.size());
+    }
+}
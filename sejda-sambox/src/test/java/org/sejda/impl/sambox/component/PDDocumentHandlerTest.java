@@ -35,7 +35,9 @@ import org.sejda.core.support.io.IOUtils;
 import org.sejda.io.SeekableSources;
 import org.sejda.model.exception.TaskException;
 import org.sejda.model.input.PdfFileSource;
+import org.sejda.sambox.cos.COSArray;
 import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.cos.COSStream;
 import org.sejda.sambox.input.PDFParser;
 import org.sejda.sambox.pdmodel.PDDocument;
 import org.sejda.sambox.pdmodel.PDPage;
@@ -65,6 +67,23 @@ public class PDDocumentHandlerTest {
         }
     }
 
+    @Test
+    public void footerOnPageImportedTwice() throws TaskException {
+        PDPage page = new PDPage();
+        COSArray contents = new COSArray();
+        contents.add(new COSStream());
+        page.getCOSObject().setItem(COSName.CONTENTS, contents);
+        PDDocumentHandler handler = new PDDocumentHandler();
+        PDPage first = handler.importPage(page);
+        PDPage second = handler.importPage(page);
+        FilenameFooterWriter footerWriter = new FilenameFooterWriter(true, handler.getUnderlyingPDDocument());
+        footerWriter.addFooter(first, "first", 1);
+        footerWriter.addFooter(second, "second", 2);
+        assertEquals("first 1", new PdfTextExtractorByArea().extractFooterText(first).trim());
+        assertEquals("second 2", new PdfTextExtractorByArea().extractFooterText(second).trim());
+        assertEquals(1, contents.size());
+    }
+
     @Test
     public void testAddBlankPageIfOdd() throws IOException {
         try (PDDocumentHandler handler = new PDDocumentHandler()) {